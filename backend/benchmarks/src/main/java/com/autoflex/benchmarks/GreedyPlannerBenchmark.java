@@ -0,0 +1,73 @@
+package com.autoflex.benchmarks;
+
+import com.autoflex.engine.GreedyProductionPlanner;
+import com.autoflex.engine.ProductionSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Laços internos do planejador guloso, medidos sobre todos os produtos da fotografia a cada chamada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreedyPlannerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int products;
+
+    @Param({"200"})
+    int materials;
+
+    @Param({"0.05"})
+    double density;
+
+    private ProductionSnapshot snapshot;
+    private long[] stock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = SyntheticCatalog.generate(products, materials, density, 42L).snapshot();
+        stock = snapshot.stockCopy();
+    }
+
+    @Benchmark
+    public void calculateMaxProducibleQuantity(Blackhole blackhole) {
+        for (int product = 0; product < snapshot.productCount(); product++) {
+            blackhole.consume(GreedyProductionPlanner.calculateMaxProducibleQuantity(snapshot, product, stock));
+        }
+    }
+
+    /**
+     * Abate e devolve uma unidade de cada produto, mantendo o estoque estável entre as invocações.
+     */
+    @Benchmark
+    public long[] deductConsumedMaterials() {
+        for (int product = 0; product < snapshot.productCount(); product++) {
+            GreedyProductionPlanner.deductConsumedMaterials(snapshot, product, stock, 1);
+            GreedyProductionPlanner.deductConsumedMaterials(snapshot, product, stock, -1);
+        }
+        return stock;
+    }
+
+    @Benchmark
+    public long[] plan() {
+        return GreedyProductionPlanner.plan(snapshot);
+    }
+}
@@ -0,0 +1,192 @@
+package com.autoflex.benchmarks;
+
+import com.autoflex.jfr.ExceptionMappedEvent;
+import com.autoflex.jfr.RepositoryCallEvent;
+import com.autoflex.jfr.SuggestionCalculationEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resume uma gravação JFR em tabelas de hotspots, sem abrir o JDK Mission Control: chamadas de repositório e
+ * cálculos de sugestão (contagem, total, média, p99 e máximo), exceções mapeadas por tipo e status e os métodos
+ * mais amostrados pelo profiler de CPU, no topo da pilha e no primeiro frame da aplicação.
+ * <p>
+ * Uso: {@code java -cp target/benchmarks.jar com.autoflex.benchmarks.JfrHotspotReport gravacao.jfr [linhas]}
+ */
+public final class JfrHotspotReport {
+
+    private static final int DEFAULT_ROWS = 15;
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String APPLICATION_PACKAGE = "com.autoflex.";
+
+    private final Map<String, DurationStats> repositoryCalls = new HashMap<>();
+    private final Map<String, DurationStats> suggestions = new HashMap<>();
+    private final Map<String, Long> exceptions = new HashMap<>();
+    private final Map<String, Long> topFrames = new HashMap<>();
+    private final Map<String, Long> applicationFrames = new HashMap<>();
+    private long samples;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JfrHotspotReport <recording.jfr> [rows]");
+            System.exit(2);
+        }
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROWS;
+
+        JfrHotspotReport report = new JfrHotspotReport();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                report.accept(recording.readEvent());
+            }
+        }
+        report.print(System.out, rows);
+    }
+
+    private void accept(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case RepositoryCallEvent.NAME -> repositoryCalls
+                    .computeIfAbsent(event.getString("repository") + "." + event.getString("method"),
+                            key -> new DurationStats())
+                    .add(event.getDuration());
+            case SuggestionCalculationEvent.NAME -> suggestions
+                    .computeIfAbsent(String.format(Locale.ROOT, "%s (%d products, %d lines)",
+                                    event.getString("strategy"), event.getInt("productCount"),
+                                    event.getInt("compositionLines")),
+                            key -> new DurationStats())
+                    .add(event.getDuration());
+            case ExceptionMappedEvent.NAME -> exceptions
+                    .merge(event.getString("exceptionType") + " -> " + event.getInt("status"), 1L, Long::sum);
+            case EXECUTION_SAMPLE -> sample(event.getStackTrace());
+            default -> {
+            }
+        }
+    }
+
+    private void sample(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        samples++;
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        topFrames.merge(methodName(frames.get(0)), 1L, Long::sum);
+        frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .ifPresent(frame -> applicationFrames.merge(methodName(frame), 1L, Long::sum));
+    }
+
+    private static String methodName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private void print(PrintStream out, int rows) {
+        printDurations(out, "Repository calls (" + RepositoryCallEvent.NAME + ")", repositoryCalls, rows);
+        printDurations(out, "Suggestion calculations (" + SuggestionCalculationEvent.NAME + ")", suggestions, rows);
+        printCounts(out, "Mapped exceptions (" + ExceptionMappedEvent.NAME + ")", exceptions, 0, rows);
+        printCounts(out, "Hot methods, top frame (" + EXECUTION_SAMPLE + ")", topFrames, samples, rows);
+        printCounts(out, "Hot methods, first application frame (" + EXECUTION_SAMPLE + ")", applicationFrames,
+                samples, rows);
+    }
+
+    /**
+     * Ordenado pelo tempo total: o método que mais consome tempo somado aparece primeiro, mesmo que cada chamada
+     * seja rápida.
+     */
+    private static void printDurations(PrintStream out, String title, Map<String, DurationStats> stats, int rows) {
+        List<String[]> table = new ArrayList<>();
+        table.add(new String[] { "name", "count", "total ms", "avg ms", "p99 ms", "max ms" });
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, DurationStats> e) -> e.getValue().total)
+                        .reversed())
+                .limit(rows)
+                .forEach(e -> {
+                    DurationStats s = e.getValue();
+                    table.add(new String[] { e.getKey(), Long.toString(s.count), millis(s.total),
+                            millis(s.total / s.count), millis(s.percentile(0.99)), millis(s.max) });
+                });
+        printTable(out, title, table);
+    }
+
+    private static void printCounts(PrintStream out, String title, Map<String, Long> counts, long total, int rows) {
+        List<String[]> table = new ArrayList<>();
+        table.add(total > 0 ? new String[] { "name", "count", "%" } : new String[] { "name", "count" });
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(rows)
+                .forEach(e -> table.add(total > 0
+                        ? new String[] { e.getKey(), Long.toString(e.getValue()),
+                                String.format(Locale.ROOT, "%.1f", 100.0 * e.getValue() / total) }
+                        : new String[] { e.getKey(), Long.toString(e.getValue()) }));
+        printTable(out, title, table);
+    }
+
+    private static void printTable(PrintStream out, String title, List<String[]> table) {
+        out.println();
+        out.println(title);
+        if (table.size() == 1) {
+            out.println("  (no events)");
+            return;
+        }
+
+        int[] widths = new int[table.get(0).length];
+        for (String[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], row[i].length());
+            }
+        }
+        for (String[] row : table) {
+            StringBuilder line = new StringBuilder(" ");
+            for (int i = 0; i < row.length; i++) {
+                // Primeira coluna alinhada à esquerda, números à direita
+                String format = i == 0 ? " %-" + widths[i] + "s" : "  %" + widths[i] + "s";
+                line.append(String.format(format, row[i]));
+            }
+            out.println(line);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Durações em nanossegundos de uma chave; guardadas inteiras para calcular o percentil exato.
+     */
+    private static final class DurationStats {
+
+        private long[] durations = new long[16];
+        private int count;
+        private long total;
+        private long max;
+
+        void add(Duration duration) {
+            long nanos = duration.toNanos();
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = nanos;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        long percentile(double percentile) {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(percentile * count) - 1];
+        }
+    }
+}
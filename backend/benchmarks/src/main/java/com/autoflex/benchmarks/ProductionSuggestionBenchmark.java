@@ -0,0 +1,68 @@
+package com.autoflex.benchmarks;
+
+import com.autoflex.dto.ProductionSuggestionResponseDTO;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.service.ProductionSuggestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de cálculo completo da sugestão, sem banco: montagem da fotografia a partir das linhas da consulta
+ * e planejamento guloso com conversão para o DTO de resposta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductionSuggestionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int products;
+
+    @Param({"200"})
+    int materials;
+
+    @Param({"0.05"})
+    double density;
+
+    private ProductionSuggestionService service;
+    private ProductionSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCatalog catalog = SyntheticCatalog.generate(products, materials, density, 42L);
+        service = catalog.service();
+        snapshot = service.loadSnapshot();
+    }
+
+    /**
+     * Equivalente a calculateSuggestion() com o cache invalidado: carrega a fotografia e calcula.
+     */
+    @Benchmark
+    public ProductionSuggestionResponseDTO loadAndCalculateSuggestion() {
+        return service.calculateSuggestion(service.loadSnapshot(), ProductionStrategy.GREEDY);
+    }
+
+    /**
+     * Apenas o planejamento e a montagem da resposta sobre uma fotografia já carregada.
+     */
+    @Benchmark
+    public ProductionSuggestionResponseDTO calculateSuggestion() {
+        return service.calculateSuggestion(snapshot, ProductionStrategy.GREEDY);
+    }
+}
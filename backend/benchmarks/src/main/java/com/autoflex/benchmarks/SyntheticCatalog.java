@@ -0,0 +1,93 @@
+package com.autoflex.benchmarks;
+
+import com.autoflex.engine.OptimalProductionPlanner;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.service.ProductionSuggestionService;
+import com.autoflex.service.ScenarioExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de catálogos sintéticos (produtos x matérias-primas x densidade de composição),
+ * no mesmo formato de linhas devolvido por ProductRawMaterialRepository.findActiveCompositionLines().
+ */
+public final class SyntheticCatalog {
+
+    private final List<CompositionLineRow> rows;
+
+    private SyntheticCatalog(List<CompositionLineRow> rows) {
+        this.rows = List.copyOf(rows);
+    }
+
+    /**
+     * Gera o catálogo. A densidade é a fração de matérias-primas usada por produto (ao menos uma linha).
+     * O estoque é dimensionado para que cerca de metade dos produtos consiga ser fabricada.
+     */
+    public static SyntheticCatalog generate(int products, int materials, double density, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int linesPerProduct = Math.max(1, (int) Math.round(materials * density));
+
+        BigDecimal[] stock = new BigDecimal[materials];
+        for (int m = 0; m < materials; m++) {
+            long units = (long) products * linesPerProduct / materials * 20 + random.nextInt(1_000);
+            stock[m] = BigDecimal.valueOf(units * 10_000 + random.nextInt(10_000), 4);
+        }
+
+        List<CompositionLineRow> rows = new ArrayList<>(products * linesPerProduct);
+        for (int p = 0; p < products; p++) {
+            long productId = p + 1L;
+            BigDecimal value = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+            int first = random.nextInt(materials);
+            for (int line = 0; line < linesPerProduct; line++) {
+                int material = (first + line * 7) % materials;
+                BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(200_000), 4);
+                rows.add(new CompositionLineRow(productId, "Product " + productId, value,
+                        material + 1L, stock[material], quantity));
+            }
+        }
+
+        rows.sort(Comparator.comparing(CompositionLineRow::productValue).reversed()
+                .thenComparing(CompositionLineRow::productId));
+        return new SyntheticCatalog(rows);
+    }
+
+    public List<CompositionLineRow> rows() {
+        return rows;
+    }
+
+    /**
+     * Repositório em memória que devolve as linhas geradas, sem banco de dados.
+     */
+    public ProductRawMaterialRepository repository() {
+        return new ProductRawMaterialRepository() {
+            @Override
+            public List<CompositionLineRow> findActiveCompositionLines() {
+                return rows;
+            }
+        };
+    }
+
+    /**
+     * Serviço de sugestão sobre o repositório em memória, com o mesmo caminho de carga da aplicação.
+     */
+    public ProductionSuggestionService service() {
+        return new ProductionSuggestionService(repository(),
+                new OptimalProductionPlanner(5_000, Duration.ofSeconds(1)), new SimpleMeterRegistry(),
+                new ScenarioExecutor(1, 1, Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Fotografia montada por ProductionSuggestionService.loadSnapshot() a partir das linhas geradas.
+     */
+    public ProductionSnapshot snapshot() {
+        return service().loadSnapshot();
+    }
+}
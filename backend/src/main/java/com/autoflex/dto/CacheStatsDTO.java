@@ -0,0 +1,27 @@
+package com.autoflex.dto;
+
+import java.util.List;
+
+/**
+ * Contadores do cache de segundo nível por região e do cache de consultas, desde a inicialização.
+ * Com statisticsEnabled = false (quarkus.hibernate-orm.statistics desligado) os contadores ficam zerados.
+ */
+public record CacheStatsDTO(
+        boolean statisticsEnabled,
+        List<RegionStats> regions,
+        long queryCacheHits,
+        long queryCacheMisses,
+        long queryCachePuts) {
+
+    /**
+     * elementsInMemory é -1 quando o provedor não informa o tamanho da região.
+     */
+    public record RegionStats(
+            String region,
+            long hits,
+            long misses,
+            long puts,
+            long elementsInMemory,
+            double hitRatio) {
+    }
+}
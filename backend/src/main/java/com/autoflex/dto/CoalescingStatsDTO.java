@@ -0,0 +1,7 @@
+package com.autoflex.dto;
+
+public record CoalescingStatsDTO(
+        long executions,
+        long coalescedCalls,
+        int inFlight) {
+}
@@ -0,0 +1,21 @@
+package com.autoflex.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote. A lista de erros é limitada; errorsTruncated indica que houve mais falhas
+ * do que as listadas (o total continua em failed).
+ */
+public record ImportReportDTO(
+        long processed,
+        long created,
+        long updated,
+        long failed,
+        List<RowError> errors,
+        boolean errorsTruncated) {
+
+    public record RowError(
+            long line,
+            String message) {
+    }
+}
@@ -2,10 +2,20 @@ package com.autoflex.dto;
 
 import java.util.List;
 
+/**
+ * Página de resultados. No modo por cursor (after), page é nulo e nextCursor aponta para a próxima página;
+ * totalElements e totalPages só são preenchidos quando a contagem é solicitada.
+ */
 public record PageResponseDTO<T>(
         List<T> items,
-        int page,
+        Integer page,
         int size,
-        long totalElements,
-        int totalPages
-) {}
\ No newline at end of file
+        Long totalElements,
+        Integer totalPages,
+        String nextCursor
+) {
+
+    public PageResponseDTO(List<T> items, int page, int size, long totalElements, int totalPages) {
+        this(items, page, size, totalElements, totalPages, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.autoflex.dto;
+
+import java.math.BigDecimal;
+
+public record ProductCapacityDTO(
+        Long productId,
+        String productName,
+        BigDecimal productValue,
+        long capacity,
+        Long limitingRawMaterialId) {
+}
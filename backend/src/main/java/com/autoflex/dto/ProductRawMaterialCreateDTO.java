@@ -1,5 +1,6 @@
 package com.autoflex.dto;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
@@ -10,5 +11,6 @@ public record ProductRawMaterialCreateDTO(
 
         @NotNull(message = "Quantity is required")
         @Positive(message = "Quantity must be positive")
+        @DecimalMax(value = "922337203685477", message = "Quantity must be at most 922337203685477")
         BigDecimal quantity
 ) {}
\ No newline at end of file
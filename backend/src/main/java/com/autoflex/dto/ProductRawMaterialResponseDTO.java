@@ -6,5 +6,6 @@ public record ProductRawMaterialResponseDTO(
         Long id,
         Long rawMaterialId,
         String rawMaterialName,
-        BigDecimal quantity
+        BigDecimal quantity,
+        Long version
 ) {}
\ No newline at end of file
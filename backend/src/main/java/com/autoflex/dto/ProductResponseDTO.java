@@ -7,5 +7,6 @@ public record ProductResponseDTO(
         Long id,
         String name,
         BigDecimal value,
-        List<ProductRawMaterialResponseDTO> rawMaterials
+        List<ProductRawMaterialResponseDTO> rawMaterials,
+        Long version
 ) {}
\ No newline at end of file
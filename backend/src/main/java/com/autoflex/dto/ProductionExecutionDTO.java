@@ -0,0 +1,28 @@
+package com.autoflex.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.List;
+
+/**
+ * Plano a executar: informe os itens (produto e quantidade) ou a versão (ETag) de uma sugestão já calculada,
+ * junto com a estratégia usada para obtê-la.
+ */
+public record ProductionExecutionDTO(
+        List<@Valid @NotNull PlannedItem> items,
+
+        String suggestionVersion,
+
+        String strategy
+) {
+
+    public record PlannedItem(
+            @NotNull(message = "Product ID is required")
+            Long productId,
+
+            @NotNull(message = "Quantity is required")
+            @Positive(message = "Quantity must be positive")
+            Long quantity
+    ) {}
+}
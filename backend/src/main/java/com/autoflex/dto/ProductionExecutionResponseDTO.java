@@ -0,0 +1,22 @@
+package com.autoflex.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record ProductionExecutionResponseDTO(
+        String executionId,
+        List<ProducedItem> items,
+        List<ConsumedMaterial> consumedMaterials,
+        Instant executedAt) {
+
+    public record ProducedItem(
+            Long productId,
+            long quantity) {
+    }
+
+    public record ConsumedMaterial(
+            Long rawMaterialId,
+            BigDecimal quantity) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.autoflex.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductionScenarioDTO(
+        List<@Valid @NotNull StockOverride> stockOverrides,
+
+        List<@Valid @NotNull ValueOverride> valueOverrides
+) {
+
+    /**
+     * Ajuste de estoque de uma matéria-prima: informe exatamente um entre quantidade absoluta, delta ou multiplicador.
+     */
+    public record StockOverride(
+            @NotNull(message = "Raw material ID is required")
+            Long rawMaterialId,
+
+            @PositiveOrZero(message = "Quantity must be zero or positive")
+            BigDecimal quantity,
+
+            BigDecimal delta,
+
+            @PositiveOrZero(message = "Multiplier must be zero or positive")
+            BigDecimal multiplier
+    ) {}
+
+    /**
+     * Valor hipotético de venda de um produto no cenário.
+     */
+    public record ValueOverride(
+            @NotNull(message = "Product ID is required")
+            Long productId,
+
+            @NotNull(message = "Product value is required")
+            @Positive(message = "Product value must be positive")
+            BigDecimal value
+    ) {}
+}
@@ -1,11 +1,20 @@
 package com.autoflex.dto;
 
+import com.autoflex.engine.ProductionStrategy;
+
 import java.math.BigDecimal;
 import java.util.List;
 
 public record ProductionSuggestionResponseDTO(
         List<ProductionItem> items,
-        BigDecimal totalValue) {
+        BigDecimal totalValue,
+        ProductionStrategy strategy,
+        BigDecimal upperBound,
+        BigDecimal optimalityGap) {
+
+    public ProductionSuggestionResponseDTO(List<ProductionItem> items, BigDecimal totalValue) {
+        this(items, totalValue, ProductionStrategy.GREEDY, null, null);
+    }
 
     public record ProductionItem(
             Long productId,
@@ -14,4 +23,4 @@ public record ProductionSuggestionResponseDTO(
             long quantityToProduce,
             BigDecimal subtotal) {
     }
-}
\ No newline at end of file
+}
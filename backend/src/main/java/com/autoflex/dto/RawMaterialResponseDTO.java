@@ -5,5 +5,6 @@ import java.math.BigDecimal;
 public record RawMaterialResponseDTO(
         Long id,
         String name,
-        BigDecimal stockQuantity
+        BigDecimal stockQuantity,
+        Long version
 ) {}
\ No newline at end of file
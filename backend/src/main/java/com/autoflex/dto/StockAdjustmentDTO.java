@@ -0,0 +1,21 @@
+package com.autoflex.dto;
+
+import com.autoflex.entity.StockMovementType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+public record StockAdjustmentDTO(
+        @NotNull(message = "Delta is required")
+        @Digits(integer = 15, fraction = 4, message = "Delta must have at most 15 integer digits and 4 decimals")
+        BigDecimal delta,
+
+        StockMovementType type,
+
+        @Size(max = 255, message = "Reason must have at most 255 characters")
+        String reason,
+
+        @Size(max = 100, message = "Reference must have at most 100 characters")
+        String reference
+) {}
@@ -0,0 +1,12 @@
+package com.autoflex.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record StockBalanceDTO(
+        Long rawMaterialId,
+        Instant at,
+        BigDecimal quantity,
+        Instant snapshotAt,
+        long tailMovements
+) {}
@@ -0,0 +1,33 @@
+package com.autoflex.dto;
+
+import com.autoflex.engine.ProductionStrategy;
+
+import java.time.Instant;
+
+/**
+ * Estado de um cálculo de sugestão em segundo plano; result só é preenchido quando status = SUCCEEDED.
+ */
+public record SuggestionJobDTO(
+        String jobId,
+        Status status,
+        ProductionStrategy strategy,
+        int progress,
+        String suggestionVersion,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        ProductionSuggestionResponseDTO result,
+        String error) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.autoflex.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record WhereUsedDTO(
+        Long rawMaterialId,
+        int productCount,
+        List<UsedByProduct> products) {
+
+    public record UsedByProduct(
+            Long productId,
+            String productName,
+            BigDecimal quantity) {
+    }
+}
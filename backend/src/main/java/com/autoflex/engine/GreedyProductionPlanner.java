@@ -0,0 +1,63 @@
+package com.autoflex.engine;
+
+/**
+ * Planejador guloso sobre a fotografia em ponto fixo: percorre os produtos na ordem da fotografia (maior valor
+ * primeiro) e produz o máximo possível de cada um, abatendo o estoque consumido antes do próximo.
+ * Trabalha apenas com arrays primitivos, sem BigDecimal nem boxing no laço principal.
+ */
+public final class GreedyProductionPlanner {
+
+    private GreedyProductionPlanner() {
+    }
+
+    /**
+     * Retorna a quantidade a produzir de cada produto da fotografia (mesmo índice).
+     */
+    public static long[] plan(ProductionSnapshot snapshot) {
+        return plan(snapshot, snapshot.stockCopy());
+    }
+
+    /**
+     * Variante que consome o estoque informado (em ponto fixo), permitindo reaproveitar a área de trabalho.
+     */
+    public static long[] plan(ProductionSnapshot snapshot, long[] stock) {
+        int products = snapshot.productCount();
+        long[] quantities = new long[products];
+
+        for (int product = 0; product < products; product++) {
+            long maxProducible = calculateMaxProducibleQuantity(snapshot, product, stock);
+
+            if (maxProducible <= 0) {
+                continue;
+            }
+
+            deductConsumedMaterials(snapshot, product, stock, maxProducible);
+            quantities[product] = maxProducible;
+        }
+        return quantities;
+    }
+
+    /**
+     * Calcula a quantidade máxima do produto que o estoque permite fabricar (insumo limitante).
+     */
+    public static long calculateMaxProducibleQuantity(ProductionSnapshot snapshot, int product, long[] stock) {
+        long maxProducible = Long.MAX_VALUE;
+
+        for (int line = snapshot.lineStart(product), end = snapshot.lineEnd(product); line < end; line++) {
+            long canProduce = Math.floorDiv(stock[snapshot.lineMaterial(line)], snapshot.lineQuantity(line));
+            maxProducible = Math.min(maxProducible, canProduce);
+        }
+
+        return maxProducible == Long.MAX_VALUE ? 0 : maxProducible;
+    }
+
+    /**
+     * Abate do estoque de trabalho os insumos consumidos pela quantidade produzida.
+     */
+    public static void deductConsumedMaterials(ProductionSnapshot snapshot, int product, long[] stock,
+                                               long quantityProduced) {
+        for (int line = snapshot.lineStart(product), end = snapshot.lineEnd(product); line < end; line++) {
+            stock[snapshot.lineMaterial(line)] -= snapshot.lineQuantity(line) * quantityProduced;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.autoflex.engine;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.stream.IntStream;
+
+/**
+ * Planejador exato de produção: branch-and-bound em profundidade usando a relaxação linear como limite superior.
+ * A busca parte da solução gulosa e respeita um orçamento de nós e de tempo, reportando o gap de otimalidade.
+ */
+@ApplicationScoped
+public class OptimalProductionPlanner {
+
+    private static final double INTEGRALITY_TOLERANCE = 1e-6;
+
+    private final long maxNodes;
+    private final Duration timeBudget;
+    private final long maxTableauCells;
+
+    /**
+     * maxTableauCells limita o tableau denso de cada nó (4.000.000 células, ~32 MB); um nó cujo tableau, com as
+     * linhas de limite dos produtos ramificados, não cabe nesse limite é completado pela regra gulosa.
+     */
+    public OptimalProductionPlanner(
+            @ConfigProperty(name = "autoflex.production.optimal.max-nodes", defaultValue = "5000") long maxNodes,
+            @ConfigProperty(name = "autoflex.production.optimal.time-budget", defaultValue = "PT1S") Duration timeBudget,
+            @ConfigProperty(name = "autoflex.production.optimal.max-tableau-cells", defaultValue = "4000000")
+            long maxTableauCells) {
+        this.maxNodes = maxNodes;
+        this.timeBudget = timeBudget;
+        this.maxTableauCells = maxTableauCells;
+    }
+
+    /**
+     * Calcula o plano de maior valor para a fotografia, partindo de uma solução viável (ex: resultado guloso).
+     */
+    public ProductionPlan plan(ProductionSnapshot snapshot, long[] initialQuantities) {
+        return new Search(snapshot).run(initialQuantities);
+    }
+
+    private record Node(long[] lower, long[] upper, long bound) {
+    }
+
+    /**
+     * Estado de uma execução. A viabilidade é verificada em ponto fixo (long) e apenas a relaxação usa double.
+     */
+    private final class Search {
+
+        private final ProductionSnapshot snapshot;
+        private final int products;
+        private final int materials;
+        private final double[] objective;
+        private final double[][] requirements;
+        private final int[] byValueDesc;
+        private final long deadline;
+
+        private long[] incumbent;
+        private long incumbentValue;
+        private long nodes;
+        private long unresolvedBound;
+
+        private Search(ProductionSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.products = snapshot.productCount();
+            this.materials = snapshot.materialCount();
+            this.objective = new double[products];
+            boolean fitsTableau = SimplexSolver.tableauCells(materials, products) <= maxTableauCells;
+            this.requirements = fitsTableau ? new double[materials][products] : null;
+
+            for (int j = 0; j < products; j++) {
+                objective[j] = snapshot.productValueCents(j);
+                if (fitsTableau) {
+                    for (int line = snapshot.lineStart(j); line < snapshot.lineEnd(j); line++) {
+                        requirements[snapshot.lineMaterial(line)][j] += snapshot.lineQuantity(line);
+                    }
+                }
+            }
+
+            this.byValueDesc = IntStream.range(0, products).boxed()
+                    .sorted(Comparator.comparingLong((Integer j) -> snapshot.productValueCents(j)).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.deadline = System.nanoTime() + timeBudget.toNanos();
+        }
+
+        private ProductionPlan run(long[] initialQuantities) {
+            incumbent = initialQuantities.clone();
+            incumbentValue = valueOf(incumbent);
+
+            long[] lower = new long[products];
+            long[] upper = new long[products];
+            Arrays.fill(upper, Long.MAX_VALUE);
+
+            long fallbackBound = capacityBound();
+
+            if (products == 0) {
+                return new ProductionPlan(incumbent, incumbentValue, incumbentValue, 0, false);
+            }
+            if (requirements == null) {
+                return new ProductionPlan(incumbent, incumbentValue, fallbackBound, 0, true);
+            }
+
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(new Node(lower, upper, fallbackBound));
+            boolean exhausted = false;
+
+            while (!stack.isEmpty()) {
+                if (nodes >= maxNodes || System.nanoTime() - deadline > 0) {
+                    exhausted = true;
+                    break;
+                }
+
+                Node node = stack.pop();
+                if (node.bound() <= incumbentValue) {
+                    continue;
+                }
+
+                if (!solve(node, stack)) {
+                    // Prazo estourado durante o simplex: o nó continua em aberto para o cálculo do limite.
+                    stack.push(node);
+                    exhausted = true;
+                    break;
+                }
+            }
+
+            // Nós completados sem relaxação não provam a otimalidade: o limite deles continua valendo.
+            exhausted |= unresolvedBound > incumbentValue;
+            long upperBound = Math.max(incumbentValue, unresolvedBound);
+            for (Node open : stack) {
+                upperBound = Math.max(upperBound, open.bound());
+            }
+            return new ProductionPlan(incumbent, incumbentValue, upperBound, nodes, exhausted);
+        }
+
+        /**
+         * Resolve a relaxação do nó, atualiza a melhor solução e empilha os filhos. Retorna false se o prazo estourou.
+         */
+        private boolean solve(Node node, Deque<Node> stack) {
+            long[] lower = node.lower();
+            long[] upper = node.upper();
+
+            long[] residual = remainingStock(lower);
+            for (long r : residual) {
+                if (r < 0) {
+                    nodes++;
+                    return true;
+                }
+            }
+
+            double[] span = new double[products];
+            int boundRows = 0;
+            for (int j = 0; j < products; j++) {
+                span[j] = upper[j] == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : upper[j] - lower[j];
+                if (upper[j] != Long.MAX_VALUE) {
+                    boundRows++;
+                }
+            }
+            if (SimplexSolver.tableauCells(materials + boundRows, products) > maxTableauCells) {
+                completeWithoutRelaxation(node);
+                return true;
+            }
+
+            double[] b = new double[materials];
+            for (int i = 0; i < materials; i++) {
+                b[i] = residual[i];
+            }
+            SimplexSolver.Solution relaxation = SimplexSolver.maximize(objective, requirements, b, span, deadline);
+            if (relaxation.status() == SimplexSolver.Status.ABORTED) {
+                return false;
+            }
+            nodes++;
+
+            long bound = (long) Math.floor(valueOf(lower) + relaxation.objective() + INTEGRALITY_TOLERANCE);
+            if (bound <= incumbentValue) {
+                return true;
+            }
+
+            double[] y = relaxation.values();
+            long[] rounded = new long[products];
+            int branchOn = -1;
+            double mostFractional = 0d;
+            for (int j = 0; j < products; j++) {
+                long floor = (long) Math.floor(y[j] + INTEGRALITY_TOLERANCE);
+                rounded[j] = Math.min(lower[j] + floor, upper[j]);
+                double fraction = y[j] - floor;
+                double distance = Math.min(fraction, 1d - fraction);
+                if (fraction > INTEGRALITY_TOLERANCE && distance > mostFractional) {
+                    mostFractional = distance;
+                    branchOn = j;
+                }
+            }
+
+            if (completeGreedily(rounded, upper)) {
+                long roundedValue = valueOf(rounded);
+                if (roundedValue > incumbentValue) {
+                    incumbent = rounded;
+                    incumbentValue = roundedValue;
+                }
+            }
+
+            if (branchOn < 0 || bound <= incumbentValue) {
+                return true;
+            }
+
+            long split = lower[branchOn] + (long) Math.floor(y[branchOn]);
+
+            long[] downUpper = upper.clone();
+            downUpper[branchOn] = split;
+            long[] upLower = lower.clone();
+            upLower[branchOn] = split + 1;
+
+            // Busca em profundidade explorando primeiro o ramo "para cima", que costuma achar boas soluções cedo.
+            stack.push(new Node(lower, downUpper, bound));
+            stack.push(new Node(upLower, upper, bound));
+            return true;
+        }
+
+        /**
+         * Nó cujo tableau (materiais + linhas de limite) não cabe no limite de células: completa os limites inferiores
+         * pela regra gulosa e guarda o limite herdado do pai, que continua em aberto.
+         */
+        private void completeWithoutRelaxation(Node node) {
+            nodes++;
+            long[] quantities = node.lower().clone();
+            if (completeGreedily(quantities, node.upper())) {
+                long value = valueOf(quantities);
+                if (value > incumbentValue) {
+                    incumbent = quantities;
+                    incumbentValue = value;
+                }
+            }
+            unresolvedBound = Math.max(unresolvedBound, node.bound());
+        }
+
+        /**
+         * Completa uma solução parcial com a sobra de estoque, na ordem de maior valor (mesma regra do guloso).
+         * Retorna false se a solução arredondada violar o estoque (erro numérico da relaxação).
+         */
+        private boolean completeGreedily(long[] quantities, long[] upper) {
+            long[] remaining = remainingStock(quantities);
+            for (long r : remaining) {
+                if (r < 0) {
+                    return false;
+                }
+            }
+
+            for (int j : byValueDesc) {
+                long extra = GreedyProductionPlanner.calculateMaxProducibleQuantity(snapshot, j, remaining);
+                if (upper[j] != Long.MAX_VALUE) {
+                    extra = Math.min(extra, upper[j] - quantities[j]);
+                }
+                if (extra > 0) {
+                    GreedyProductionPlanner.deductConsumedMaterials(snapshot, j, remaining, extra);
+                    quantities[j] += extra;
+                }
+            }
+            return true;
+        }
+
+        private long[] remainingStock(long[] quantities) {
+            long[] remaining = snapshot.stockCopy();
+            for (int j = 0; j < products; j++) {
+                if (quantities[j] > 0) {
+                    GreedyProductionPlanner.deductConsumedMaterials(snapshot, j, remaining, quantities[j]);
+                }
+            }
+            return remaining;
+        }
+
+        /**
+         * Limite superior barato: cada produto fabricado isoladamente até o seu insumo limitante.
+         */
+        private long capacityBound() {
+            long[] stock = snapshot.stockCopy();
+            double bound = 0d;
+            for (int j = 0; j < products; j++) {
+                bound += (double) GreedyProductionPlanner.calculateMaxProducibleQuantity(snapshot, j, stock)
+                        * snapshot.productValueCents(j);
+            }
+            return bound >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(incumbentValue, (long) bound);
+        }
+
+        /**
+         * Valor do plano em centavos, saturado em Long.MAX_VALUE (estoques saturados admitem quantidades enormes).
+         */
+        private long valueOf(long[] quantities) {
+            long total = 0;
+            try {
+                for (int j = 0; j < products; j++) {
+                    total = Math.addExact(total, Math.multiplyExact(snapshot.productValueCents(j), quantities[j]));
+                }
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+            return total;
+        }
+    }
+}
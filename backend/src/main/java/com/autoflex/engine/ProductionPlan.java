@@ -0,0 +1,28 @@
+package com.autoflex.engine;
+
+/**
+ * Resultado do planejador: quantidade por produto (mesmo índice da entrada) e qualidade da solução.
+ *
+ * @param quantities        unidades a produzir de cada produto candidato
+ * @param valueCents        valor total da solução, em centavos
+ * @param upperBoundCents   limite superior comprovado para o valor ótimo, em centavos
+ * @param nodesExplored     nós da árvore de branch-and-bound resolvidos
+ * @param budgetExhausted   indica se a busca foi interrompida pelo orçamento de nós/tempo
+ */
+public record ProductionPlan(
+        long[] quantities,
+        long valueCents,
+        long upperBoundCents,
+        long nodesExplored,
+        boolean budgetExhausted) {
+
+    /**
+     * Diferença relativa entre o limite superior e a solução encontrada (0 = ótimo comprovado).
+     */
+    public double optimalityGap() {
+        if (upperBoundCents <= 0 || upperBoundCents <= valueCents) {
+            return 0d;
+        }
+        return (double) (upperBoundCents - valueCents) / upperBoundCents;
+    }
+}
@@ -0,0 +1,359 @@
+package com.autoflex.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Fotografia imutável e compacta do catálogo usada pelos planejadores de produção.
+ * Produtos e matérias-primas recebem índices densos; quantidades ficam em ponto fixo (x 10^4, igual às colunas
+ * NUMBER(19,4)) e a composição é armazenada em formato CSR: as linhas do produto p ocupam
+ * [lineStart[p], lineStart[p + 1]) nos arrays lineMaterial/lineQuantity.
+ * Apenas produtos com ao menos um vínculo ativo (quantidade positiva e matéria-prima ativa) são incluídos,
+ * na ordem em que foram informados (maior valor primeiro).
+ */
+public final class ProductionSnapshot {
+
+    /**
+     * Escala do ponto fixo das quantidades (4 casas decimais).
+     */
+    public static final int QUANTITY_SCALE = 4;
+
+    /**
+     * Maior quantidade representável em ponto fixo (Long.MAX_VALUE na escala de QUANTITY_SCALE), ~9,22e14.
+     */
+    public static final BigDecimal MAX_QUANTITY = BigDecimal.valueOf(Long.MAX_VALUE, QUANTITY_SCALE);
+    private static final BigDecimal MIN_QUANTITY = BigDecimal.valueOf(Long.MIN_VALUE, QUANTITY_SCALE);
+
+    private final long[] productIds;
+    private final String[] productNames;
+    private final BigDecimal[] productValues;
+    private final long[] productValueCents;
+    private final int[] lineStart;
+    private final int[] lineMaterial;
+    private final long[] lineQuantity;
+    private final long[] materialIds;
+    private final long[] materialStock;
+    private final Map<Long, Integer> productIndex;
+    private final Map<Long, Integer> materialIndex;
+
+    private ProductionSnapshot(Builder builder) {
+        int products = builder.productCount;
+        int lines = builder.lineCount;
+        int materials = builder.materialCount;
+
+        this.productIds = Arrays.copyOf(builder.productIds, products);
+        this.productNames = Arrays.copyOf(builder.productNames, products);
+        this.productValues = Arrays.copyOf(builder.productValues, products);
+        this.productValueCents = Arrays.copyOf(builder.productValueCents, products);
+        this.lineStart = Arrays.copyOf(builder.lineStart, products + 1);
+        this.lineMaterial = Arrays.copyOf(builder.lineMaterial, lines);
+        this.lineQuantity = Arrays.copyOf(builder.lineQuantity, lines);
+        this.materialIds = Arrays.copyOf(builder.materialIds, materials);
+        this.materialStock = Arrays.copyOf(builder.materialStock, materials);
+        this.productIndex = indexOf(productIds);
+        this.materialIndex = Map.copyOf(builder.materialIndex);
+    }
+
+    private ProductionSnapshot(ProductionSnapshot source, long[] materialStock) {
+        this.productIds = source.productIds;
+        this.productNames = source.productNames;
+        this.productValues = source.productValues;
+        this.productValueCents = source.productValueCents;
+        this.lineStart = source.lineStart;
+        this.lineMaterial = source.lineMaterial;
+        this.lineQuantity = source.lineQuantity;
+        this.materialIds = source.materialIds;
+        this.materialStock = materialStock;
+        this.productIndex = source.productIndex;
+        this.materialIndex = source.materialIndex;
+    }
+
+    private ProductionSnapshot(ProductionSnapshot source, int[] order, BigDecimal[] values) {
+        int products = order.length;
+        this.productIds = new long[products];
+        this.productNames = new String[products];
+        this.productValues = new BigDecimal[products];
+        this.productValueCents = new long[products];
+        this.lineStart = new int[products + 1];
+        this.lineMaterial = new int[source.lineMaterial.length];
+        this.lineQuantity = new long[source.lineQuantity.length];
+
+        int line = 0;
+        for (int p = 0; p < products; p++) {
+            int from = order[p];
+            productIds[p] = source.productIds[from];
+            productNames[p] = source.productNames[from];
+            productValues[p] = values[from];
+            productValueCents[p] = toCents(values[from]);
+            lineStart[p] = line;
+            int length = source.lineEnd(from) - source.lineStart(from);
+            System.arraycopy(source.lineMaterial, source.lineStart(from), lineMaterial, line, length);
+            System.arraycopy(source.lineQuantity, source.lineStart(from), lineQuantity, line, length);
+            line += length;
+        }
+        lineStart[products] = line;
+
+        this.materialIds = source.materialIds;
+        this.materialStock = source.materialStock;
+        this.productIndex = indexOf(productIds);
+        this.materialIndex = source.materialIndex;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Saldo em ponto fixo, saturado nos limites de long: acima de MAX_QUANTITY o estoque é, na prática, ilimitado
+     * (NUMBER(19,4) aceita valores maiores).
+     */
+    public static long stockToFixedPoint(BigDecimal stockQuantity) {
+        BigDecimal scaled = stockQuantity.setScale(QUANTITY_SCALE, RoundingMode.FLOOR);
+        if (scaled.compareTo(MAX_QUANTITY) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (scaled.compareTo(MIN_QUANTITY) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return scaled.unscaledValue().longValueExact();
+    }
+
+    /**
+     * Consumo por unidade em ponto fixo (arredondado para cima); acima de MAX_QUANTITY não há representação.
+     */
+    public static long lineToFixedPoint(long materialId, BigDecimal quantity) {
+        BigDecimal scaled = quantity.setScale(QUANTITY_SCALE, RoundingMode.CEILING);
+        if (scaled.compareTo(MAX_QUANTITY) > 0) {
+            throw new IllegalArgumentException("Quantity " + quantity.toPlainString() + " of raw material "
+                    + materialId + " exceeds the supported maximum of " + MAX_QUANTITY.toPlainString());
+        }
+        return scaled.unscaledValue().longValueExact();
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static Map<Long, Integer> indexOf(long[] ids) {
+        Map<Long, Integer> index = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            index.put(ids[i], i);
+        }
+        return index;
+    }
+
+    public int productCount() {
+        return productIds.length;
+    }
+
+    public int materialCount() {
+        return materialIds.length;
+    }
+
+    public int lineCount() {
+        return lineMaterial.length;
+    }
+
+    public long productId(int product) {
+        return productIds[product];
+    }
+
+    public String productName(int product) {
+        return productNames[product];
+    }
+
+    public BigDecimal productValue(int product) {
+        return productValues[product];
+    }
+
+    public long productValueCents(int product) {
+        return productValueCents[product];
+    }
+
+    public int lineStart(int product) {
+        return lineStart[product];
+    }
+
+    public int lineEnd(int product) {
+        return lineStart[product + 1];
+    }
+
+    public int lineMaterial(int line) {
+        return lineMaterial[line];
+    }
+
+    public long lineQuantity(int line) {
+        return lineQuantity[line];
+    }
+
+    public long materialId(int material) {
+        return materialIds[material];
+    }
+
+    public long materialStock(int material) {
+        return materialStock[material];
+    }
+
+    /**
+     * Cópia do estoque em ponto fixo, usada como área de trabalho mutável pelos planejadores.
+     */
+    public long[] stockCopy() {
+        return materialStock.clone();
+    }
+
+    /**
+     * Índice denso do produto, ou -1 se ele não faz parte da fotografia.
+     */
+    public int productIndex(long productId) {
+        return productIndex.getOrDefault(productId, -1);
+    }
+
+    /**
+     * Índice denso da matéria-prima, ou -1 se ela não participa de nenhuma composição ativa.
+     */
+    public int materialIndex(long materialId) {
+        return materialIndex.getOrDefault(materialId, -1);
+    }
+
+    /**
+     * Cópia que compartilha a composição e substitui apenas o estoque (em ponto fixo, mesmo índice).
+     */
+    public ProductionSnapshot withMaterialStock(long[] stock) {
+        if (stock.length != materialIds.length) {
+            throw new IllegalArgumentException("Expected " + materialIds.length + " stock entries, got " + stock.length);
+        }
+        return new ProductionSnapshot(this, stock.clone());
+    }
+
+    /**
+     * Cópia com novos valores por índice de produto, reordenada por valor decrescente e id (mesma ordem da consulta).
+     */
+    public ProductionSnapshot withProductValues(Map<Integer, BigDecimal> valuesByIndex) {
+        if (valuesByIndex.isEmpty()) {
+            return this;
+        }
+        BigDecimal[] values = productValues.clone();
+        valuesByIndex.forEach((index, value) -> values[index] = value);
+
+        int[] order = IntStream.range(0, productIds.length).boxed()
+                .sorted(Comparator.comparing((Integer p) -> values[p]).reversed()
+                        .thenComparingLong(p -> productIds[p]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return new ProductionSnapshot(this, order, values);
+    }
+
+    /**
+     * Acumulador usado para montar a fotografia; produtos sem vínculos válidos são descartados no build.
+     */
+    public static final class Builder {
+
+        private final Map<Long, Integer> materialIndex = new HashMap<>();
+
+        private long[] productIds = new long[16];
+        private String[] productNames = new String[16];
+        private BigDecimal[] productValues = new BigDecimal[16];
+        private long[] productValueCents = new long[16];
+        private int[] lineStart = new int[17];
+        private int productCount;
+
+        private int[] lineMaterial = new int[64];
+        private long[] lineQuantity = new long[64];
+        private int lineCount;
+
+        private long[] materialIds = new long[16];
+        private long[] materialStock = new long[16];
+        private int materialCount;
+
+        private boolean productOpen;
+
+        private Builder() {
+        }
+
+        /**
+         * Registra (ou atualiza) o estoque de uma matéria-prima. Valores fracionários além da escala são truncados e
+         * saldos acima de MAX_QUANTITY ficam em Long.MAX_VALUE.
+         */
+        public Builder material(long id, BigDecimal stockQuantity) {
+            int index = materialIndexOf(id);
+            materialStock[index] = stockToFixedPoint(stockQuantity);
+            return this;
+        }
+
+        /**
+         * Abre um novo produto; as chamadas seguintes de line() pertencem a ele.
+         */
+        public Builder product(long id, String name, BigDecimal value) {
+            closeProduct();
+            if (productCount == productIds.length) {
+                int capacity = productCount * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                productNames = Arrays.copyOf(productNames, capacity);
+                productValues = Arrays.copyOf(productValues, capacity);
+                productValueCents = Arrays.copyOf(productValueCents, capacity);
+                lineStart = Arrays.copyOf(lineStart, capacity + 1);
+            }
+            productIds[productCount] = id;
+            productNames[productCount] = name;
+            productValues[productCount] = value;
+            productValueCents[productCount] = toCents(value);
+            lineStart[productCount] = lineCount;
+            productOpen = true;
+            return this;
+        }
+
+        /**
+         * Adiciona um vínculo ao produto aberto. Quantidades não positivas são ignoradas, como no cálculo original.
+         */
+        public Builder line(long materialId, BigDecimal quantity) {
+            if (!productOpen) {
+                throw new IllegalStateException("line() called before product()");
+            }
+            if (quantity.signum() <= 0) {
+                return this;
+            }
+            if (lineCount == lineMaterial.length) {
+                lineMaterial = Arrays.copyOf(lineMaterial, lineCount * 2);
+                lineQuantity = Arrays.copyOf(lineQuantity, lineCount * 2);
+            }
+            lineMaterial[lineCount] = materialIndexOf(materialId);
+            lineQuantity[lineCount] = lineToFixedPoint(materialId, quantity);
+            lineCount++;
+            return this;
+        }
+
+        public ProductionSnapshot build() {
+            closeProduct();
+            lineStart[productCount] = lineCount;
+            return new ProductionSnapshot(this);
+        }
+
+        private void closeProduct() {
+            if (productOpen) {
+                if (lineStart[productCount] < lineCount) {
+                    productCount++;
+                }
+                productOpen = false;
+            }
+        }
+
+        private int materialIndexOf(long id) {
+            Integer existing = materialIndex.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            if (materialCount == materialIds.length) {
+                materialIds = Arrays.copyOf(materialIds, materialCount * 2);
+                materialStock = Arrays.copyOf(materialStock, materialCount * 2);
+            }
+            materialIds[materialCount] = id;
+            materialIndex.put(id, materialCount);
+            return materialCount++;
+        }
+    }
+}
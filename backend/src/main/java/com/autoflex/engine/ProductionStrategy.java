@@ -0,0 +1,32 @@
+package com.autoflex.engine;
+
+import com.autoflex.exception.BusinessException;
+
+import java.util.Locale;
+
+public enum ProductionStrategy {
+
+    /**
+     * Percorre os produtos do maior para o menor valor consumindo o estoque disponível.
+     */
+    GREEDY,
+
+    /**
+     * Maximiza o valor total via programação inteira (branch-and-bound com relaxação linear).
+     */
+    OPTIMAL;
+
+    /**
+     * Converte o parâmetro recebido na API (ex: "optimal") para a estratégia correspondente.
+     */
+    public static ProductionStrategy fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return GREEDY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Unknown production strategy '" + value + "'");
+        }
+    }
+}
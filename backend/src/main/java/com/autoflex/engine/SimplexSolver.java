@@ -0,0 +1,169 @@
+package com.autoflex.engine;
+
+/**
+ * Simplex primal em tableau denso para a relaxação linear do plano de produção.
+ * Resolve: maximizar c·y sujeito a A·y <= b, y <= upper e y >= 0, com b >= 0 (origem sempre viável).
+ */
+final class SimplexSolver {
+
+    static final double EPSILON = 1e-9;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 32;
+
+    enum Status {
+        OPTIMAL,
+        ABORTED
+    }
+
+    record Solution(Status status, double objective, double[] values) {
+    }
+
+    private SimplexSolver() {
+    }
+
+    /**
+     * Quantidade de células do tableau para o problema informado, usada para limitar o uso de memória.
+     */
+    static long tableauCells(int constraints, int variables) {
+        return (long) (constraints + 1) * (variables + constraints + 1);
+    }
+
+    /**
+     * Executa o simplex até a otimalidade ou até estourar o prazo (deadline em System.nanoTime()).
+     * Limites superiores infinitos devem ser informados como Double.POSITIVE_INFINITY.
+     */
+    static Solution maximize(double[] c, double[][] a, double[] b, double[] upper, long deadlineNanos) {
+        int n = c.length;
+        int m = b.length;
+
+        int boundRows = 0;
+        for (double u : upper) {
+            if (u != Double.POSITIVE_INFINITY) {
+                boundRows++;
+            }
+        }
+
+        int rows = m + boundRows;
+        int cols = n + rows;
+        double[][] tableau = new double[rows][cols + 1];
+        int[] basis = new int[rows];
+
+        for (int i = 0; i < m; i++) {
+            System.arraycopy(a[i], 0, tableau[i], 0, n);
+            tableau[i][n + i] = 1d;
+            tableau[i][cols] = b[i];
+            basis[i] = n + i;
+        }
+
+        int row = m;
+        for (int j = 0; j < n; j++) {
+            if (upper[j] != Double.POSITIVE_INFINITY) {
+                tableau[row][j] = 1d;
+                tableau[row][n + row] = 1d;
+                tableau[row][cols] = upper[j];
+                basis[row] = n + row;
+                row++;
+            }
+        }
+
+        double[] reducedCosts = new double[cols];
+        System.arraycopy(c, 0, reducedCosts, 0, n);
+        double objective = 0d;
+
+        // Dantzig converge rápido; após muitas iterações troca para a regra de Bland, que evita ciclagem.
+        int blandThreshold = 50 * (rows + n);
+        int iteration = 0;
+
+        while (true) {
+            if (iteration % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos > 0) {
+                return new Solution(Status.ABORTED, objective, null);
+            }
+
+            int entering = -1;
+            if (iteration < blandThreshold) {
+                double best = EPSILON;
+                for (int j = 0; j < cols; j++) {
+                    if (reducedCosts[j] > best) {
+                        best = reducedCosts[j];
+                        entering = j;
+                    }
+                }
+            } else {
+                for (int j = 0; j < cols; j++) {
+                    if (reducedCosts[j] > EPSILON) {
+                        entering = j;
+                        break;
+                    }
+                }
+            }
+
+            if (entering < 0) {
+                break;
+            }
+
+            int leaving = -1;
+            double bestRatio = Double.POSITIVE_INFINITY;
+            for (int r = 0; r < rows; r++) {
+                double coefficient = tableau[r][entering];
+                if (coefficient > EPSILON) {
+                    double ratio = tableau[r][cols] / coefficient;
+                    if (ratio < bestRatio - EPSILON
+                            || (ratio <= bestRatio + EPSILON && leaving >= 0 && basis[r] < basis[leaving])) {
+                        bestRatio = ratio;
+                        leaving = r;
+                    }
+                }
+            }
+
+            if (leaving < 0) {
+                // Problema ilimitado: não ocorre com composições de quantidade positiva.
+                return new Solution(Status.ABORTED, objective, null);
+            }
+
+            objective += pivot(tableau, reducedCosts, leaving, entering, cols);
+            basis[leaving] = entering;
+            iteration++;
+        }
+
+        double[] values = new double[n];
+        for (int r = 0; r < rows; r++) {
+            if (basis[r] < n) {
+                values[basis[r]] = Math.max(0d, tableau[r][cols]);
+            }
+        }
+        return new Solution(Status.OPTIMAL, objective, values);
+    }
+
+    /**
+     * Pivoteia o tableau e devolve o incremento do valor objetivo.
+     */
+    private static double pivot(double[][] tableau, double[] reducedCosts, int pivotRow, int pivotCol, int cols) {
+        double[] source = tableau[pivotRow];
+        double divisor = source[pivotCol];
+        for (int j = 0; j <= cols; j++) {
+            source[j] /= divisor;
+        }
+        source[pivotCol] = 1d;
+
+        for (int r = 0; r < tableau.length; r++) {
+            if (r == pivotRow) {
+                continue;
+            }
+            double[] target = tableau[r];
+            double factor = target[pivotCol];
+            if (factor != 0d) {
+                for (int j = 0; j <= cols; j++) {
+                    target[j] -= factor * source[j];
+                }
+                target[pivotCol] = 0d;
+            }
+        }
+
+        double cost = reducedCosts[pivotCol];
+        for (int j = 0; j < cols; j++) {
+            reducedCosts[j] -= cost * source[j];
+        }
+        reducedCosts[pivotCol] = 0d;
+        return cost * source[cols];
+    }
+}
@@ -2,6 +2,7 @@ package com.autoflex.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,6 +19,13 @@ public abstract class BaseEntity {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    /**
+     * Versão para lock otimista: incrementada a cada alteração e exposta como ETag nos recursos.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -25,4 +33,8 @@ public abstract class BaseEntity {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.autoflex.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.type.SqlTypes;
@@ -11,12 +13,14 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = @Index(name = "idx_product_active_name_id", columnList = "active, name, id"))
 @SQLRestriction("active = 1")
+@Cacheable
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -29,7 +33,12 @@ public class Product extends BaseEntity {
     @JdbcTypeCode(SqlTypes.SMALLINT)
     private boolean active = true;
 
+    /**
+     * Cacheada em região própria (ids dos vínculos ativos); vínculos novos ou removidos invalidam a entrada
+     * via hibernate.cache.auto_evict_collection_cache.
+     */
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<ProductRawMaterial> rawMaterials = new ArrayList<>();
 
     public Product() {
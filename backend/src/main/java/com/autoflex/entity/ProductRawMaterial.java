@@ -1,13 +1,16 @@
 package com.autoflex.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -18,13 +21,16 @@ import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
-@Table(name = "product_raw_material", uniqueConstraints = @UniqueConstraint(columnNames = { "product_id",
-        "raw_material_id" }))
+@Table(name = "product_raw_material",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "product_id", "raw_material_id" }),
+        indexes = @Index(name = "idx_prm_raw_material_active", columnList = "raw_material_id, active"))
 @SQLRestriction("active = 1")
+@Cacheable
 public class ProductRawMaterial extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_raw_material_seq")
+    @SequenceGenerator(name = "product_raw_material_seq", sequenceName = "product_raw_material_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,10 +1,13 @@
 package com.autoflex.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SQLRestriction;
@@ -14,12 +17,14 @@ import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
-@Table(name = "raw_material")
+@Table(name = "raw_material", indexes = @Index(name = "idx_raw_material_active_name_id", columnList = "active, name, id"))
 @SQLRestriction("active = 1")
+@Cacheable
 public class RawMaterial extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_material_seq")
+    @SequenceGenerator(name = "raw_material_seq", sequenceName = "raw_material_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
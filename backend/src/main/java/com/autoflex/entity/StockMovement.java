@@ -0,0 +1,91 @@
+package com.autoflex.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Lançamento imutável do livro de estoque: a quantidade é o delta com sinal aplicado ao saldo da matéria-prima.
+ */
+@Entity
+@Immutable
+@Table(name = "stock_movement",
+        indexes = @Index(name = "idx_stock_movement_material_time", columnList = "raw_material_id, occurred_at"))
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "raw_material_id", nullable = false, updatable = false)
+    private Long rawMaterialId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, updatable = false, length = 20)
+    private StockMovementType type;
+
+    @Column(nullable = false, updatable = false, precision = 19, scale = 4)
+    private BigDecimal quantity;
+
+    @Column(updatable = false)
+    private String reason;
+
+    @Column(updatable = false, length = 100)
+    private String reference;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    public StockMovement() {
+    }
+
+    public StockMovement(Long rawMaterialId, StockMovementType type, BigDecimal quantity, String reason,
+                         String reference, Instant occurredAt) {
+        this.rawMaterialId = rawMaterialId;
+        this.type = type;
+        this.quantity = quantity;
+        this.reason = reason;
+        this.reference = reference;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public StockMovementType getType() {
+        return type;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
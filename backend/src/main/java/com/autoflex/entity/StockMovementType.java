@@ -0,0 +1,10 @@
+package com.autoflex.entity;
+
+/**
+ * Natureza de um lançamento no livro de movimentação de estoque.
+ */
+public enum StockMovementType {
+    RECEIPT,
+    CONSUMPTION,
+    ADJUSTMENT
+}
@@ -0,0 +1,63 @@
+package com.autoflex.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Saldo consolidado de uma matéria-prima em um instante: inclui todos os lançamentos com occurred_at até taken_at.
+ */
+@Entity
+@Immutable
+@Table(name = "stock_snapshot",
+        indexes = @Index(name = "idx_stock_snapshot_material_time", columnList = "raw_material_id, taken_at"))
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshot_seq")
+    @SequenceGenerator(name = "stock_snapshot_seq", sequenceName = "stock_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "raw_material_id", nullable = false, updatable = false)
+    private Long rawMaterialId;
+
+    @Column(nullable = false, updatable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private Instant takenAt;
+
+    public StockSnapshot() {
+    }
+
+    public StockSnapshot(Long rawMaterialId, BigDecimal balance, Instant takenAt) {
+        this.rawMaterialId = rawMaterialId;
+        this.balance = balance;
+        this.takenAt = takenAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+}
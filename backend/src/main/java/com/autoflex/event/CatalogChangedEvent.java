@@ -0,0 +1,30 @@
+package com.autoflex.event;
+
+/**
+ * Evento disparado pelos serviços de cadastro quando uma alteração que afeta o cálculo de produção é gravada.
+ * Observadores devem usar TransactionPhase.AFTER_SUCCESS para reagir apenas a alterações efetivadas.
+ */
+public record CatalogChangedEvent(Type type, Long id) {
+
+    /**
+     * Parte do catálogo alterada; o id refere-se ao produto (PRODUCT, COMPOSITION) ou à matéria-prima (RAW_MATERIAL),
+     * e é nulo quando várias entidades mudaram de uma vez (importação em lote).
+     */
+    public enum Type {
+        PRODUCT,
+        RAW_MATERIAL,
+        COMPOSITION
+    }
+
+    public static CatalogChangedEvent product(Long productId) {
+        return new CatalogChangedEvent(Type.PRODUCT, productId);
+    }
+
+    public static CatalogChangedEvent rawMaterial(Long rawMaterialId) {
+        return new CatalogChangedEvent(Type.RAW_MATERIAL, rawMaterialId);
+    }
+
+    public static CatalogChangedEvent composition(Long productId) {
+        return new CatalogChangedEvent(Type.COMPOSITION, productId);
+    }
+}
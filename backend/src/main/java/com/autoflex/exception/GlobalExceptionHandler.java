@@ -1,5 +1,7 @@
 package com.autoflex.exception;
 
+import com.autoflex.jfr.ExceptionMappedEvent;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.ws.rs.core.Response;
@@ -16,19 +18,45 @@ public class GlobalExceptionHandler {
         int statusCode = ex.getResponse().getStatus();
         Response.Status status = Response.Status.fromStatusCode(statusCode);
         ErrorResponse error = new ErrorResponse(ex.getMessage(), statusCode);
-        return RestResponse.status(status, error);
+        return respond(ex, status, error);
     }
 
     @ServerExceptionMapper
     public RestResponse<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex) {
         ErrorResponse error = new ErrorResponse(ex.getMessage(), Response.Status.NOT_FOUND.getStatusCode());
-        return RestResponse.status(Response.Status.NOT_FOUND, error);
+        return respond(ex, Response.Status.NOT_FOUND, error);
     }
 
     @ServerExceptionMapper
     public RestResponse<ErrorResponse> handleBusinessException(BusinessException ex) {
         ErrorResponse error = new ErrorResponse(ex.getMessage(), Response.Status.BAD_REQUEST.getStatusCode());
-        return RestResponse.status(Response.Status.BAD_REQUEST, error);
+        return respond(ex, Response.Status.BAD_REQUEST, error);
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handleConflict(ConflictException ex) {
+        ErrorResponse error = new ErrorResponse(ex.getMessage(), Response.Status.CONFLICT.getStatusCode());
+        return respond(ex, Response.Status.CONFLICT, error);
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex) {
+        ErrorResponse error = new ErrorResponse(ex.getMessage(), Response.Status.PRECONDITION_FAILED.getStatusCode());
+        return respond(ex, Response.Status.PRECONDITION_FAILED, error);
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handleServiceBusy(ServiceBusyException ex) {
+        ErrorResponse error = new ErrorResponse(ex.getMessage(), Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+        return respond(ex, Response.Status.SERVICE_UNAVAILABLE, error);
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handleOptimisticLock(OptimisticLockException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "The record was modified by another request. Reload it and try again.",
+                Response.Status.CONFLICT.getStatusCode());
+        return respond(ex, Response.Status.CONFLICT, error);
     }
 
     @ServerExceptionMapper
@@ -38,7 +66,7 @@ public class GlobalExceptionHandler {
                 .reduce((a, b) -> a + "; " + b)
                 .orElse("Validation failed");
         ErrorResponse error = new ErrorResponse(message, Response.Status.BAD_REQUEST.getStatusCode());
-        return RestResponse.status(Response.Status.BAD_REQUEST, error);
+        return respond(ex, Response.Status.BAD_REQUEST, error);
     }
 
     @ServerExceptionMapper
@@ -51,20 +79,20 @@ public class GlobalExceptionHandler {
             ErrorResponse error = new ErrorResponse(
                     "Cannot delete this record because it is referenced by other records.",
                     Response.Status.CONFLICT.getStatusCode());
-            return RestResponse.status(Response.Status.CONFLICT, error);
+            return respond(ex, Response.Status.CONFLICT, error);
         }
 
         if (rootMessage.contains("ORA-00001") || rootMessage.contains("unique constraint")) {
             ErrorResponse error = new ErrorResponse(
                     "A record with the same unique value already exists.",
                     Response.Status.CONFLICT.getStatusCode());
-            return RestResponse.status(Response.Status.CONFLICT, error);
+            return respond(ex, Response.Status.CONFLICT, error);
         }
 
         ErrorResponse error = new ErrorResponse(
                 "A database error occurred. Please try again.",
                 Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
-        return RestResponse.status(Response.Status.INTERNAL_SERVER_ERROR, error);
+        return respond(ex, Response.Status.INTERNAL_SERVER_ERROR, error);
     }
 
     @ServerExceptionMapper
@@ -72,7 +100,15 @@ public class GlobalExceptionHandler {
         LOG.error("Unexpected error", ex);
         ErrorResponse error = new ErrorResponse("Internal server error",
                 Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
-        return RestResponse.status(Response.Status.INTERNAL_SERVER_ERROR, error);
+        return respond(ex, Response.Status.INTERNAL_SERVER_ERROR, error);
+    }
+
+    /**
+     * Monta a resposta de erro e emite um evento JFR com a exceção e o status (sem custo fora de uma gravação).
+     */
+    private RestResponse<ErrorResponse> respond(Throwable ex, Response.Status status, ErrorResponse error) {
+        ExceptionMappedEvent.emit(ex, error.status());
+        return RestResponse.status(status, error);
     }
 
     private String getRootCauseMessage(Throwable ex) {
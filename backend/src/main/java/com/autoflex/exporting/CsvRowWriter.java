@@ -0,0 +1,50 @@
+package com.autoflex.exporting;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Escritor CSV (RFC 4180): cabeçalho na primeira linha, CRLF entre registros e aspas apenas nos campos que
+ * contêm vírgula, aspas ou quebra de linha. Decimais saem sem notação científica.
+ */
+final class CsvRowWriter implements ExportRowWriter {
+
+    private final Writer writer;
+
+    CsvRowWriter(Writer writer, List<String> columns) throws IOException {
+        this.writer = writer;
+        write(columns.toArray());
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
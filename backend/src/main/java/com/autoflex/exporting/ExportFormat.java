@@ -0,0 +1,39 @@
+package com.autoflex.exporting;
+
+import com.autoflex.exception.BusinessException;
+
+/**
+ * Formatos da exportação em streaming: NDJSON (padrão, um objeto JSON por linha) ou CSV com cabeçalho.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value.strip())) {
+                return format;
+            }
+        }
+        throw new BusinessException("Unsupported export format: " + value + " (use ndjson or csv)");
+    }
+}
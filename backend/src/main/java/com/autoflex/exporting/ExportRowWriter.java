@@ -0,0 +1,32 @@
+package com.autoflex.exporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Escritor incremental da exportação: cada linha é gravada direto no corpo da resposta, sem acumular em memória.
+ * As colunas são fixas e os valores de cada linha chegam na mesma ordem.
+ */
+public interface ExportRowWriter extends Closeable {
+
+    static ExportRowWriter open(ExportFormat format, OutputStream out, ObjectMapper objectMapper,
+                                List<String> columns) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowWriter(
+                    new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), columns);
+            case NDJSON -> new NdjsonRowWriter(out, objectMapper, columns);
+        };
+    }
+
+    /**
+     * Grava uma linha; valores nulos viram campo vazio (CSV) ou null (NDJSON).
+     */
+    void write(Object[] values) throws IOException;
+}
@@ -0,0 +1,39 @@
+package com.autoflex.exporting;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Escritor NDJSON: um objeto JSON por linha, gerado token a token pelo JsonGenerator (sem montar árvores).
+ */
+final class NdjsonRowWriter implements ExportRowWriter {
+
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper, List<String> columns) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Cada objeto termina com a própria quebra de linha; sem o separador padrão (espaço) entre raízes.
+        this.generator.setRootValueSeparator(null);
+        this.columns = columns;
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeObjectField(columns.get(i), values[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
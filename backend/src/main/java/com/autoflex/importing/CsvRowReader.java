@@ -0,0 +1,146 @@
+package com.autoflex.importing;
+
+import com.autoflex.exception.BusinessException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor CSV (RFC 4180): separador vírgula, campos entre aspas podem conter vírgulas, quebras de linha e aspas
+ * duplicadas. A primeira linha é o cabeçalho com os nomes das colunas.
+ */
+final class CsvRowReader implements ImportRowReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final List<String> header;
+
+    private long line = 1;
+    private int pushback = -1;
+    private boolean unterminatedQuote;
+
+    CsvRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new BusinessException("Import file is empty");
+        }
+        List<String> header = new ArrayList<>(names.size());
+        for (String name : names) {
+            header.add(header.isEmpty() ? stripByteOrderMark(name).strip() : name.strip());
+        }
+        this.header = List.copyOf(header);
+    }
+
+    @Override
+    public void requireColumns(List<String> columns) {
+        List<String> missing = columns.stream().filter(column -> !header.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("Missing required column(s): " + String.join(", ", missing));
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            long start = line;
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            if (unterminatedQuote) {
+                return ImportRow.invalid(start, "Unterminated quoted field");
+            }
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (values.size() != header.size()) {
+                return ImportRow.invalid(start, "Expected " + header.size() + " columns, found " + values.size());
+            }
+
+            Map<String, String> fields = new HashMap<>(header.size() * 2);
+            for (int i = 0; i < header.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return new ImportRow(start, fields, null);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lê um registro completo (que pode ocupar várias linhas físicas), ou null ao final do arquivo.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    values.add(field.toString());
+                    return values;
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                values.add(field.toString());
+                return values;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -1) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static String stripByteOrderMark(String value) {
+        return !value.isEmpty() && value.charAt(0) == BYTE_ORDER_MARK ? value.substring(1) : value;
+    }
+}
@@ -0,0 +1,28 @@
+package com.autoflex.importing;
+
+import com.autoflex.exception.BusinessException;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Formatos aceitos pela importação em lote: CSV com cabeçalho ou NDJSON (um objeto JSON por linha).
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    public static ImportFormat from(MediaType mediaType) {
+        if (mediaType != null) {
+            String type = mediaType.getType() + "/" + mediaType.getSubtype();
+            if (CSV_MEDIA_TYPE.equalsIgnoreCase(type)) {
+                return CSV;
+            }
+            if (NDJSON_MEDIA_TYPE.equalsIgnoreCase(type)) {
+                return NDJSON;
+            }
+        }
+        throw new BusinessException("Unsupported import format: " + mediaType);
+    }
+}
@@ -0,0 +1,25 @@
+package com.autoflex.importing;
+
+import java.util.Map;
+
+/**
+ * Linha lida do arquivo de importação. O número da linha refere-se ao arquivo original (cabeçalho incluso);
+ * error é preenchido quando a linha não pôde ser interpretada (ex: JSON malformado).
+ */
+public record ImportRow(long line, Map<String, String> fields, String error) {
+
+    public static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, Map.of(), error);
+    }
+
+    /**
+     * Valor do campo sem espaços nas pontas, ou null se ausente ou em branco.
+     */
+    public String field(String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.strip();
+    }
+}
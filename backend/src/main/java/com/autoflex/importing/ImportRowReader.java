@@ -0,0 +1,36 @@
+package com.autoflex.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Leitor incremental do corpo da importação: mantém em memória apenas a linha corrente.
+ */
+public interface ImportRowReader extends Closeable {
+
+    static ImportRowReader open(ImportFormat format, InputStream body, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> new CsvRowReader(reader);
+            case NDJSON -> new NdjsonRowReader(reader, objectMapper);
+        };
+    }
+
+    /**
+     * Próxima linha do arquivo, ou null ao final. Linhas em branco são ignoradas.
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * Rejeita o arquivo antes do processamento se o cabeçalho não tiver as colunas obrigatórias (apenas CSV).
+     */
+    default void requireColumns(List<String> columns) {
+    }
+}
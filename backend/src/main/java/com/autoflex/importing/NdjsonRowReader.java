@@ -0,0 +1,60 @@
+package com.autoflex.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leitor NDJSON: cada linha não vazia deve conter um objeto JSON; valores são lidos como texto.
+ */
+final class NdjsonRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    private long line;
+
+    NdjsonRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return ImportRow.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return ImportRow.invalid(line, "Expected a JSON object");
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonNode> property : node.properties()) {
+                JsonNode value = property.getValue();
+                fields.put(property.getKey(), value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+            }
+            return new ImportRow(line, fields, null);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,41 @@
+package com.autoflex.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Uma exceção convertida em resposta HTTP pelo GlobalExceptionHandler; a pilha aponta para o mapeamento.
+ */
+@Name(ExceptionMappedEvent.NAME)
+@Label("Exception Mapped")
+@Category({ "Autoflex", "HTTP" })
+@Description("Exception translated into an HTTP error response")
+public class ExceptionMappedEvent extends Event {
+
+    public static final String NAME = "com.autoflex.ExceptionMapped";
+
+    @Label("Exception")
+    String exceptionType;
+
+    @Label("Status")
+    int status;
+
+    @Label("Message")
+    String message;
+
+    /**
+     * Emite o evento instantâneo quando a gravação está ativa; sem gravação, o custo é apenas a verificação.
+     */
+    public static void emit(Throwable exception, int status) {
+        ExceptionMappedEvent event = new ExceptionMappedEvent();
+        if (event.shouldCommit()) {
+            event.exceptionType = exception.getClass().getName();
+            event.status = status;
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.autoflex.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uma chamada a um método de repositório, emitida por {@link RepositoryCallInterceptor}.
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({ "Autoflex", "Persistence" })
+@Description("Execution of a Panache repository method, including the SQL it issues")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    public static final String NAME = "com.autoflex.RepositoryCall";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Results")
+    @Description("Size of the returned collection, or -1 when the method does not return one")
+    int resultCount;
+}
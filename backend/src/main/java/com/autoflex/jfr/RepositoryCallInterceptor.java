@@ -0,0 +1,54 @@
+package com.autoflex.jfr;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.util.Collection;
+
+/**
+ * Mede cada chamada de repositório com um evento JFR. Sem gravação ativa, o evento fica desabilitado e a chamada
+ * segue direto, sem medir tempo.
+ */
+@JfrRecorded
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class RepositoryCallInterceptor {
+
+    @AroundInvoke
+    Object record(InvocationContext context) throws Exception {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return context.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = context.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(context);
+                event.method = context.getMethod().getName();
+                event.resultCount = result instanceof Collection<?> collection ? collection.size() : -1;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Classe anotada com @JfrRecorded, e não a subclasse gerada pelo ArC nem a interface do Panache que declara
+     * os métodos herdados.
+     */
+    private static String repositoryName(InvocationContext context) {
+        for (Class<?> type = context.getTarget().getClass(); type != null; type = type.getSuperclass()) {
+            if (type.isAnnotationPresent(JfrRecorded.class)) {
+                return type.getSimpleName();
+            }
+        }
+        return context.getMethod().getDeclaringClass().getSimpleName();
+    }
+}
@@ -0,0 +1,55 @@
+package com.autoflex.jfr;
+
+import com.autoflex.dto.ProductionSuggestionResponseDTO;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.engine.ProductionStrategy;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Um cálculo de sugestão de produção sobre uma fotografia do catálogo, com o tamanho da entrada e do resultado.
+ */
+@Name(SuggestionCalculationEvent.NAME)
+@Label("Production Suggestion Calculation")
+@Category({ "Autoflex", "Production" })
+@Description("Greedy or optimal production planning over a catalog snapshot")
+@StackTrace(false)
+public class SuggestionCalculationEvent extends Event {
+
+    public static final String NAME = "com.autoflex.SuggestionCalculation";
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Products")
+    int productCount;
+
+    @Label("Raw Materials")
+    int materialCount;
+
+    @Label("Composition Lines")
+    int compositionLines;
+
+    @Label("Produced Items")
+    int producedItems;
+
+    /**
+     * Encerra o evento e grava os tamanhos apenas se a gravação estiver ativa e o limite de duração for atingido.
+     */
+    public void finish(ProductionStrategy strategy, ProductionSnapshot snapshot,
+                       ProductionSuggestionResponseDTO suggestion) {
+        end();
+        if (shouldCommit()) {
+            this.strategy = strategy.name();
+            this.productCount = snapshot.productCount();
+            this.materialCount = snapshot.materialCount();
+            this.compositionLines = snapshot.lineCount();
+            this.producedItems = suggestion.items().size();
+            commit();
+        }
+    }
+}
@@ -27,7 +27,8 @@ public final class ProductMapper {
                 entity.getId(),
                 entity.getName(),
                 entity.getValue(),
-                prmResponses
+                prmResponses,
+                entity.getVersion()
         );
     }
 
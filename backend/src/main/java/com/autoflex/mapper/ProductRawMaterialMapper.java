@@ -14,7 +14,8 @@ public final class ProductRawMaterialMapper {
                 entity.getId(),
                 entity.getRawMaterial().getId(),
                 entity.getRawMaterial().getName(),
-                entity.getQuantity()
+                entity.getQuantity(),
+                entity.getVersion()
         );
     }
 }
\ No newline at end of file
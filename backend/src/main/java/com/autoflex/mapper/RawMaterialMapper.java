@@ -16,7 +16,8 @@ public final class RawMaterialMapper {
         return new RawMaterialResponseDTO(
                 entity.getId(),
                 entity.getName(),
-                entity.getStockQuantity()
+                entity.getStockQuantity(),
+                entity.getVersion()
         );
     }
 
@@ -0,0 +1,33 @@
+package com.autoflex.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mede o tempo de execução dos comandos JDBC (consultas, updates e lotes) de cada sessão do Hibernate e o soma ao
+ * uso do banco da thread atual. Registrado para todas as sessões por hibernate.session.events.auto.
+ */
+public class DatabaseTimingListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        DatabaseUsageTracker.databaseTime(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        DatabaseUsageTracker.databaseTime(System.nanoTime() - batchStart);
+    }
+}
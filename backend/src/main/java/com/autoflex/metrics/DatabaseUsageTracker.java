@@ -0,0 +1,50 @@
+package com.autoflex.metrics;
+
+/**
+ * Acumula o uso do banco da thread atual. O Hibernate executa os comandos na thread que atende a requisição, então
+ * a contagem zerada no início da requisição e lida ao final corresponde apenas a ela.
+ */
+public final class DatabaseUsageTracker {
+
+    private static final ThreadLocal<long[]> USAGE = ThreadLocal.withInitial(() -> new long[3]);
+
+    private static final int STATEMENTS = 0;
+    private static final int ROWS = 1;
+    private static final int DATABASE_NANOS = 2;
+
+    private DatabaseUsageTracker() {
+    }
+
+    static void statementPrepared() {
+        USAGE.get()[STATEMENTS]++;
+    }
+
+    static void rowsFetched(int rows) {
+        USAGE.get()[ROWS] += rows;
+    }
+
+    static void databaseTime(long nanos) {
+        USAGE.get()[DATABASE_NANOS] += nanos;
+    }
+
+    /**
+     * Zera o uso acumulado na thread atual.
+     */
+    public static void reset() {
+        long[] usage = USAGE.get();
+        usage[STATEMENTS] = 0;
+        usage[ROWS] = 0;
+        usage[DATABASE_NANOS] = 0;
+    }
+
+    /**
+     * Retorna o uso acumulado na thread atual desde o último reset e zera os contadores.
+     */
+    public static RequestDatabaseUsage drain() {
+        long[] usage = USAGE.get();
+        RequestDatabaseUsage drained = new RequestDatabaseUsage(
+                (int) usage[STATEMENTS], usage[ROWS], usage[DATABASE_NANOS]);
+        reset();
+        return drained;
+    }
+}
@@ -0,0 +1,80 @@
+package com.autoflex.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fecha a contagem de uso do banco de cada requisição: registra os comandos SQL por endpoint
+ * (autoflex.hibernate.statements.per.request), devolve comandos, linhas e tempo de banco no cabeçalho
+ * Server-Timing e registra em log as requisições acima do orçamento configurado. Os filtros rodam na mesma thread
+ * do endpoint, a mesma em que {@link DatabaseUsageTracker} acumula o uso.
+ */
+public class RequestDatabaseFilter {
+
+    private static final Logger LOG = Logger.getLogger(RequestDatabaseFilter.class);
+
+    static final String METRIC = "autoflex.hibernate.statements.per.request";
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final boolean serverTimingEnabled;
+    private final int maxStatements;
+    private final long maxDatabaseNanos;
+
+    public RequestDatabaseFilter(
+            MeterRegistry registry,
+            @ConfigProperty(name = "autoflex.server-timing.enabled", defaultValue = "true") boolean serverTimingEnabled,
+            @ConfigProperty(name = "autoflex.request-budget.max-statements", defaultValue = "20") int maxStatements,
+            @ConfigProperty(name = "autoflex.request-budget.max-db-time", defaultValue = "PT0.5S") Duration maxDbTime) {
+        this.registry = registry;
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.maxStatements = maxStatements;
+        this.maxDatabaseNanos = maxDbTime.toNanos();
+    }
+
+    @ServerRequestFilter
+    public void resetDatabaseUsage() {
+        DatabaseUsageTracker.reset();
+    }
+
+    @ServerResponseFilter
+    public void reportDatabaseUsage(ContainerRequestContext request, ContainerResponseContext response,
+                                    SimpleResourceInfo resourceInfo) {
+        RequestDatabaseUsage usage = DatabaseUsageTracker.drain();
+        if (resourceInfo == null || resourceInfo.getResourceClass() == null) {
+            return;
+        }
+
+        String resource = resourceInfo.getResourceClass().getSimpleName();
+        String method = resourceInfo.getMethodName();
+        summaries.computeIfAbsent(resource + "#" + method,
+                key -> DistributionSummary.builder(METRIC)
+                        .description("Hibernate statements executed per request")
+                        .baseUnit("statements")
+                        .tag("resource", resource)
+                        .tag("method", method)
+                        .register(registry))
+                .record(usage.statements());
+
+        if (serverTimingEnabled) {
+            response.getHeaders().add(SERVER_TIMING, usage.toServerTiming());
+        }
+        if (usage.statements() > maxStatements || usage.databaseNanos() > maxDatabaseNanos) {
+            LOG.warnf("%s %s (%s#%s) exceeded the database budget: %d statements, %d rows, %.1f ms",
+                    request.getMethod(), request.getUriInfo().getRequestUri().getPath(), resource, method,
+                    usage.statements(), usage.rows(), usage.databaseMillis());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.autoflex.metrics;
+
+import java.util.Locale;
+
+/**
+ * Uso do banco por uma requisição: comandos SQL preparados, linhas devolvidas pelas consultas e tempo de execução.
+ */
+public record RequestDatabaseUsage(int statements, long rows, long databaseNanos) {
+
+    public double databaseMillis() {
+        return databaseNanos / 1_000_000.0;
+    }
+
+    /**
+     * Valor do cabeçalho Server-Timing: o tempo de banco em "db" e as contagens na descrição das demais entradas.
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.2f, db-statements;desc=\"%d\", db-rows;desc=\"%d\"",
+                databaseMillis(), statements, rows);
+    }
+}
@@ -0,0 +1,24 @@
+package com.autoflex.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Estatísticas padrão do Hibernate que também somam as linhas devolvidas por cada consulta HQL/SQL ao uso do banco
+ * da thread atual. Registrada por hibernate.stats.factory; depende de quarkus.hibernate-orm.statistics=true.
+ */
+public class RowCountingStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String hql, int rows, long time) {
+                super.queryExecuted(hql, rows, time);
+                DatabaseUsageTracker.rowsFetched(rows);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.autoflex.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual ({@link DatabaseUsageTracker}); o custo por
+ * comando é um incremento em um contador local.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        DatabaseUsageTracker.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,15 @@
+package com.autoflex.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção plana de um vínculo ativo de composição com os dados do produto e o estoque da matéria-prima.
+ */
+public record CompositionLineRow(
+        Long productId,
+        String productName,
+        BigDecimal productValue,
+        Long rawMaterialId,
+        BigDecimal stockQuantity,
+        BigDecimal quantity) {
+}
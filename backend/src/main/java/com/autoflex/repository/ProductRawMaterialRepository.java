@@ -1,17 +1,37 @@
 package com.autoflex.repository;
 
 import com.autoflex.entity.ProductRawMaterial;
+import com.autoflex.jfr.JfrRecorded;
+import com.autoflex.routing.ReadFromPrimary;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@JfrRecorded
 public class ProductRawMaterialRepository implements PanacheRepository<ProductRawMaterial> {
 
+    private static final String ACTIVE_COMPOSITION_LINES = """
+            SELECT new com.autoflex.repository.CompositionLineRow(
+                p.id, p.name, p.value, rm.id, rm.stockQuantity, prm.quantity)
+            FROM ProductRawMaterial prm
+            JOIN prm.product p
+            JOIN prm.rawMaterial rm
+            WHERE prm.active = true AND p.active = true AND rm.active = true
+            """;
+
+    private static final String ORDER_BY_VALUE = "ORDER BY p.value DESC, p.id, prm.id";
+
+    /**
+     * Composição do produto via cache de consultas: os ids do resultado ficam em cache até a próxima escrita em
+     * product_raw_material, e os vínculos são lidos do cache de entidades.
+     */
     public List<ProductRawMaterial> findByProductId(Long productId) {
-        return list("product.id", productId);
+        return find("product.id", productId).withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     public Optional<ProductRawMaterial> findByProductIdAndRawMaterialId(Long productId, Long rawMaterialId) {
@@ -21,4 +41,34 @@ public class ProductRawMaterialRepository implements PanacheRepository<ProductRa
     public void deleteByProductId(Long productId) {
         delete("product.id", productId);
     }
+
+    /**
+     * Carrega em uma única consulta todos os vínculos ativos (produto, insumo e vínculo ativos),
+     * ordenados por valor do produto, já com o estoque de cada matéria-prima.
+     */
+    @ReadFromPrimary
+    public List<CompositionLineRow> findActiveCompositionLines() {
+        return getEntityManager().createQuery(ACTIVE_COMPOSITION_LINES + ORDER_BY_VALUE, CompositionLineRow.class)
+                .getResultList();
+    }
+
+    /**
+     * Vínculos ativos apenas dos produtos informados, na mesma ordem da consulta completa.
+     */
+    @ReadFromPrimary
+    public List<CompositionLineRow> findActiveCompositionLines(Collection<Long> productIds) {
+        return getEntityManager()
+                .createQuery(ACTIVE_COMPOSITION_LINES + "AND p.id IN :productIds " + ORDER_BY_VALUE,
+                        CompositionLineRow.class)
+                .setParameter("productIds", productIds)
+                .getResultList();
+    }
+
+    /**
+     * Vínculos ativos entre os produtos e matérias-primas informados (pode trazer combinações não solicitadas).
+     */
+    public List<ProductRawMaterial> findByProductIdsAndRawMaterialIds(Collection<Long> productIds,
+                                                                      Collection<Long> rawMaterialIds) {
+        return list("product.id IN ?1 AND rawMaterial.id IN ?2", productIds, rawMaterialIds);
+    }
 }
@@ -1,16 +1,40 @@
 package com.autoflex.repository;
 
 import com.autoflex.entity.Product;
+import com.autoflex.jfr.JfrRecorded;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
+@JfrRecorded
 public class ProductRepository implements PanacheRepository<Product> {
 
+    /**
+     * Região do cache de segundo nível da composição do produto (nome da entidade + nome da coleção).
+     */
+    public static final String COMPOSITION_CACHE_REGION = Product.class.getName() + ".rawMaterials";
+
+    /**
+     * Leitura por id pode vir do cache de segundo nível, que ignora o @SQLRestriction; produtos inativos são
+     * descartados aqui.
+     */
+    @Override
+    public Optional<Product> findByIdOptional(Long id) {
+        return Optional.ofNullable(getEntityManager().find(Product.class, id)).filter(Product::isActive);
+    }
+
+    @Override
+    public Product findById(Long id) {
+        return findByIdOptional(id).orElse(null);
+    }
 
     public List<Product> findAllOrderByValueDesc(int pageIndex, int pageSize) {
         return findAll(Sort.by("value").descending())
@@ -22,7 +46,80 @@ public class ProductRepository implements PanacheRepository<Product> {
         return findAll(Sort.by("value").descending()).list();
     }
 
+    /**
+     * Carrega produtos com a composição ativa e os nomes das matérias-primas em uma única consulta (fetch join).
+     */
+    private static final String FETCH_WITH_COMPOSITION = """
+            SELECT p FROM Product p
+            LEFT JOIN FETCH p.rawMaterials prm
+            LEFT JOIN FETCH prm.rawMaterial
+            """;
+
+    /**
+     * Primeira fase da listagem: apenas os ids da página, ordenados por nome e id.
+     */
+    public List<Long> findIdPage(int pageIndex, int pageSize) {
+        return getEntityManager()
+                .createQuery("SELECT p.id FROM Product p ORDER BY p.name, p.id", Long.class)
+                .setFirstResult(pageIndex * pageSize)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    /**
+     * Primeira fase da listagem por chave (seek): ids seguintes ao cursor, usando o índice (active, name, id).
+     */
+    public List<Long> findIdPageAfter(KeysetCursor after, int limit) {
+        if (after == null) {
+            return findIdPage(0, limit);
+        }
+        return getEntityManager()
+                .createQuery("""
+                        SELECT p.id FROM Product p
+                        WHERE p.name >= :name AND (p.name > :name OR p.id > :id)
+                        ORDER BY p.name, p.id
+                        """, Long.class)
+                .setParameter("name", after.name())
+                .setParameter("id", after.id())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Segunda fase da listagem: produtos da página com a composição já carregada, na mesma ordem.
+     */
+    public List<Product> findWithComposition(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return getEntityManager()
+                .createQuery(FETCH_WITH_COMPOSITION + "WHERE p.id IN :ids ORDER BY p.name, p.id", Product.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Produto com a composição. Com o produto e a coleção no cache de segundo nível, responde sem consultar o
+     * banco (vínculos e matérias-primas também saem do cache); senão usa a consulta única com fetch join, que
+     * popula o cache para as próximas leituras.
+     */
+    public Optional<Product> findByIdWithComposition(Long id) {
+        Cache cache = getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        if (cache.containsEntity(Product.class, id) && cache.containsCollection(COMPOSITION_CACHE_REGION, id)) {
+            return findByIdOptional(id);
+        }
+        return getEntityManager()
+                .createQuery(FETCH_WITH_COMPOSITION + "WHERE p.id = :id", Product.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
     public void softDelete(Long id) {
-        update("active = false WHERE id = ?1", id);
+        update("active = false, version = version + 1 WHERE id = ?1", id);
+    }
+
+    public List<Product> findByNames(Collection<String> names) {
+        return list("name IN ?1", names);
     }
 }
@@ -1,9 +1,134 @@
 package com.autoflex.repository;
 
 import com.autoflex.entity.RawMaterial;
+import com.autoflex.jfr.JfrRecorded;
+import com.autoflex.routing.ReadFromPrimary;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.StringJoiner;
 
 @ApplicationScoped
+@JfrRecorded
 public class RawMaterialRepository implements PanacheRepository<RawMaterial> {
+
+    /**
+     * Maior quantidade de expressões em uma lista IN aceita pelo Oracle (ORA-01795).
+     */
+    static final int MAX_IN_LIST = 1_000;
+
+    /**
+     * Leitura por id pode vir do cache de segundo nível, que ignora o @SQLRestriction: uma matéria-prima inativada
+     * pela entidade continua no cache com active = false e é descartada aqui.
+     */
+    @Override
+    public Optional<RawMaterial> findByIdOptional(Long id) {
+        return Optional.ofNullable(getEntityManager().find(RawMaterial.class, id)).filter(RawMaterial::isActive);
+    }
+
+    @Override
+    public RawMaterial findById(Long id) {
+        return findByIdOptional(id).orElse(null);
+    }
+
+    /**
+     * Página por chave (seek) ordenada por nome e id; usa o índice (active, name, id) sem OFFSET.
+     */
+    public List<RawMaterial> findPageAfter(KeysetCursor after, int limit) {
+        Sort sort = Sort.by("name").and("id");
+        if (after == null) {
+            return findAll(sort).range(0, limit - 1).list();
+        }
+        return find("name >= ?1 AND (name > ?1 OR id > ?2)", sort, after.name(), after.id())
+                .range(0, limit - 1)
+                .list();
+    }
+
+    public List<RawMaterial> findByNames(Collection<String> names) {
+        return list("name IN ?1", names);
+    }
+
+    /**
+     * Saldo gravado de cada matéria-prima informada, lido direto do banco (inclui baixas feitas por SQL nativo).
+     */
+    @ReadFromPrimary
+    public Map<Long, BigDecimal> findStockQuantities(Collection<Long> ids) {
+        Map<Long, BigDecimal> stock = new HashMap<>();
+        getEntityManager()
+                .createQuery("SELECT rm.id, rm.stockQuantity FROM RawMaterial rm WHERE rm.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> stock.put((Long) row[0], (BigDecimal) row[1]));
+        return stock;
+    }
+
+    /**
+     * Baixa o estoque das matérias-primas com UPDATEs protegidos por stock_quantity >= consumo, em blocos de até
+     * {@link #MAX_IN_LIST} ids (limite do IN no Oracle, que o Hibernate não divide em SQL nativo), na ordem dos ids.
+     * Retorna quantas linhas foram alteradas: se for menor que o número de matérias-primas, faltou estoque em
+     * alguma delas e a transação deve ser desfeita. Cada linha fica bloqueada apenas até o fim da transação.
+     */
+    public int consumeStock(SortedMap<Long, BigDecimal> consumption, Instant now) {
+        int updated = 0;
+        SortedMap<Long, BigDecimal> remaining = consumption;
+        while (!remaining.isEmpty()) {
+            SortedMap<Long, BigDecimal> chunk = remaining;
+            if (remaining.size() > MAX_IN_LIST) {
+                Long next = remaining.keySet().stream().skip(MAX_IN_LIST).findFirst().orElseThrow();
+                chunk = remaining.headMap(next);
+                remaining = remaining.tailMap(next);
+            } else {
+                remaining = Collections.emptySortedMap();
+            }
+
+            int chunkUpdated = consumeChunk(chunk, now);
+            updated += chunkUpdated;
+            if (chunkUpdated < chunk.size()) {
+                // Faltou estoque: o chamador desfaz a transação, os blocos seguintes não precisam rodar
+                break;
+            }
+        }
+        return updated;
+    }
+
+    private int consumeChunk(SortedMap<Long, BigDecimal> consumption, Instant now) {
+        StringBuilder amount = new StringBuilder("CASE id");
+        StringJoiner ids = new StringJoiner(", ", "(", ")");
+        int position = 1;
+        for (int i = 0; i < consumption.size(); i++) {
+            amount.append(" WHEN ?").append(position).append(" THEN CAST(?").append(position + 1)
+                    .append(" AS NUMBER(19,4))");
+            ids.add("?" + position);
+            position += 2;
+        }
+        amount.append(" END");
+
+        Query update = getEntityManager().createNativeQuery(
+                "UPDATE raw_material SET stock_quantity = stock_quantity - " + amount
+                        + ", version = version + 1, updated_at = ?" + position
+                        + " WHERE active = 1 AND id IN " + ids
+                        + " AND stock_quantity >= " + amount);
+        update.unwrap(NativeQuery.class).addSynchronizedEntityClass(RawMaterial.class);
+
+        position = 1;
+        for (Map.Entry<Long, BigDecimal> entry : consumption.entrySet()) {
+            update.setParameter(position, entry.getKey());
+            update.setParameter(position + 1, entry.getValue());
+            position += 2;
+        }
+        update.setParameter(position, now);
+        return update.executeUpdate();
+    }
 }
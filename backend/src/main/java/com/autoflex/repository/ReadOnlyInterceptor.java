@@ -0,0 +1,60 @@
+package com.autoflex.repository;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+/**
+ * Coloca a sessão da requisição em modo somente leitura durante as leituras anotadas com {@link ReadOnly}: as
+ * entidades carregadas não guardam a cópia usada pelo dirty checking e o flush fica manual, então nada é
+ * comparado nem gravado ao fim da requisição. Dentro de uma transação a chamada segue sem alteração, para não
+ * tornar somente leitura as entidades que a transação ainda vai alterar.
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReadOnlyInterceptor {
+
+    private final Session session;
+    private final TransactionManager transactionManager;
+    private final boolean enabled;
+
+    public ReadOnlyInterceptor(
+            Session session,
+            TransactionManager transactionManager,
+            @ConfigProperty(name = "autoflex.persistence.read-only-reads", defaultValue = "true") boolean enabled) {
+        this.session = session;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+    }
+
+    @AroundInvoke
+    Object readOnly(InvocationContext context) throws Exception {
+        if (!enabled || inTransaction()) {
+            return context.proceed();
+        }
+
+        // Restaura o estado anterior: leituras aninhadas não desfazem o modo da chamada externa
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        FlushMode flushMode = session.getHibernateFlushMode();
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        try {
+            return context.proceed();
+        } finally {
+            session.setHibernateFlushMode(flushMode);
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
+    }
+
+    private boolean inTransaction() throws SystemException {
+        return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+    }
+}
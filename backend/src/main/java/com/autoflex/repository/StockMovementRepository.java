@@ -0,0 +1,30 @@
+package com.autoflex.repository;
+
+import com.autoflex.entity.StockMovement;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+
+import java.time.Instant;
+
+@ApplicationScoped
+public class StockMovementRepository implements PanacheRepository<StockMovement> {
+
+    /**
+     * Soma os lançamentos da matéria-prima no intervalo (after, until]; sem after, desde o primeiro lançamento.
+     * Percorre apenas o índice (raw_material_id, occurred_at).
+     */
+    public StockTailRow sumBetween(Long rawMaterialId, Instant after, Instant until) {
+        TypedQuery<StockTailRow> query = getEntityManager().createQuery("""
+                        SELECT new com.autoflex.repository.StockTailRow(SUM(m.quantity), COUNT(m))
+                        FROM StockMovement m
+                        WHERE m.rawMaterialId = :rawMaterialId AND m.occurredAt <= :until
+                        """ + (after != null ? "AND m.occurredAt > :after" : ""), StockTailRow.class)
+                .setParameter("rawMaterialId", rawMaterialId)
+                .setParameter("until", until);
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        return query.getSingleResult();
+    }
+}
@@ -0,0 +1,21 @@
+package com.autoflex.repository;
+
+import com.autoflex.entity.StockSnapshot;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@ApplicationScoped
+public class StockSnapshotRepository implements PanacheRepository<StockSnapshot> {
+
+    /**
+     * Fotografia mais recente da matéria-prima tirada até o instante informado.
+     */
+    public Optional<StockSnapshot> findLatest(Long rawMaterialId, Instant at) {
+        return find("rawMaterialId = ?1 AND takenAt <= ?2", Sort.descending("takenAt"), rawMaterialId, at)
+                .firstResultOptional();
+    }
+}
@@ -0,0 +1,13 @@
+package com.autoflex.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma e quantidade dos lançamentos de estoque posteriores a uma fotografia de saldo.
+ */
+public record StockTailRow(BigDecimal quantity, long movements) {
+
+    public StockTailRow {
+        quantity = quantity == null ? BigDecimal.ZERO : quantity;
+    }
+}
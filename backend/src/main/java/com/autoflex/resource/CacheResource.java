@@ -0,0 +1,32 @@
+package com.autoflex.resource;
+
+import com.autoflex.dto.CacheStatsDTO;
+import com.autoflex.service.CacheStatisticsService;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+@Path("/api/cache")
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheResource {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheResource(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    /**
+     * Acertos, faltas e gravações do cache de segundo nível por região e do cache de consultas.
+     */
+    @GET
+    @Path("/stats")
+    @Operation(summary = "Métricas do cache", description = "Contadores do cache de segundo nível por região")
+    @APIResponse(responseCode = "200", description = "Contadores desde a inicialização")
+    public CacheStatsDTO getStats() {
+        return cacheStatisticsService.stats();
+    }
+}
@@ -0,0 +1,78 @@
+package com.autoflex.resource;
+
+import com.autoflex.dto.ProductRawMaterialResponseDTO;
+import com.autoflex.dto.ProductResponseDTO;
+import com.autoflex.exception.PreconditionFailedException;
+import jakarta.ws.rs.core.EntityTag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Conversão entre a versão (@Version) das entidades e os cabeçalhos ETag / If-Match.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static EntityTag of(Long version) {
+        return new EntityTag(String.valueOf(version));
+    }
+
+    /**
+     * ETag do produto com a sua composição: "versão.assinatura", onde a assinatura cobre os vínculos ativos
+     * (id, versão, insumo e quantidade), que mudam sem alterar a versão do produto.
+     */
+    static EntityTag of(ProductResponseDTO product) {
+        CRC32 crc = new CRC32();
+        product.rawMaterials().stream()
+                .sorted(Comparator.comparing(ProductRawMaterialResponseDTO::id))
+                .forEach(link -> crc.update((link.id() + ":" + link.version() + ":" + link.rawMaterialId() + ":"
+                        + link.rawMaterialName() + ":" + link.quantity().stripTrailingZeros().toPlainString() + ";")
+                        .getBytes(StandardCharsets.UTF_8)));
+        return new EntityTag(product.version() + "." + Long.toHexString(crc.getValue()));
+    }
+
+    /**
+     * Versões aceitas pelo If-Match, ou null quando ausente ou "*". A comparação é forte (RFC 9110): ETags fracas
+     * (W/) nunca casam, e em uma lista basta que uma das entradas case. Sem nenhuma entrada válida (ex: só ETags
+     * fracas ou de outro recurso) a escrita resulta em 412. Na ETag de produto só a versão é comparada: a escrita
+     * condicional protege os campos do próprio produto, não a composição.
+     */
+    static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String entry : ifMatch.split(",")) {
+            Long version = strongVersion(entry.strip());
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        return versions;
+    }
+
+    private static Long strongVersion(String entityTag) {
+        if (entityTag.length() < 2 || !entityTag.startsWith("\"") || !entityTag.endsWith("\"")) {
+            return null;
+        }
+        String value = entityTag.substring(1, entityTag.length() - 1);
+        int signature = value.indexOf('.');
+        if (signature > 0) {
+            value = value.substring(0, signature);
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
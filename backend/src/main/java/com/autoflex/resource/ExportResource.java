@@ -0,0 +1,59 @@
+package com.autoflex.resource;
+
+import com.autoflex.exporting.ExportFormat;
+import com.autoflex.service.ExportService;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+@Path("/api/export")
+@Produces({ "application/x-ndjson", "text/csv" })
+public class ExportResource {
+
+    private final ExportService exportService;
+
+    public ExportResource(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exporta todos os produtos com a composição (uma linha por vínculo) em NDJSON ou CSV, em streaming.
+     */
+    @GET
+    @Path("/products")
+    @Operation(summary = "Exportar produtos",
+            description = "Produtos e composições lidos por cursor e gravados na resposta linha a linha")
+    @APIResponse(responseCode = "200", description = "Arquivo NDJSON ou CSV")
+    @APIResponse(responseCode = "400", description = "Formato não suportado")
+    public Response exportProducts(@QueryParam("format") String format) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return stream("products", exportFormat, out -> exportService.exportProducts(exportFormat, out));
+    }
+
+    /**
+     * Exporta todas as matérias-primas com o estoque atual em NDJSON ou CSV, em streaming.
+     */
+    @GET
+    @Path("/raw-materials")
+    @Operation(summary = "Exportar matérias-primas",
+            description = "Insumos e estoque lidos por cursor e gravados na resposta linha a linha")
+    @APIResponse(responseCode = "200", description = "Arquivo NDJSON ou CSV")
+    @APIResponse(responseCode = "400", description = "Formato não suportado")
+    public Response exportRawMaterials(@QueryParam("format") String format) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return stream("raw-materials", exportFormat, out -> exportService.exportRawMaterials(exportFormat, out));
+    }
+
+    private static Response stream(String name, ExportFormat format, StreamingOutput body) {
+        return Response.ok(body, format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.extension() + "\"")
+                .build();
+    }
+}
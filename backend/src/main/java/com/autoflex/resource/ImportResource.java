@@ -0,0 +1,51 @@
+package com.autoflex.resource;
+
+import com.autoflex.dto.ImportReportDTO;
+import com.autoflex.importing.ImportFormat;
+import com.autoflex.service.ImportService;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+import java.io.InputStream;
+
+@Path("/api/import")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes({ ImportFormat.CSV_MEDIA_TYPE, ImportFormat.NDJSON_MEDIA_TYPE })
+public class ImportResource {
+
+    private final ImportService importService;
+
+    public ImportResource(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Importa matérias-primas em lote (CSV ou NDJSON com name e stockQuantity), criando ou atualizando pelo nome.
+     */
+    @POST
+    @Path("/raw-materials")
+    @Operation(summary = "Importar matérias-primas",
+            description = "Lê o arquivo em streaming, grava em blocos e retorna o relatório de erros por linha")
+    @APIResponse(responseCode = "200", description = "Importação processada (ver relatório de erros)")
+    @APIResponse(responseCode = "400", description = "Arquivo sem as colunas obrigatórias ou ilegível")
+    public ImportReportDTO importRawMaterials(@Context HttpHeaders headers, InputStream body) {
+        return importService.importRawMaterials(body, ImportFormat.from(headers.getMediaType()));
+    }
+
+    /**
+     * Importa vínculos de composição em lote (productName, rawMaterialName e quantity).
+     */
+    @POST
+    @Path("/compositions")
+    @Operation(summary = "Importar composições",
+            description = "Cria ou atualiza vínculos produto/matéria-prima referenciados pelo nome")
+    @APIResponse(responseCode = "200", description = "Importação processada (ver relatório de erros)")
+    @APIResponse(responseCode = "400", description = "Arquivo sem as colunas obrigatórias ou ilegível")
+    public ImportReportDTO importCompositions(@Context HttpHeaders headers, InputStream body) {
+        return importService.importCompositions(body, ImportFormat.from(headers.getMediaType()));
+    }
+}
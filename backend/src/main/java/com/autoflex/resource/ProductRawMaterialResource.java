@@ -3,14 +3,18 @@ package com.autoflex.resource;
 import com.autoflex.dto.ProductRawMaterialCreateDTO;
 import com.autoflex.dto.ProductRawMaterialResponseDTO;
 import com.autoflex.service.ProductRawMaterialService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
 import java.util.List;
 
+@RunOnVirtualThread
 @Path("/api/products/{productId}/raw-materials")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -59,17 +63,22 @@ public class ProductRawMaterialResource {
     }
 
     /**
-     * Altera a quantidade necessária de um insumo no produto.
+     * Altera a quantidade necessária de um insumo no produto; com If-Match, apenas se o vínculo não mudou.
      */
     @PUT
     @Path("/{rawMaterialId}")
     @Operation(summary = "Atualizar quantidade", description = "Modifica a quantidade de um insumo na composição")
-    public ProductRawMaterialResponseDTO updateQuantity(
+    @APIResponse(responseCode = "409", description = "Alteração concorrente durante a gravação")
+    @APIResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do vínculo")
+    public Response updateQuantity(
             @PathParam("productId") Long productId,
             @PathParam("rawMaterialId") Long rawMaterialId,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
             @Valid ProductRawMaterialCreateDTO dto) {
 
-        return productRawMaterialService.updateQuantity(productId, rawMaterialId, dto);
+        ProductRawMaterialResponseDTO updated = productRawMaterialService.updateQuantity(productId, rawMaterialId,
+                dto, EntityTags.expectedVersions(ifMatch));
+        return Response.ok(updated).tag(EntityTags.of(updated.version())).build();
     }
 
     /**
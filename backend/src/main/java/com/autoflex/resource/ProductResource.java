@@ -4,8 +4,10 @@ import com.autoflex.dto.PageResponseDTO;
 import com.autoflex.dto.ProductCreateDTO;
 import com.autoflex.dto.ProductResponseDTO;
 import com.autoflex.service.ProductService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -13,6 +15,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
 import java.net.URI;
 
+@RunOnVirtualThread
 @Path("/api/products")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -26,13 +29,19 @@ public class ProductResource {
 
     /**
      * Lista todos os produtos cadastrados com paginação.
+     * Com o parâmetro after (vazio na primeira página) usa paginação por cursor, sem contagem total por padrão.
      */
     @GET
     @Operation(summary = "Listar produtos", description = "Retorna uma lista paginada de produtos")
     public PageResponseDTO<ProductResponseDTO> findAll(
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("10") int size) {
-        return productService.findAll(page, size);
+            @QueryParam("size") @DefaultValue("10") int size,
+            @QueryParam("after") String after,
+            @QueryParam("includeTotal") Boolean includeTotal) {
+        if (after != null) {
+            return productService.findAfter(after, size, Boolean.TRUE.equals(includeTotal));
+        }
+        return productService.findAll(page, size, includeTotal == null || includeTotal);
     }
 
     /**
@@ -41,8 +50,9 @@ public class ProductResource {
     @GET
     @Path("/{id}")
     @Operation(summary = "Obter produto", description = "Retorna os detalhes de um produto")
-    public ProductResponseDTO findById(@PathParam("id") Long id) {
-        return productService.findById(id);
+    public Response findById(@PathParam("id") Long id) {
+        ProductResponseDTO product = productService.findById(id);
+        return Response.ok(product).tag(EntityTags.of(product)).build();
     }
 
     /**
@@ -53,17 +63,25 @@ public class ProductResource {
     @APIResponse(responseCode = "201", description = "Produto criado")
     public Response create(@Valid ProductCreateDTO dto) {
         ProductResponseDTO created = productService.create(dto);
-        return Response.created(URI.create("/api/products/" + created.id())).entity(created).build();
+        return Response.created(URI.create("/api/products/" + created.id()))
+                .entity(created)
+                .tag(EntityTags.of(created))
+                .build();
     }
 
     /**
-     * Atualiza os dados de um produto existente.
+     * Atualiza os dados de um produto existente; com If-Match, apenas se a versão ainda for a informada.
      */
     @PUT
     @Path("/{id}")
     @Operation(summary = "Atualizar produto", description = "Atualiza informações do produto")
-    public ProductResponseDTO update(@PathParam("id") Long id, @Valid ProductCreateDTO dto) {
-        return productService.update(id, dto);
+    @APIResponse(responseCode = "409", description = "Alteração concorrente durante a gravação")
+    @APIResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
+    public Response update(@PathParam("id") Long id,
+                           @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+                           @Valid ProductCreateDTO dto) {
+        ProductResponseDTO updated = productService.update(id, dto, EntityTags.expectedVersions(ifMatch));
+        return Response.ok(updated).tag(EntityTags.of(updated)).build();
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.autoflex.resource;
+
+import com.autoflex.dto.ProductionExecutionDTO;
+import com.autoflex.dto.ProductionExecutionResponseDTO;
+import com.autoflex.service.ProductionExecutionService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+@Path("/api/production/executions")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ProductionExecutionResource {
+
+    private final ProductionExecutionService productionExecutionService;
+
+    public ProductionExecutionResource(ProductionExecutionService productionExecutionService) {
+        this.productionExecutionService = productionExecutionService;
+    }
+
+    /**
+     * Executa um plano de produção, baixando de uma só vez o estoque de todas as matérias-primas consumidas.
+     */
+    @POST
+    @Operation(summary = "Executar produção",
+            description = "Baixa o estoque consumido pelo plano (itens ou versão da sugestão) em uma única transação")
+    @APIResponse(responseCode = "200", description = "Plano executado e estoque baixado")
+    @APIResponse(responseCode = "400", description = "Plano inválido (produto inexistente ou sem composição)")
+    @APIResponse(responseCode = "409", description = "Estoque insuficiente ou versão da sugestão desatualizada")
+    public ProductionExecutionResponseDTO execute(
+            @Valid @NotNull(message = "Execution plan is required") ProductionExecutionDTO dto) {
+        return productionExecutionService.execute(dto);
+    }
+}
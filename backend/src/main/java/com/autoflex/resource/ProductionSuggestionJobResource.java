@@ -0,0 +1,68 @@
+package com.autoflex.resource;
+
+import com.autoflex.dto.SuggestionJobDTO;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.service.SuggestionJobService;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+import java.net.URI;
+
+@Path("/api/production/suggestion/jobs")
+@Produces(MediaType.APPLICATION_JSON)
+public class ProductionSuggestionJobResource {
+
+    private final SuggestionJobService suggestionJobService;
+
+    public ProductionSuggestionJobResource(SuggestionJobService suggestionJobService) {
+        this.suggestionJobService = suggestionJobService;
+    }
+
+    /**
+     * Agenda o cálculo da sugestão em segundo plano e responde imediatamente com o id do job.
+     */
+    @POST
+    @Operation(summary = "Agendar sugestão",
+            description = "Calcula a sugestão em segundo plano; acompanhe o resultado pelo Location retornado")
+    @APIResponse(responseCode = "202", description = "Job aceito e enfileirado")
+    @APIResponse(responseCode = "503", description = "Fila de jobs cheia")
+    public Response submit(@QueryParam("strategy") String strategy) {
+        SuggestionJobDTO job = suggestionJobService.submit(ProductionStrategy.fromString(strategy));
+        return Response.accepted(job)
+                .location(URI.create("/api/production/suggestion/jobs/" + job.jobId()))
+                .build();
+    }
+
+    /**
+     * Estado, progresso e, quando concluído, o resultado do job.
+     */
+    @GET
+    @Path("/{jobId}")
+    @Operation(summary = "Consultar job de sugestão", description = "Retorna estado, progresso e resultado do job")
+    @APIResponse(responseCode = "200", description = "Job encontrado")
+    @APIResponse(responseCode = "404", description = "Job inexistente ou já expirado")
+    public SuggestionJobDTO find(@PathParam("jobId") String jobId) {
+        return suggestionJobService.find(jobId);
+    }
+
+    /**
+     * Cancela o job se ele ainda não terminou; jobs concluídos são devolvidos sem alteração.
+     */
+    @DELETE
+    @Path("/{jobId}")
+    @Operation(summary = "Cancelar job de sugestão", description = "Interrompe um job na fila ou em execução")
+    @APIResponse(responseCode = "200", description = "Estado do job após o cancelamento")
+    @APIResponse(responseCode = "404", description = "Job inexistente ou já expirado")
+    public SuggestionJobDTO cancel(@PathParam("jobId") String jobId) {
+        return suggestionJobService.cancel(jobId);
+    }
+}
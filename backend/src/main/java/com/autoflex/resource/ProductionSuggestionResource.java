@@ -1,30 +1,137 @@
 package com.autoflex.resource;
 
+import com.autoflex.dto.CoalescingStatsDTO;
+import com.autoflex.dto.PageResponseDTO;
+import com.autoflex.dto.ProductCapacityDTO;
+import com.autoflex.dto.ProductionScenarioDTO;
 import com.autoflex.dto.ProductionSuggestionResponseDTO;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.service.CapacitySort;
+import com.autoflex.service.ProductionCapacityIndex;
 import com.autoflex.service.ProductionSuggestionService;
+import com.autoflex.service.ProductionSuggestionService.VersionedSuggestion;
+import com.autoflex.service.SingleFlight;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
+import java.util.List;
+
+@RunOnVirtualThread
 @Path("/api/production")
 @Produces(MediaType.APPLICATION_JSON)
 public class ProductionSuggestionResource {
 
+    private static final int MAX_SCENARIOS = 1000;
+
+    private static final CacheControl REVALIDATE = revalidate();
+
     private final ProductionSuggestionService productionSuggestionService;
+    private final ProductionCapacityIndex productionCapacityIndex;
 
-    public ProductionSuggestionResource(ProductionSuggestionService productionSuggestionService) {
+    public ProductionSuggestionResource(ProductionSuggestionService productionSuggestionService,
+                                        ProductionCapacityIndex productionCapacityIndex) {
         this.productionSuggestionService = productionSuggestionService;
+        this.productionCapacityIndex = productionCapacityIndex;
     }
 
     /**
      * Calcula e sugere a produção ideal com base no estoque disponível.
+     * Aceita strategy=greedy (padrão) ou strategy=optimal para o planejador exato com gap de otimalidade.
+     * A resposta traz um ETag da versão do catálogo; If-None-Match com a versão atual devolve 304 sem corpo.
      */
     @GET
     @Path("/suggestion")
     @Operation(summary = "Sugerir produção", description = "Calcula o que pode ser produzido priorizando valor")
-    public ProductionSuggestionResponseDTO getSuggestion() {
-        return productionSuggestionService.calculateSuggestion();
+    @APIResponse(responseCode = "200", description = "Sugestão calculada",
+            content = @Content(schema = @Schema(implementation = ProductionSuggestionResponseDTO.class)))
+    @APIResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag informado")
+    public Response getSuggestion(@QueryParam("strategy") String strategy, @Context Request request) {
+        VersionedSuggestion current = productionSuggestionService
+                .currentSuggestion(ProductionStrategy.fromString(strategy));
+        EntityTag etag = new EntityTag(current.version(), true);
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(REVALIDATE).build();
+        }
+        return Response.ok(current.suggestion()).tag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Métricas do agrupamento de requisições simultâneas de sugestão (cálculos executados e chamadas agrupadas).
+     */
+    @GET
+    @Path("/suggestion/stats")
+    @Operation(summary = "Métricas da sugestão",
+            description = "Quantos cálculos foram executados e quantas requisições aguardaram um cálculo em andamento")
+    @APIResponse(responseCode = "200", description = "Contadores desde a inicialização")
+    public CoalescingStatsDTO getSuggestionStats() {
+        SingleFlight.Stats stats = productionSuggestionService.coalescingStats();
+        return new CoalescingStatsDTO(stats.executions(), stats.coalesced(), stats.inFlight());
+    }
+
+    /**
+     * Simula cenários hipotéticos (ajustes de estoque e de valor) sem alterar o banco, um resultado por cenário.
+     */
+    @POST
+    @Path("/suggestion/scenarios")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Simular cenários", description = "Calcula a sugestão para cada cenário de estoque e valor")
+    @APIResponse(responseCode = "503", description = "Pool de cenários ocupado ou prazo total esgotado")
+    public List<ProductionSuggestionResponseDTO> evaluateScenarios(
+            @QueryParam("strategy") String strategy,
+            @NotEmpty(message = "At least one scenario is required")
+            @Size(max = MAX_SCENARIOS, message = "At most " + MAX_SCENARIOS + " scenarios per request")
+            List<@Valid @NotNull ProductionScenarioDTO> scenarios) {
+        return productionSuggestionService.evaluateScenarios(scenarios, ProductionStrategy.fromString(strategy));
+    }
+
+    /**
+     * Capacidade independente de cada produto (se nada mais fosse fabricado) e o insumo que a limita, respondida
+     * da memória. Ordena por capacity (padrão), value ou name, com direction=asc|desc.
+     */
+    @GET
+    @Path("/capacity")
+    @Operation(summary = "Capacidade por produto",
+            description = "Quantas unidades de cada produto o estoque atual permite fabricar isoladamente")
+    @APIResponse(responseCode = "200", description = "Página de capacidades")
+    @APIResponse(responseCode = "400", description = "Ordenação ou paginação inválida")
+    public PageResponseDTO<ProductCapacityDTO> getCapacity(
+            @QueryParam("sort") String sort,
+            @QueryParam("direction") String direction,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size) {
+        CapacitySort capacitySort = CapacitySort.fromString(sort);
+        return productionCapacityIndex.page(capacitySort, capacitySort.descending(direction), page, size);
+    }
+
+    /**
+     * Cache-Control: no-cache — o cliente pode guardar a resposta, mas revalida com If-None-Match antes de usá-la.
+     */
+    private static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
     }
-}
\ No newline at end of file
+}
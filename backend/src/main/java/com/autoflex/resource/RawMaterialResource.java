@@ -3,37 +3,56 @@ package com.autoflex.resource;
 import com.autoflex.dto.PageResponseDTO;
 import com.autoflex.dto.RawMaterialCreateDTO;
 import com.autoflex.dto.RawMaterialResponseDTO;
+import com.autoflex.dto.StockAdjustmentDTO;
+import com.autoflex.dto.StockBalanceDTO;
+import com.autoflex.dto.WhereUsedDTO;
+import com.autoflex.exception.BusinessException;
 import com.autoflex.service.RawMaterialService;
+import com.autoflex.service.RawMaterialUsageIndex;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
 import java.net.URI;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 
+@RunOnVirtualThread
 @Path("/api/raw-materials")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class RawMaterialResource {
 
     private final RawMaterialService rawMaterialService;
+    private final RawMaterialUsageIndex rawMaterialUsageIndex;
 
-    public RawMaterialResource(RawMaterialService rawMaterialService) {
+    public RawMaterialResource(RawMaterialService rawMaterialService, RawMaterialUsageIndex rawMaterialUsageIndex) {
         this.rawMaterialService = rawMaterialService;
+        this.rawMaterialUsageIndex = rawMaterialUsageIndex;
     }
 
     /**
      * Recupera uma lista paginada de todas as matérias-primas.
+     * Com o parâmetro after (vazio na primeira página) usa paginação por cursor, sem contagem total por padrão.
      */
     @GET
     @Operation(summary = "Listar matérias-primas", description = "Retorna uma lista paginada de insumos cadastrados")
     @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso")
     public PageResponseDTO<RawMaterialResponseDTO> findAll(
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("10") int size) {
-        return rawMaterialService.findAll(page, size);
+            @QueryParam("size") @DefaultValue("10") int size,
+            @QueryParam("after") String after,
+            @QueryParam("includeTotal") Boolean includeTotal) {
+        if (after != null) {
+            return rawMaterialService.findAfter(after, size, Boolean.TRUE.equals(includeTotal));
+        }
+        return rawMaterialService.findAll(page, size, includeTotal == null || includeTotal);
     }
 
     /**
@@ -44,8 +63,9 @@ public class RawMaterialResource {
     @Operation(summary = "Obter matéria-prima", description = "Retorna os detalhes de um insumo específico")
     @APIResponse(responseCode = "200", description = "Insumo encontrado")
     @APIResponse(responseCode = "404", description = "Insumo não encontrado")
-    public RawMaterialResponseDTO findById(@PathParam("id") Long id) {
-        return rawMaterialService.findById(id);
+    public Response findById(@PathParam("id") Long id) {
+        RawMaterialResponseDTO rawMaterial = rawMaterialService.findById(id);
+        return Response.ok(rawMaterial).tag(EntityTags.of(rawMaterial.version())).build();
     }
 
     /**
@@ -56,18 +76,70 @@ public class RawMaterialResource {
     @APIResponse(responseCode = "201", description = "Insumo criado com sucesso")
     public Response create(@Valid RawMaterialCreateDTO dto) {
         RawMaterialResponseDTO created = rawMaterialService.create(dto);
-        return Response.created(URI.create("/api/raw-materials/" + created.id())).entity(created).build();
+        return Response.created(URI.create("/api/raw-materials/" + created.id()))
+                .entity(created)
+                .tag(EntityTags.of(created.version()))
+                .build();
     }
 
     /**
      * Atualiza as informações de uma matéria-prima existente.
+     * Com If-Match (ETag do GET), a alteração só é aplicada se ninguém tiver modificado o insumo desde a leitura.
      */
     @PUT
     @Path("/{id}")
     @Operation(summary = "Atualizar matéria-prima", description = "Modifica os dados de um insumo existente")
     @APIResponse(responseCode = "200", description = "Insumo atualizado")
-    public RawMaterialResponseDTO update(@PathParam("id") Long id, @Valid RawMaterialCreateDTO dto) {
-        return rawMaterialService.update(id, dto);
+    @APIResponse(responseCode = "409", description = "Alteração concorrente durante a gravação")
+    @APIResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
+    public Response update(@PathParam("id") Long id,
+                           @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+                           @Valid RawMaterialCreateDTO dto) {
+        RawMaterialResponseDTO updated = rawMaterialService.update(id, dto, EntityTags.expectedVersions(ifMatch));
+        return Response.ok(updated).tag(EntityTags.of(updated.version())).build();
+    }
+
+    /**
+     * Lista os produtos ativos que dependem da matéria-prima, a partir do índice inverso em memória.
+     */
+    @GET
+    @Path("/{id}/used-by")
+    @Operation(summary = "Onde é usada", description = "Retorna os produtos ativos cuja composição inclui o insumo")
+    @APIResponse(responseCode = "200", description = "Produtos que usam o insumo")
+    @APIResponse(responseCode = "404", description = "Insumo não encontrado")
+    public WhereUsedDTO usedBy(@PathParam("id") Long id) {
+        return rawMaterialUsageIndex.usedBy(id);
+    }
+
+    /**
+     * Consulta o saldo atual ou em um instante passado (parâmetro at, ISO-8601), a partir do livro de estoque.
+     */
+    @GET
+    @Path("/{id}/stock")
+    @Operation(summary = "Saldo de estoque",
+            description = "Retorna o saldo no instante informado (ou agora), calculado por fotografia e lançamentos")
+    @APIResponse(responseCode = "200", description = "Saldo calculado")
+    @APIResponse(responseCode = "400", description = "Instante inválido")
+    @APIResponse(responseCode = "404", description = "Insumo não encontrado")
+    public StockBalanceDTO stockAt(@PathParam("id") Long id, @QueryParam("at") String at) {
+        return rawMaterialService.stockAt(id, parseInstant(at));
+    }
+
+    /**
+     * Aplica uma entrada (delta positivo) ou saída (delta negativo) de estoque sem sobrescrever escritas concorrentes.
+     * O tipo (RECEIPT, CONSUMPTION ou ADJUSTMENT), o motivo e a referência são gravados no livro de estoque.
+     */
+    @POST
+    @Path("/{id}/stock-adjustments")
+    @Operation(summary = "Ajustar estoque",
+            description = "Soma o delta ao saldo atual, repetindo automaticamente em caso de conflito de versão")
+    @APIResponse(responseCode = "200", description = "Estoque ajustado")
+    @APIResponse(responseCode = "400", description = "O ajuste deixaria o estoque negativo")
+    @APIResponse(responseCode = "409", description = "Conflitos persistentes após as tentativas")
+    public Response adjustStock(@PathParam("id") Long id,
+                                @Valid @NotNull(message = "Stock adjustment is required") StockAdjustmentDTO dto) {
+        RawMaterialResponseDTO adjusted = rawMaterialService.adjustStock(id, dto);
+        return Response.ok(adjusted).tag(EntityTags.of(adjusted.version())).build();
     }
 
     /**
@@ -82,4 +154,15 @@ public class RawMaterialResource {
         rawMaterialService.delete(id);
         return Response.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.strip());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid instant '" + value + "'; use ISO-8601, e.g. 2026-01-31T12:00:00Z");
+        }
+    }
+}
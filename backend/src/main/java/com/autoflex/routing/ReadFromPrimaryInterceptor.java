@@ -0,0 +1,54 @@
+package com.autoflex.routing;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Leituras anotadas com {@link ReadFromPrimary} rodam em uma transação própria, cuja sessão o
+ * {@link ReadReplicaTenantResolver} abre no primário sem tratá-la como escrita. A sessão da requisição, que pode já
+ * estar aberta na réplica, não é usada. Dentro de uma transação a chamada segue sem alteração: ela já lê do primário
+ * e precisa enxergar o que a própria transação gravou.
+ */
+@ReadFromPrimary
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReadFromPrimaryInterceptor {
+
+    private final ReadRouting readRouting;
+    private final TransactionManager transactionManager;
+    private final boolean enabled;
+
+    public ReadFromPrimaryInterceptor(
+            ReadRouting readRouting,
+            TransactionManager transactionManager,
+            @ConfigProperty(name = "autoflex.read-replica.enabled", defaultValue = "true") boolean enabled) {
+        this.readRouting = readRouting;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+    }
+
+    @AroundInvoke
+    Object readFromPrimary(InvocationContext context) throws Exception {
+        if (!enabled || inTransaction()) {
+            return context.proceed();
+        }
+
+        readRouting.beginPrimaryRead();
+        try {
+            return QuarkusTransaction.requiringNew().call(context::proceed);
+        } finally {
+            readRouting.endPrimaryRead();
+        }
+    }
+
+    private boolean inTransaction() throws SystemException {
+        return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+    }
+}
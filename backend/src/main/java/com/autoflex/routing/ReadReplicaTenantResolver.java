@@ -0,0 +1,69 @@
+package com.autoflex.routing;
+
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Escolhe o datasource de cada sessão do Hibernate (multitenancy DATABASE, um "tenant" por datasource): sessões
+ * abertas dentro de uma transação, isto é, escritas com @Transactional, usam o primário; as demais leem da réplica,
+ * exceto quando o cliente gravou há pouco e a requisição foi fixada no primário por {@link ReadYourWritesFilter}.
+ * As recargas dos índices e da fotografia em memória usam {@link ReadFromPrimary}, pois são servidas a todos os
+ * clientes como a versão atual do catálogo.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadReplicaTenantResolver implements TenantResolver {
+
+    /**
+     * Datasource padrão (quarkus.datasource.*), que recebe as escritas.
+     */
+    public static final String PRIMARY = DataSourceUtil.DEFAULT_DATASOURCE_NAME;
+
+    /**
+     * Datasource nomeado das réplicas de leitura (quarkus.datasource.replica.*).
+     */
+    public static final String REPLICA = "replica";
+
+    private final ReadRouting readRouting;
+    private final TransactionManager transactionManager;
+    private final boolean enabled;
+
+    public ReadReplicaTenantResolver(
+            ReadRouting readRouting,
+            TransactionManager transactionManager,
+            @ConfigProperty(name = "autoflex.read-replica.enabled", defaultValue = "true") boolean enabled) {
+        this.readRouting = readRouting;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getDefaultTenantId() {
+        return PRIMARY;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        if (inTransaction()) {
+            if (!readRouting.isReadingFromPrimary()) {
+                readRouting.markWroteToPrimary();
+            }
+            return PRIMARY;
+        }
+        return enabled && !readRouting.isPinnedToPrimary() ? REPLICA : PRIMARY;
+    }
+
+    private boolean inTransaction() {
+        try {
+            return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+        } catch (SystemException e) {
+            throw new IllegalStateException("Could not read the transaction status", e);
+        }
+    }
+}
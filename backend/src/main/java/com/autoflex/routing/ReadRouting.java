@@ -0,0 +1,52 @@
+package com.autoflex.routing;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Estado de roteamento da requisição atual: se as leituras devem ir ao primário porque o cliente gravou há pouco e
+ * se a própria requisição abriu uma transação de escrita no primário.
+ */
+@RequestScoped
+public class ReadRouting {
+
+    private boolean pinnedToPrimary;
+    private boolean wroteToPrimary;
+    private int primaryReads;
+
+    /**
+     * Envia as leituras desta requisição ao primário (leia o que você gravou).
+     */
+    public void pinToPrimary() {
+        pinnedToPrimary = true;
+    }
+
+    public boolean isPinnedToPrimary() {
+        return pinnedToPrimary;
+    }
+
+    /**
+     * Registra que a requisição gravou no primário; a resposta renova a janela de leitura no primário do cliente.
+     */
+    public void markWroteToPrimary() {
+        wroteToPrimary = true;
+    }
+
+    public boolean hasWrittenToPrimary() {
+        return wroteToPrimary;
+    }
+
+    /**
+     * Abre uma leitura no primário ({@link ReadFromPrimary}): a transação usada por ela não conta como escrita.
+     */
+    public void beginPrimaryRead() {
+        primaryReads++;
+    }
+
+    public void endPrimaryRead() {
+        primaryReads--;
+    }
+
+    public boolean isReadingFromPrimary() {
+        return primaryReads > 0;
+    }
+}
@@ -0,0 +1,133 @@
+package com.autoflex.routing;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Leia o que você gravou: a resposta de uma requisição que gravou no primário leva um cookie com o fim da janela
+ * configurada, e as requisições seguintes do mesmo cliente dentro dessa janela leem do primário, sem esperar a
+ * réplica alcançá-lo. O fim da janela vai no valor do cookie, assinado com HMAC, e é conferido aqui, sem estado no
+ * servidor: valores sem assinatura válida ou além de uma janela a partir de agora não fixam nada.
+ */
+public class ReadYourWritesFilter {
+
+    static final String COOKIE = "autoflex-read-primary";
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final ReadRouting readRouting;
+    private final boolean enabled;
+    private final Duration window;
+    private final SecretKeySpec key;
+
+    public ReadYourWritesFilter(
+            ReadRouting readRouting,
+            @ConfigProperty(name = "autoflex.read-replica.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "autoflex.read-replica.read-your-writes-window", defaultValue = "PT5S")
+            Duration window,
+            @ConfigProperty(name = "autoflex.read-replica.cookie-secret") Optional<String> secret) {
+        this.readRouting = readRouting;
+        this.enabled = enabled;
+        this.window = window;
+        this.key = new SecretKeySpec(secret.map(value -> value.getBytes(StandardCharsets.UTF_8))
+                .orElseGet(ReadYourWritesFilter::randomSecret), HMAC);
+    }
+
+    @ServerRequestFilter
+    public void pinRecentWriters(ContainerRequestContext request) {
+        if (!enabled) {
+            return;
+        }
+        Cookie cookie = request.getCookies().get(COOKIE);
+        if (cookie == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long until = pinnedUntil(cookie.getValue());
+        if (until > now && until <= now + window.toMillis()) {
+            readRouting.pinToPrimary();
+        }
+    }
+
+    @ServerResponseFilter
+    public void markWriters(ContainerResponseContext response) {
+        if (!enabled || !readRouting.hasWrittenToPrimary() || response.getStatus() >= 400) {
+            return;
+        }
+        response.getHeaders().add(HttpHeaders.SET_COOKIE, new NewCookie.Builder(COOKIE)
+                .value(sign(System.currentTimeMillis() + window.toMillis()))
+                .path("/")
+                .maxAge((int) Math.max(1, window.toSeconds()))
+                .httpOnly(true)
+                .sameSite(NewCookie.SameSite.LAX)
+                .build());
+    }
+
+    /**
+     * Valor do cookie: "fim da janela (epoch em milissegundos).assinatura".
+     */
+    String sign(long until) {
+        String value = Long.toString(until);
+        return value + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(value));
+    }
+
+    /**
+     * Instante até o qual o cliente lê do primário; valores inválidos ou com assinatura divergente não fixam nada.
+     */
+    long pinnedUntil(String cookieValue) {
+        int separator = cookieValue.indexOf('.');
+        if (separator <= 0) {
+            return 0;
+        }
+        String value = cookieValue.substring(0, separator);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(cookieValue.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+        if (!MessageDigest.isEqual(mac(value), signature)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private byte[] mac(String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the read-your-writes cookie", e);
+        }
+    }
+
+    /**
+     * Sem segredo configurado cada instância usa uma chave própria: o cookie só vale na instância que o emitiu.
+     */
+    private static byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
@@ -0,0 +1,60 @@
+package com.autoflex.routing;
+
+import com.autoflex.repository.ReadOnly;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+/**
+ * Nas leituras anotadas com {@link ReadOnly} fora de transação, a sessão da requisição abre na réplica e passa a só
+ * consultar o cache de segundo nível (CacheMode.GET). O cache é compartilhado com o primário, e uma linha atrasada
+ * gravada nele seria servida também a quem lê do primário. A sessão só é aberta aqui, por leituras que já iriam
+ * ao banco; clientes fixados no primário e transações continuam preenchendo o cache.
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReplicaCacheModeInterceptor {
+
+    private final Session session;
+    private final ReadRouting readRouting;
+    private final TransactionManager transactionManager;
+    private final boolean enabled;
+
+    public ReplicaCacheModeInterceptor(
+            Session session,
+            ReadRouting readRouting,
+            TransactionManager transactionManager,
+            @ConfigProperty(name = "autoflex.read-replica.enabled", defaultValue = "true") boolean enabled) {
+        this.session = session;
+        this.readRouting = readRouting;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+    }
+
+    @AroundInvoke
+    Object replicaCacheMode(InvocationContext context) throws Exception {
+        if (!enabled || readRouting.isPinnedToPrimary() || inTransaction()) {
+            return context.proceed();
+        }
+
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        try {
+            return context.proceed();
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    private boolean inTransaction() throws SystemException {
+        return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+    }
+}
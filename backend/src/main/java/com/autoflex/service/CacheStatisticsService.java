@@ -0,0 +1,58 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.CacheStatsDTO;
+import com.autoflex.dto.CacheStatsDTO.RegionStats;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Expõe os acertos e faltas do cache de segundo nível (entidades, coleções e consultas) para ajustar o tamanho
+ * e a expiração de cada região.
+ */
+@ApplicationScoped
+public class CacheStatisticsService {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatisticsService(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * Contadores por região, em ordem alfabética, e os totais do cache de consultas.
+     */
+    public CacheStatsDTO stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        // getCacheRegionStatistics atende regiões de entidade, coleção e consulta (default-query-results-region);
+        // getDomainDataRegionStatistics rejeita as de consulta
+        List<RegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toRegionStats(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CacheStatsDTO(statistics.isStatisticsEnabled(), regions,
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount());
+    }
+
+    /**
+     * Null quando a região ainda não tem estatísticas (ex: consultas em cache antes da primeira execução).
+     */
+    private static RegionStats toRegionStats(String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return null;
+        }
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new RegionStats(region, hits, misses, stats.getPutCount(), stats.getElementCountInMemory(), hitRatio);
+    }
+}
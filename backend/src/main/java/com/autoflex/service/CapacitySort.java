@@ -0,0 +1,58 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ProductCapacityDTO;
+import com.autoflex.exception.BusinessException;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Ordenações aceitas em GET /api/production/capacity; o desempate é sempre pelo id do produto.
+ */
+public enum CapacitySort {
+
+    CAPACITY(Comparator.comparingLong(ProductCapacityDTO::capacity), true),
+    VALUE(Comparator.comparing(ProductCapacityDTO::productValue), true),
+    NAME(Comparator.comparing(ProductCapacityDTO::productName), false);
+
+    private final Comparator<ProductCapacityDTO> comparator;
+    private final boolean descendingByDefault;
+
+    CapacitySort(Comparator<ProductCapacityDTO> comparator, boolean descendingByDefault) {
+        this.comparator = comparator;
+        this.descendingByDefault = descendingByDefault;
+    }
+
+    /**
+     * Converte o parâmetro recebido na API (ex: "value"); vazio ordena pela capacidade.
+     */
+    public static CapacitySort fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return CAPACITY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Unknown capacity sort '" + value + "'");
+        }
+    }
+
+    /**
+     * Interpreta a direção ("asc" ou "desc"); vazio usa a direção natural do campo (maiores primeiro, nome A-Z).
+     */
+    public boolean descending(String direction) {
+        if (direction == null || direction.isBlank()) {
+            return descendingByDefault;
+        }
+        return switch (direction.trim().toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new BusinessException("Unknown sort direction '" + direction + "'");
+        };
+    }
+
+    Comparator<ProductCapacityDTO> comparator(boolean descending) {
+        Comparator<ProductCapacityDTO> order = descending ? comparator.reversed() : comparator;
+        return order.thenComparing(ProductCapacityDTO::productId);
+    }
+}
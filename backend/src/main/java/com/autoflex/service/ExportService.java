@@ -0,0 +1,97 @@
+package com.autoflex.service;
+
+import com.autoflex.exporting.ExportFormat;
+import com.autoflex.exporting.ExportRowWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Exportação do catálogo em streaming: as linhas vêm de um cursor forward-only em uma sessão sem estado
+ * (nada fica no contexto de persistência) e são gravadas na resposta uma a uma, com memória constante.
+ */
+@ApplicationScoped
+public class ExportService {
+
+    private static final Logger LOG = Logger.getLogger(ExportService.class);
+
+    /**
+     * Mesmas colunas da importação de composições (productName, rawMaterialName, quantity): o CSV exportado
+     * pode ser reimportado. Produtos sem composição saem em uma linha com as colunas do insumo vazias.
+     */
+    static final List<String> PRODUCT_COLUMNS =
+            List.of("productId", "productName", "productValue", "rawMaterialId", "rawMaterialName", "quantity");
+
+    static final List<String> RAW_MATERIAL_COLUMNS = List.of("id", "name", "stockQuantity");
+
+    private static final String PRODUCTS = """
+            SELECT p.id, p.name, p.value, rm.id, rm.name, prm.quantity
+            FROM Product p
+            LEFT JOIN p.rawMaterials prm ON prm.active = true
+            LEFT JOIN prm.rawMaterial rm
+            ORDER BY p.id, prm.id
+            """;
+
+    private static final String RAW_MATERIALS = """
+            SELECT rm.id, rm.name, rm.stockQuantity
+            FROM RawMaterial rm
+            ORDER BY rm.id
+            """;
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ExportService(SessionFactory sessionFactory,
+                         ObjectMapper objectMapper,
+                         @ConfigProperty(name = "autoflex.export.fetch-size", defaultValue = "500") int fetchSize) {
+        this.sessionFactory = sessionFactory;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Produtos ativos com a composição ativa, uma linha por vínculo, ordenados por produto.
+     */
+    public void exportProducts(ExportFormat format, OutputStream out) throws IOException {
+        export(PRODUCTS, PRODUCT_COLUMNS, format, out);
+    }
+
+    /**
+     * Matérias-primas ativas com o estoque atual, ordenadas por id.
+     */
+    public void exportRawMaterials(ExportFormat format, OutputStream out) throws IOException {
+        export(RAW_MATERIALS, RAW_MATERIAL_COLUMNS, format, out);
+    }
+
+    /**
+     * Uma única consulta, sem COUNT nem OFFSET; o fetch size define quantas linhas o driver traz por ida ao banco
+     * (o padrão do driver Oracle é 10).
+     */
+    private void export(String query, List<String> columns, ExportFormat format, OutputStream out)
+            throws IOException {
+        long rows = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<Object[]> results = session.createSelectionQuery(query, Object[].class)
+                     .setFetchSize(fetchSize)
+                     .scroll(ScrollMode.FORWARD_ONLY);
+             ExportRowWriter writer = ExportRowWriter.open(format, out, objectMapper, columns)) {
+            while (results.next()) {
+                writer.write(results.get());
+                rows++;
+            }
+        } catch (IOException e) {
+            LOG.warnf("Export aborted after %d rows: %s", rows, e.getMessage());
+            throw e;
+        }
+    }
+}
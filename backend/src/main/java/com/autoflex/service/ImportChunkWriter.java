@@ -0,0 +1,168 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ImportReportDTO.RowError;
+import com.autoflex.entity.Product;
+import com.autoflex.entity.ProductRawMaterial;
+import com.autoflex.entity.RawMaterial;
+import com.autoflex.entity.StockMovementType;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.ProductRepository;
+import com.autoflex.repository.RawMaterialRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.transaction.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grava um bloco da importação em uma transação própria: o contexto de persistência é descartado ao final de cada
+ * bloco, mantendo a memória constante, e os inserts/updates são enviados em lotes JDBC no commit.
+ */
+@ApplicationScoped
+public class ImportChunkWriter {
+
+    private final RawMaterialRepository rawMaterialRepository;
+    private final ProductRepository productRepository;
+    private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final StockLedger stockLedger;
+    private final Event<CatalogChangedEvent> catalogChanged;
+
+    public ImportChunkWriter(RawMaterialRepository rawMaterialRepository,
+                             ProductRepository productRepository,
+                             ProductRawMaterialRepository productRawMaterialRepository,
+                             StockLedger stockLedger,
+                             Event<CatalogChangedEvent> catalogChanged) {
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.productRepository = productRepository;
+        this.productRawMaterialRepository = productRawMaterialRepository;
+        this.stockLedger = stockLedger;
+        this.catalogChanged = catalogChanged;
+    }
+
+    /**
+     * Cria ou atualiza (pelo nome) as matérias-primas do bloco com uma única consulta de existentes.
+     * Saldos novos entram no livro como recebimento e alterações de saldo como ajuste.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public ChunkResult writeRawMaterials(List<RawMaterialLine> lines) {
+        Set<String> names = lines.stream().map(RawMaterialLine::name).collect(Collectors.toSet());
+        Map<String, RawMaterial> byName = rawMaterialRepository.findByNames(names).stream()
+                .collect(Collectors.toMap(RawMaterial::getName, Function.identity()));
+
+        Map<Long, BigDecimal> receipts = new HashMap<>();
+        Map<Long, BigDecimal> adjustments = new HashMap<>();
+        int created = 0;
+        int updated = 0;
+        for (RawMaterialLine line : lines) {
+            RawMaterial rawMaterial = byName.get(line.name());
+            if (rawMaterial == null) {
+                rawMaterial = new RawMaterial(null, line.name(), line.stockQuantity());
+                rawMaterialRepository.persist(rawMaterial);
+                byName.put(line.name(), rawMaterial);
+                receipts.put(rawMaterial.getId(), line.stockQuantity());
+                created++;
+            } else {
+                // Nome repetido no bloco: um recebimento ainda não gravado é apenas corrigido.
+                if (receipts.containsKey(rawMaterial.getId())) {
+                    receipts.put(rawMaterial.getId(), line.stockQuantity());
+                } else {
+                    adjustments.merge(rawMaterial.getId(),
+                            line.stockQuantity().subtract(rawMaterial.getStockQuantity()), BigDecimal::add);
+                }
+                rawMaterial.setStockQuantity(line.stockQuantity());
+                updated++;
+            }
+        }
+
+        // Flush explícito: falhas de banco surgem aqui como PersistenceException, e não no commit.
+        rawMaterialRepository.flush();
+        // Os lançamentos dependem das matérias-primas já inseridas, por isso vão em um segundo lote.
+        stockLedger.record(StockMovementType.RECEIPT, receipts, "Bulk import", null);
+        stockLedger.record(StockMovementType.ADJUSTMENT, adjustments, "Bulk import", null);
+        rawMaterialRepository.flush();
+        catalogChanged.fire(CatalogChangedEvent.rawMaterial(null));
+        return new ChunkResult(created, updated, List.of());
+    }
+
+    /**
+     * Cria ou atualiza vínculos de composição referenciando produto e matéria-prima pelo nome.
+     * Linhas com produto ou matéria-prima inexistente são rejeitadas individualmente.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public ChunkResult writeCompositions(List<CompositionLine> lines) {
+        Map<String, Product> products = productRepository.findByNames(
+                        lines.stream().map(CompositionLine::productName).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Product::getName, Function.identity()));
+        Map<String, RawMaterial> rawMaterials = rawMaterialRepository.findByNames(
+                        lines.stream().map(CompositionLine::rawMaterialName).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(RawMaterial::getName, Function.identity()));
+
+        Map<String, ProductRawMaterial> links = new HashMap<>();
+        if (!products.isEmpty() && !rawMaterials.isEmpty()) {
+            List<Long> productIds = products.values().stream().map(Product::getId).toList();
+            List<Long> rawMaterialIds = rawMaterials.values().stream().map(RawMaterial::getId).toList();
+            for (ProductRawMaterial link : productRawMaterialRepository
+                    .findByProductIdsAndRawMaterialIds(productIds, rawMaterialIds)) {
+                links.put(linkKey(link.getProduct().getId(), link.getRawMaterial().getId()), link);
+            }
+        }
+
+        List<RowError> errors = new ArrayList<>();
+        int created = 0;
+        int updated = 0;
+        for (CompositionLine line : lines) {
+            Product product = products.get(line.productName());
+            RawMaterial rawMaterial = rawMaterials.get(line.rawMaterialName());
+            if (product == null) {
+                errors.add(new RowError(line.line(), "Product '" + line.productName() + "' not found"));
+                continue;
+            }
+            if (rawMaterial == null) {
+                errors.add(new RowError(line.line(), "Raw material '" + line.rawMaterialName() + "' not found"));
+                continue;
+            }
+
+            String key = linkKey(product.getId(), rawMaterial.getId());
+            ProductRawMaterial link = links.get(key);
+            if (link == null) {
+                link = new ProductRawMaterial(null, product, rawMaterial, line.quantity());
+                productRawMaterialRepository.persist(link);
+                links.put(key, link);
+                created++;
+            } else {
+                link.setQuantity(line.quantity());
+                updated++;
+            }
+        }
+
+        productRawMaterialRepository.flush();
+        if (created + updated > 0) {
+            catalogChanged.fire(CatalogChangedEvent.composition(null));
+        }
+        return new ChunkResult(created, updated, errors);
+    }
+
+    private static String linkKey(Long productId, Long rawMaterialId) {
+        return productId + ":" + rawMaterialId;
+    }
+
+    public record RawMaterialLine(long line, String name, BigDecimal stockQuantity) {
+    }
+
+    public record CompositionLine(long line, String productName, String rawMaterialName, BigDecimal quantity) {
+    }
+
+    /**
+     * Totais do bloco gravado e as linhas rejeitadas durante a resolução de referências.
+     */
+    public record ChunkResult(int created, int updated, List<RowError> errors) {
+    }
+}
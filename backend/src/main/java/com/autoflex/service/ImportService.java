@@ -0,0 +1,228 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ImportReportDTO;
+import com.autoflex.dto.ImportReportDTO.RowError;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.importing.ImportFormat;
+import com.autoflex.importing.ImportRow;
+import com.autoflex.importing.ImportRowReader;
+import com.autoflex.service.ImportChunkWriter.ChunkResult;
+import com.autoflex.service.ImportChunkWriter.CompositionLine;
+import com.autoflex.service.ImportChunkWriter.RawMaterialLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.PersistenceException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Importação em lote de matérias-primas e composições a partir de CSV ou NDJSON.
+ * O corpo é lido em streaming e gravado em blocos de tamanho fixo, cada um em sua própria transação:
+ * blocos já gravados permanecem mesmo que um bloco posterior falhe.
+ */
+@ApplicationScoped
+public class ImportService {
+
+    /**
+     * Limite das consultas IN por nome (o Oracle aceita no máximo 1000 itens por lista).
+     */
+    static final int MAX_CHUNK_SIZE = 1000;
+
+    private static final Logger LOG = Logger.getLogger(ImportService.class);
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int QUANTITY_SCALE = 4;
+    private static final int QUANTITY_INTEGER_DIGITS = 15;
+
+    private static final List<String> RAW_MATERIAL_COLUMNS = List.of("name", "stockQuantity");
+    private static final List<String> COMPOSITION_COLUMNS = List.of("productName", "rawMaterialName", "quantity");
+
+    private final ImportChunkWriter chunkWriter;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ImportService(ImportChunkWriter chunkWriter,
+                         ObjectMapper objectMapper,
+                         @ConfigProperty(name = "autoflex.import.chunk-size", defaultValue = "500") int chunkSize,
+                         @ConfigProperty(name = "autoflex.import.max-errors", defaultValue = "1000") int maxErrors) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("autoflex.import.chunk-size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        this.chunkWriter = chunkWriter;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Importa matérias-primas (colunas name, stockQuantity): cria as inexistentes e atualiza o estoque das demais.
+     */
+    public ImportReportDTO importRawMaterials(InputStream body, ImportFormat format) {
+        return importRows(body, format, RAW_MATERIAL_COLUMNS, ImportService::toRawMaterialLine,
+                chunkWriter::writeRawMaterials, RawMaterialLine::line);
+    }
+
+    /**
+     * Importa vínculos de composição (colunas productName, rawMaterialName, quantity): cria ou atualiza a quantidade.
+     */
+    public ImportReportDTO importCompositions(InputStream body, ImportFormat format) {
+        return importRows(body, format, COMPOSITION_COLUMNS, ImportService::toCompositionLine,
+                chunkWriter::writeCompositions, CompositionLine::line);
+    }
+
+    private <T> ImportReportDTO importRows(InputStream body, ImportFormat format, List<String> columns,
+                                           Function<ImportRow, T> parser,
+                                           Function<List<T>, ChunkResult> writer,
+                                           ToLongFunction<T> lineOf) {
+        Report report = new Report(maxErrors);
+
+        try (ImportRowReader reader = ImportRowReader.open(format, body, objectMapper)) {
+            reader.requireColumns(columns);
+
+            List<T> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                report.processed++;
+                if (row.error() != null) {
+                    report.fail(row.line(), row.error());
+                    continue;
+                }
+                try {
+                    chunk.add(parser.apply(row));
+                } catch (BusinessException e) {
+                    report.fail(row.line(), e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, writer, lineOf, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, writer, lineOf, report);
+            }
+        } catch (IOException e) {
+            LOG.warnf("Import aborted after %d rows: %s", report.processed, e.getMessage());
+            throw new BusinessException("Import body could not be read after " + report.processed
+                    + " rows; rows from earlier chunks were saved");
+        }
+
+        return report.toResponse();
+    }
+
+    /**
+     * Grava um bloco; se a transação falhar (ex: nome duplicado gravado em paralelo), todas as suas linhas
+     * são reportadas como falha e a importação segue com o próximo bloco.
+     */
+    private <T> void writeChunk(List<T> chunk, Function<List<T>, ChunkResult> writer, ToLongFunction<T> lineOf,
+                                Report report) {
+        try {
+            ChunkResult result = writer.apply(List.copyOf(chunk));
+            report.created += result.created();
+            report.updated += result.updated();
+            result.errors().forEach(error -> report.fail(error.line(), error.message()));
+        } catch (PersistenceException e) {
+            LOG.error("Import chunk failed", e);
+            for (T line : chunk) {
+                report.fail(lineOf.applyAsLong(line), "Chunk could not be saved: database error");
+            }
+        }
+    }
+
+    private static RawMaterialLine toRawMaterialLine(ImportRow row) {
+        String name = requireName(row, "name");
+        BigDecimal stockQuantity = requireQuantity(row, "stockQuantity");
+        if (stockQuantity.signum() < 0) {
+            throw new BusinessException("stockQuantity cannot be negative");
+        }
+        return new RawMaterialLine(row.line(), name, stockQuantity);
+    }
+
+    private static CompositionLine toCompositionLine(ImportRow row) {
+        String productName = requireName(row, "productName");
+        String rawMaterialName = requireName(row, "rawMaterialName");
+        BigDecimal quantity = requireQuantity(row, "quantity");
+        if (quantity.signum() <= 0) {
+            throw new BusinessException("quantity must be positive");
+        }
+        if (quantity.compareTo(ProductionSnapshot.MAX_QUANTITY) > 0) {
+            throw new BusinessException("quantity must be at most " + ProductionSnapshot.MAX_QUANTITY.toPlainString());
+        }
+        return new CompositionLine(row.line(), productName, rawMaterialName, quantity);
+    }
+
+    private static String requireName(ImportRow row, String column) {
+        String value = row.field(column);
+        if (value == null) {
+            throw new BusinessException(column + " is required");
+        }
+        if (value.length() > MAX_NAME_LENGTH) {
+            throw new BusinessException(column + " must have at most " + MAX_NAME_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    /**
+     * Converte a quantidade respeitando a coluna NUMBER(19,4).
+     */
+    private static BigDecimal requireQuantity(ImportRow row, String column) {
+        String value = row.field(column);
+        if (value == null) {
+            throw new BusinessException(column + " is required");
+        }
+
+        BigDecimal quantity;
+        try {
+            quantity = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(column + " is not a valid number: " + value);
+        }
+        if (quantity.scale() > QUANTITY_SCALE) {
+            throw new BusinessException(column + " must have at most " + QUANTITY_SCALE + " decimal places");
+        }
+        if (quantity.precision() - quantity.scale() > QUANTITY_INTEGER_DIGITS) {
+            throw new BusinessException(column + " is out of range");
+        }
+        return quantity;
+    }
+
+    /**
+     * Acumulador dos totais; guarda no máximo maxErrors erros detalhados.
+     */
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<RowError> errors = new ArrayList<>();
+
+        private long processed;
+        private long created;
+        private long updated;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        private ImportReportDTO toResponse() {
+            return new ImportReportDTO(processed, created, updated, failed, List.copyOf(errors),
+                    failed > errors.size());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.autoflex.service;
+
+import com.autoflex.entity.BaseEntity;
+import com.autoflex.exception.PreconditionFailedException;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Regras de lock otimista compartilhadas pelos serviços de cadastro.
+ */
+final class OptimisticLocking {
+
+    private OptimisticLocking() {
+    }
+
+    /**
+     * Confere se a versão gravada está entre as informadas pelo cliente (If-Match); null aceita qualquer versão.
+     * Alterações concorrentes após esta leitura são barradas pelo @Version no flush.
+     */
+    static void requireVersion(BaseEntity entity, Set<Long> expectedVersions, String description) {
+        if (expectedVersions != null
+                && (entity.getVersion() == null || !expectedVersions.contains(entity.getVersion()))) {
+            throw new PreconditionFailedException(description + " was modified (expected version "
+                    + expectedVersions.stream().sorted().map(String::valueOf).collect(Collectors.joining(", "))
+                    + ", current " + entity.getVersion() + ")");
+        }
+    }
+
+    /**
+     * Indica se a falha foi um conflito de versão, mesmo quando embrulhada pela transação.
+     */
+    static boolean isConflict(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,39 +5,49 @@ import com.autoflex.dto.ProductRawMaterialResponseDTO;
 import com.autoflex.entity.Product;
 import com.autoflex.entity.ProductRawMaterial;
 import com.autoflex.entity.RawMaterial;
+import com.autoflex.event.CatalogChangedEvent;
 import com.autoflex.exception.BusinessException;
 import com.autoflex.exception.ResourceNotFoundException;
 import com.autoflex.mapper.ProductRawMaterialMapper;
 import com.autoflex.repository.ProductRawMaterialRepository;
 import com.autoflex.repository.ProductRepository;
 import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.repository.ReadOnly;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.transaction.Transactional;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
+@Timed(value = "autoflex.service", description = "Catalog service method execution time")
 public class ProductRawMaterialService {
 
     private final ProductRawMaterialRepository productRawMaterialRepository;
     private final ProductRepository productRepository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final Event<CatalogChangedEvent> catalogChanged;
 
     public ProductRawMaterialService(ProductRawMaterialRepository productRawMaterialRepository,
                                      ProductRepository productRepository,
-                                     RawMaterialRepository rawMaterialRepository) {
+                                     RawMaterialRepository rawMaterialRepository,
+                                     Event<CatalogChangedEvent> catalogChanged) {
         this.productRawMaterialRepository = productRawMaterialRepository;
         this.productRepository = productRepository;
         this.rawMaterialRepository = rawMaterialRepository;
+        this.catalogChanged = catalogChanged;
     }
 
 
     /**
      * Lista todas as matérias-primas vinculadas a um produto específico.
      */
+    @ReadOnly
     public List<ProductRawMaterialResponseDTO> findByProductId(Long productId) {
         validateProductExists(productId);
         return productRawMaterialRepository.findByProductId(productId).stream()
@@ -71,6 +81,7 @@ public class ProductRawMaterialService {
         entity.setActive(true);
 
         productRawMaterialRepository.persist(entity);
+        catalogChanged.fire(CatalogChangedEvent.composition(productId));
         return ProductRawMaterialMapper.toResponse(entity);
     }
 
@@ -87,7 +98,7 @@ public class ProductRawMaterialService {
         Map<Long, RawMaterial> rawMaterialsMap = rawMaterialRepository.find("id in ?1", rmIds)
                 .stream().collect(Collectors.toMap(RawMaterial::getId, rm -> rm));
 
-        return dtos.stream().map(dto -> {
+        List<ProductRawMaterialResponseDTO> created = dtos.stream().map(dto -> {
             RawMaterial rm = Optional.ofNullable(rawMaterialsMap.get(dto.rawMaterialId()))
                     .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", dto.rawMaterialId()));
 
@@ -100,6 +111,9 @@ public class ProductRawMaterialService {
             productRawMaterialRepository.persist(entity);
             return ProductRawMaterialMapper.toResponse(entity);
         }).toList();
+
+        catalogChanged.fire(CatalogChangedEvent.composition(productId));
+        return created;
     }
 
     /**
@@ -107,6 +121,16 @@ public class ProductRawMaterialService {
      */
     @Transactional
     public ProductRawMaterialResponseDTO updateQuantity(Long productId, Long rawMaterialId, ProductRawMaterialCreateDTO dto) {
+        return updateQuantity(productId, rawMaterialId, dto, null);
+    }
+
+    /**
+     * Atualiza a quantidade somente se o vínculo ainda estiver em uma das versões informadas (If-Match).
+     */
+    @Transactional
+    public ProductRawMaterialResponseDTO updateQuantity(Long productId, Long rawMaterialId,
+                                                        ProductRawMaterialCreateDTO dto,
+                                                        Set<Long> expectedVersions) {
         validateProductExists(productId);
 
         ProductRawMaterial entity = productRawMaterialRepository
@@ -118,8 +142,12 @@ public class ProductRawMaterialService {
         if (!entity.isActive()) {
             throw new BusinessException("Cannot update an inactive association.");
         }
+        OptimisticLocking.requireVersion(entity, expectedVersions,
+                "Association between Product " + productId + " and RawMaterial " + rawMaterialId);
 
         entity.setQuantity(dto.quantity());
+        productRawMaterialRepository.flush();
+        catalogChanged.fire(CatalogChangedEvent.composition(productId));
         return ProductRawMaterialMapper.toResponse(entity);
     }
 
@@ -137,6 +165,7 @@ public class ProductRawMaterialService {
                                 + " not found"));
 
         entity.setActive(false);
+        catalogChanged.fire(CatalogChangedEvent.composition(productId));
     }
 
     /**
@@ -4,56 +4,93 @@ import com.autoflex.dto.PageResponseDTO;
 import com.autoflex.dto.ProductCreateDTO;
 import com.autoflex.dto.ProductResponseDTO;
 import com.autoflex.entity.Product;
+import com.autoflex.event.CatalogChangedEvent;
 import com.autoflex.exception.BusinessException;
 import com.autoflex.exception.ResourceNotFoundException;
 import com.autoflex.mapper.ProductMapper;
+import com.autoflex.repository.KeysetCursor;
 import com.autoflex.repository.ProductRawMaterialRepository;
 import com.autoflex.repository.ProductRepository;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Page;
-import io.quarkus.panache.common.Sort;
+import com.autoflex.repository.ReadOnly;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.transaction.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @ApplicationScoped
+@Timed(value = "autoflex.service", description = "Catalog service method execution time")
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final Event<CatalogChangedEvent> catalogChanged;
 
     public ProductService(ProductRepository productRepository,
-                          ProductRawMaterialRepository productRawMaterialRepository) {
+                          ProductRawMaterialRepository productRawMaterialRepository,
+                          Event<CatalogChangedEvent> catalogChanged) {
         this.productRepository = productRepository;
         this.productRawMaterialRepository = productRawMaterialRepository;
+        this.catalogChanged = catalogChanged;
     }
 
     /**
      * Retorna uma lista paginada de todos os produtos ordenados por nome.
+     * Carrega a página em duas consultas (ids e depois produtos com composição); a contagem só é feita
+     * quando não pode ser deduzida de uma página incompleta.
      */
-    public PageResponseDTO<ProductResponseDTO> findAll(int pageIndex, int pageSize) {
-        PanacheQuery<Product> query = productRepository.findAll(Sort.by("name").ascending())
-                .page(Page.of(pageIndex, pageSize));
+    @ReadOnly
+    public PageResponseDTO<ProductResponseDTO> findAll(int pageIndex, int pageSize, boolean includeTotal) {
+        validatePageSize(pageSize);
 
-        List<ProductResponseDTO> items = query.list().stream()
-                .map(ProductMapper::toResponse)
-                .toList();
+        List<Long> ids = productRepository.findIdPage(pageIndex, pageSize);
+        List<ProductResponseDTO> items = toResponses(productRepository.findWithComposition(ids));
+
+        if (!includeTotal) {
+            return new PageResponseDTO<>(items, pageIndex, pageSize, null, null, null);
+        }
 
+        boolean lastPage = ids.size() < pageSize && (!ids.isEmpty() || pageIndex == 0);
+        long totalElements = lastPage ? (long) pageIndex * pageSize + ids.size() : productRepository.count();
         return new PageResponseDTO<>(
                 items,
                 pageIndex,
                 pageSize,
-                query.count(),
-                query.pageCount()
-        );
+                totalElements,
+                totalPages(totalElements, pageSize));
     }
 
     /**
-     * Busca um produto pelo seu identificador único.
+     * Retorna a página de produtos seguinte ao cursor (ordem por nome e id), sem OFFSET.
+     * Busca um id a mais para saber se existe próxima página; a contagem total é opcional.
      */
+    @ReadOnly
+    public PageResponseDTO<ProductResponseDTO> findAfter(String after, int pageSize, boolean includeTotal) {
+        validatePageSize(pageSize);
+
+        List<Long> ids = productRepository.findIdPageAfter(KeysetCursor.decode(after), pageSize + 1);
+        boolean hasNext = ids.size() > pageSize;
+        List<Product> page = productRepository.findWithComposition(hasNext ? ids.subList(0, pageSize) : ids);
+
+        String nextCursor = null;
+        if (hasNext && !page.isEmpty()) {
+            Product last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+
+        Long totalElements = includeTotal ? productRepository.count() : null;
+        Integer totalPages = includeTotal ? totalPages(totalElements, pageSize) : null;
+        return new PageResponseDTO<>(toResponses(page), null, pageSize, totalElements, totalPages, nextCursor);
+    }
+
+    /**
+     * Busca um produto pelo seu identificador único, já com a composição, em uma única consulta.
+     */
+    @ReadOnly
     public ProductResponseDTO findById(Long id) {
-        Product product = productRepository.findByIdOptional(id)
+        Product product = productRepository.findByIdWithComposition(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", id));
         return ProductMapper.toResponse(product);
     }
@@ -69,6 +106,7 @@ public class ProductService {
         product.setActive(true);
 
         productRepository.persist(product);
+        catalogChanged.fire(CatalogChangedEvent.product(product.getId()));
         return ProductMapper.toResponse(product);
     }
 
@@ -77,12 +115,24 @@ public class ProductService {
      */
     @Transactional
     public ProductResponseDTO update(Long id, ProductCreateDTO dto) {
+        return update(id, dto, null);
+    }
+
+    /**
+     * Atualiza o produto somente se ele ainda estiver em uma das versões informadas (If-Match); null ignora a
+     * checagem.
+     */
+    @Transactional
+    public ProductResponseDTO update(Long id, ProductCreateDTO dto, Set<Long> expectedVersions) {
         Product product = productRepository.findByIdOptional(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        OptimisticLocking.requireVersion(product, expectedVersions, "Product " + id);
 
         validateUniqueName(dto.name(), id);
 
         ProductMapper.updateEntity(product, dto);
+        productRepository.flush();
+        catalogChanged.fire(CatalogChangedEvent.product(id));
         return ProductMapper.toResponse(product);
     }
 
@@ -96,7 +146,25 @@ public class ProductService {
 
         productRepository.softDelete(product.getId());
 
-        productRawMaterialRepository.update("active = false WHERE product.id = ?1", product.getId());
+        productRawMaterialRepository.update("active = false, version = version + 1 WHERE product.id = ?1",
+                product.getId());
+        catalogChanged.fire(CatalogChangedEvent.product(id));
+    }
+
+    private static List<ProductResponseDTO> toResponses(List<Product> products) {
+        return products.stream()
+                .map(ProductMapper::toResponse)
+                .toList();
+    }
+
+    private static void validatePageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new BusinessException("Page size must be positive");
+        }
+    }
+
+    private static int totalPages(long totalElements, int pageSize) {
+        return (int) ((totalElements + pageSize - 1) / pageSize);
     }
 
     /**
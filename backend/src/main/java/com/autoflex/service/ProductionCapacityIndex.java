@@ -0,0 +1,296 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.PageResponseDTO;
+import com.autoflex.dto.ProductCapacityDTO;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.RawMaterialRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Capacidade independente de cada produto ("quantas unidades dá para fabricar se nada mais for produzido") e a
+ * matéria-prima que a limita, mantidas em memória. Alterações efetivadas marcam só o que mudou: uma alteração de
+ * estoque relê o saldo daquela matéria-prima e recalcula apenas os produtos que a usam (índice inverso); uma
+ * alteração de composição recarrega apenas o produto. Alterações em lote reconstroem o índice.
+ */
+@ApplicationScoped
+public class ProductionCapacityIndex {
+
+    private final AtomicLong changes = new AtomicLong();
+    private final Set<Long> staleProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> staleMaterials = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Map<Long, ProductLines> products = new HashMap<>();
+    private final Map<Long, Long> stock = new HashMap<>();
+    private final Map<Long, Set<Long>> productsByMaterial = new HashMap<>();
+    private final Map<Long, ProductCapacityDTO> capacities = new HashMap<>();
+
+    private volatile boolean rebuildRequired = true;
+    private volatile long appliedChanges = -1;
+    private volatile View view = new View(List.of(), new ConcurrentHashMap<>());
+
+    private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+
+    public ProductionCapacityIndex(ProductRawMaterialRepository productRawMaterialRepository,
+                                   RawMaterialRepository rawMaterialRepository) {
+        this.productRawMaterialRepository = productRawMaterialRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+    }
+
+    /**
+     * Página da capacidade por produto na ordenação pedida. Cada ordenação é montada uma vez por versão do índice.
+     */
+    public PageResponseDTO<ProductCapacityDTO> page(CapacitySort sort, boolean descending, int pageIndex, int pageSize) {
+        if (pageIndex < 0 || pageSize < 1) {
+            throw new BusinessException("Page must be zero or positive and size must be positive");
+        }
+        refresh();
+
+        View current = view;
+        List<ProductCapacityDTO> sorted = current.sorted().computeIfAbsent(new SortKey(sort, descending), key -> {
+            List<ProductCapacityDTO> items = new ArrayList<>(current.items());
+            items.sort(sort.comparator(descending));
+            return List.copyOf(items);
+        });
+
+        int from = (int) Math.min((long) pageIndex * pageSize, sorted.size());
+        int to = (int) Math.min((long) from + pageSize, sorted.size());
+        int totalPages = (sorted.size() + pageSize - 1) / pageSize;
+        return new PageResponseDTO<>(sorted.subList(from, to), pageIndex, pageSize, sorted.size(), totalPages);
+    }
+
+    /**
+     * Estoque alterado marca a matéria-prima; composição, valor ou status marcam o produto; sem id, reconstrói.
+     */
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        if (event.id() == null) {
+            rebuildRequired = true;
+        } else if (event.type() == CatalogChangedEvent.Type.RAW_MATERIAL) {
+            staleMaterials.add(event.id());
+        } else {
+            staleProducts.add(event.id());
+        }
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Mesmo protocolo do índice inverso: o contador é lido antes das consultas, e alterações efetivadas durante a
+     * recarga ficam pendentes para a leitura seguinte. As consultas rodam antes de qualquer alteração do índice: se
+     * falharem, o trabalho pendente continua marcado; se a aplicação falhar no meio, o índice é reconstruído.
+     */
+    private void refresh() {
+        if (appliedChanges == changes.get()) {
+            return;
+        }
+
+        refreshLock.lock();
+        try {
+            long version = changes.get();
+            if (appliedChanges == version) {
+                return;
+            }
+
+            if (rebuildRequired) {
+                rebuild();
+            } else {
+                update();
+            }
+            appliedChanges = version;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        List<CompositionLineRow> rows = productRawMaterialRepository.findActiveCompositionLines();
+        rebuildRequired = false;
+        staleProducts.clear();
+        staleMaterials.clear();
+        products.clear();
+        stock.clear();
+        productsByMaterial.clear();
+        capacities.clear();
+        applyOrRebuild(() -> recompute(load(Set.of(), rows)));
+    }
+
+    private void update() {
+        Set<Long> staleProductIds = new HashSet<>(staleProducts);
+        Set<Long> staleMaterialIds = new HashSet<>(staleMaterials);
+        Set<Long> reload = new HashSet<>(staleProductIds);
+
+        Set<Long> materials = new HashSet<>(staleMaterialIds);
+        materials.retainAll(productsByMaterial.keySet());
+        Map<Long, BigDecimal> quantities = materials.isEmpty()
+                ? Map.of()
+                : rawMaterialRepository.findStockQuantities(materials);
+        for (Long materialId : materials) {
+            if (quantities.get(materialId) == null) {
+                // Matéria-prima inativada: os produtos que a usavam perdem o vínculo.
+                reload.addAll(productsByMaterial.getOrDefault(materialId, Set.of()));
+            }
+        }
+        List<CompositionLineRow> rows = reload.isEmpty()
+                ? List.of()
+                : productRawMaterialRepository.findActiveCompositionLines(reload);
+
+        staleProducts.removeAll(staleProductIds);
+        staleMaterials.removeAll(staleMaterialIds);
+        applyOrRebuild(() -> {
+            Set<Long> recompute = new HashSet<>();
+            quantities.forEach((materialId, quantity) -> {
+                if (updateStock(materialId, quantity)) {
+                    recompute.addAll(productsByMaterial.getOrDefault(materialId, Set.of()));
+                }
+            });
+            if (!reload.isEmpty()) {
+                recompute.addAll(load(reload, rows));
+            }
+            recompute(recompute);
+        });
+    }
+
+    /**
+     * Aplica as linhas já lidas; uma falha no meio deixa os mapas inconsistentes e força a reconstrução.
+     */
+    private void applyOrRebuild(Runnable apply) {
+        try {
+            apply.run();
+        } catch (RuntimeException e) {
+            rebuildRequired = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Substitui a composição dos produtos recarregados e atualiza o saldo das matérias-primas lidas junto.
+     * Retorna os produtos a recalcular: os recarregados e os que usam uma matéria-prima cujo saldo mudou.
+     */
+    private Set<Long> load(Collection<Long> reloadedProducts, List<CompositionLineRow> rows) {
+        Set<Long> recompute = new HashSet<>(reloadedProducts);
+        for (Long productId : reloadedProducts) {
+            ProductLines previous = products.remove(productId);
+            if (previous != null) {
+                for (long materialId : previous.materialIds()) {
+                    Set<Long> users = productsByMaterial.get(materialId);
+                    users.remove(productId);
+                    if (users.isEmpty()) {
+                        productsByMaterial.remove(materialId);
+                        stock.remove(materialId);
+                    }
+                }
+            }
+        }
+
+        Map<Long, ProductLines.Builder> builders = new HashMap<>();
+        for (CompositionLineRow row : rows) {
+            if (row.quantity().signum() <= 0) {
+                continue;
+            }
+            builders.computeIfAbsent(row.productId(),
+                            id -> new ProductLines.Builder(row.productName(), row.productValue()))
+                    .line(row.rawMaterialId(), ProductionSnapshot.lineToFixedPoint(row.rawMaterialId(), row.quantity()));
+            productsByMaterial.computeIfAbsent(row.rawMaterialId(), id -> new HashSet<>()).add(row.productId());
+            if (updateStock(row.rawMaterialId(), row.stockQuantity())) {
+                recompute.addAll(productsByMaterial.get(row.rawMaterialId()));
+            }
+            recompute.add(row.productId());
+        }
+        builders.forEach((productId, builder) -> products.put(productId, builder.build()));
+        return recompute;
+    }
+
+    /**
+     * Grava o saldo em ponto fixo; retorna true se ele mudou em relação ao valor em memória.
+     */
+    private boolean updateStock(Long materialId, BigDecimal quantity) {
+        long fixedPoint = ProductionSnapshot.stockToFixedPoint(quantity);
+        Long previous = stock.put(materialId, fixedPoint);
+        return previous == null || previous != fixedPoint;
+    }
+
+    /**
+     * Recalcula a capacidade dos produtos informados (mínimo entre saldo e consumo por unidade) e publica a nova
+     * versão do índice, descartando as ordenações montadas.
+     */
+    private void recompute(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            ProductLines lines = products.get(productId);
+            if (lines == null) {
+                capacities.remove(productId);
+                continue;
+            }
+
+            long capacity = Long.MAX_VALUE;
+            Long limiting = null;
+            for (int line = 0; line < lines.materialIds().length; line++) {
+                long canProduce = Math.floorDiv(stock.get(lines.materialIds()[line]), lines.quantities()[line]);
+                if (canProduce < capacity) {
+                    capacity = canProduce;
+                    limiting = lines.materialIds()[line];
+                }
+            }
+            capacities.put(productId, new ProductCapacityDTO(productId, lines.name(), lines.value(), capacity, limiting));
+        }
+        view = new View(List.copyOf(capacities.values()), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Composição ativa de um produto em ponto fixo (mesma conversão da fotografia usada pelos planejadores).
+     */
+    private record ProductLines(String name, BigDecimal value, long[] materialIds, long[] quantities) {
+
+        private static final class Builder {
+
+            private final String name;
+            private final BigDecimal value;
+            private final List<long[]> lines = new ArrayList<>();
+
+            private Builder(String name, BigDecimal value) {
+                this.name = name;
+                this.value = value;
+            }
+
+            private void line(long materialId, long quantity) {
+                lines.add(new long[] { materialId, quantity });
+            }
+
+            private ProductLines build() {
+                long[] materialIds = new long[lines.size()];
+                long[] quantities = new long[lines.size()];
+                for (int i = 0; i < lines.size(); i++) {
+                    materialIds[i] = lines.get(i)[0];
+                    quantities[i] = lines.get(i)[1];
+                }
+                return new ProductLines(name, value, materialIds, quantities);
+            }
+        }
+    }
+
+    private record SortKey(CapacitySort sort, boolean descending) {
+    }
+
+    /**
+     * Versão publicada do índice: lista imutável de capacidades e as ordenações já montadas sobre ela.
+     */
+    private record View(List<ProductCapacityDTO> items, Map<SortKey, List<ProductCapacityDTO>> sorted) {
+    }
+}
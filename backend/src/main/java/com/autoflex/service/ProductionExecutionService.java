@@ -0,0 +1,174 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ProductionExecutionDTO;
+import com.autoflex.dto.ProductionExecutionDTO.PlannedItem;
+import com.autoflex.dto.ProductionExecutionResponseDTO;
+import com.autoflex.dto.ProductionExecutionResponseDTO.ConsumedMaterial;
+import com.autoflex.dto.ProductionExecutionResponseDTO.ProducedItem;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.exception.ConflictException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.service.ProductionSuggestionService.VersionedSuggestion;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Executa um plano de produção baixando o estoque consumido de forma atômica.
+ * Não há lock global: a baixa é um único UPDATE condicionado ao saldo, e execuções concorrentes só disputam as
+ * linhas das matérias-primas em comum, pelo tempo da própria transação.
+ */
+@ApplicationScoped
+public class ProductionExecutionService {
+
+    /**
+     * Dígitos inteiros da coluna stock_quantity NUMBER(19,4).
+     */
+    private static final int QUANTITY_INTEGER_DIGITS = 15;
+
+    private final ProductionSuggestionService productionSuggestionService;
+    private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final RawMaterialService rawMaterialService;
+
+    public ProductionExecutionService(ProductionSuggestionService productionSuggestionService,
+                                      ProductRawMaterialRepository productRawMaterialRepository,
+                                      RawMaterialRepository rawMaterialRepository,
+                                      RawMaterialService rawMaterialService) {
+        this.productionSuggestionService = productionSuggestionService;
+        this.productRawMaterialRepository = productRawMaterialRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.rawMaterialService = rawMaterialService;
+    }
+
+    /**
+     * Calcula o consumo total do plano e o baixa em uma transação; se faltar qualquer matéria-prima o plano
+     * inteiro é rejeitado com 409 e nada é alterado.
+     */
+    public ProductionExecutionResponseDTO execute(ProductionExecutionDTO dto) {
+        Map<Long, Long> plan = resolvePlan(dto);
+        SortedMap<Long, BigDecimal> consumption = consumptionOf(plan);
+        String executionId = UUID.randomUUID().toString();
+
+        try {
+            rawMaterialService.consumeStock(consumption, executionId);
+        } catch (ConflictException e) {
+            throw new ConflictException(describeShortage(consumption, e.getMessage()));
+        }
+
+        return new ProductionExecutionResponseDTO(
+                executionId,
+                plan.entrySet().stream().map(item -> new ProducedItem(item.getKey(), item.getValue())).toList(),
+                consumption.entrySet().stream()
+                        .map(material -> new ConsumedMaterial(material.getKey(), material.getValue()))
+                        .toList(),
+                Instant.now());
+    }
+
+    /**
+     * Quantidade por produto, somando itens repetidos. Com suggestionVersion, usa a sugestão em cache se ela
+     * ainda corresponder ao catálogo atual; caso contrário o cliente deve recalcular (409).
+     */
+    private Map<Long, Long> resolvePlan(ProductionExecutionDTO dto) {
+        boolean hasItems = dto.items() != null && !dto.items().isEmpty();
+        if (hasItems == (dto.suggestionVersion() != null)) {
+            throw new BusinessException("Provide either items or suggestionVersion");
+        }
+
+        Map<Long, Long> plan = new LinkedHashMap<>();
+        if (hasItems) {
+            for (PlannedItem item : dto.items()) {
+                plan.merge(item.productId(), item.quantity(), Math::addExact);
+            }
+            return plan;
+        }
+
+        VersionedSuggestion current = productionSuggestionService
+                .currentSuggestion(ProductionStrategy.fromString(dto.strategy()));
+        if (!current.version().equals(unquote(dto.suggestionVersion()))) {
+            throw new ConflictException("Suggestion version " + dto.suggestionVersion()
+                    + " is stale; the current version is " + current.version());
+        }
+        current.suggestion().items()
+                .forEach(item -> plan.put(item.productId(), item.quantityToProduce()));
+        if (plan.isEmpty()) {
+            throw new BusinessException("The suggestion has nothing to produce");
+        }
+        return plan;
+    }
+
+    /**
+     * Aceita a versão pura ou o ETag como devolvido pelo GET da sugestão (W/"...").
+     */
+    private static String unquote(String version) {
+        String value = version.strip();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Consumo total por matéria-prima, ordenado por id para que execuções concorrentes bloqueiem as linhas
+     * sempre na mesma ordem.
+     */
+    private SortedMap<Long, BigDecimal> consumptionOf(Map<Long, Long> plan) {
+        SortedMap<Long, BigDecimal> consumption = new TreeMap<>();
+        Set<Long> productsWithComposition = new HashSet<>();
+
+        for (CompositionLineRow row : productRawMaterialRepository.findActiveCompositionLines(plan.keySet())) {
+            if (row.quantity().signum() <= 0) {
+                continue;
+            }
+            productsWithComposition.add(row.productId());
+            BigDecimal required = row.quantity().multiply(BigDecimal.valueOf(plan.get(row.productId())));
+            consumption.merge(row.rawMaterialId(), required, BigDecimal::add);
+        }
+
+        Set<Long> missing = plan.keySet().stream()
+                .filter(productId -> !productsWithComposition.contains(productId))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (!missing.isEmpty()) {
+            throw new BusinessException("Product(s) not found or without active composition: " + missing);
+        }
+        consumption.forEach((rawMaterialId, quantity) -> {
+            if (quantity.precision() - quantity.scale() > QUANTITY_INTEGER_DIGITS) {
+                throw new BusinessException("Consumption of raw material " + rawMaterialId + " is out of range");
+            }
+        });
+        return consumption;
+    }
+
+    /**
+     * Após o rollback, consulta o saldo gravado para indicar quais matérias-primas impediram a execução. A leitura
+     * é feita fora da transação, por isso usa findStockQuantities, que lê do primário e não de uma réplica atrasada.
+     */
+    private String describeShortage(SortedMap<Long, BigDecimal> consumption, String fallback) {
+        Map<Long, BigDecimal> available = rawMaterialRepository.findStockQuantities(consumption.keySet());
+
+        String shortages = consumption.entrySet().stream()
+                .filter(required -> available.getOrDefault(required.getKey(), BigDecimal.ZERO)
+                        .compareTo(required.getValue()) < 0)
+                .map(required -> required.getKey() + " (required " + required.getValue().toPlainString()
+                        + ", available " + available.getOrDefault(required.getKey(), BigDecimal.ZERO).toPlainString()
+                        + ")")
+                .collect(Collectors.joining(", "));
+        return shortages.isEmpty() ? fallback : "Insufficient stock for raw material(s): " + shortages;
+    }
+}
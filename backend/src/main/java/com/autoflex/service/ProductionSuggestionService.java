@@ -1,113 +1,361 @@
 package com.autoflex.service;
 
+import com.autoflex.dto.ProductionScenarioDTO;
+import com.autoflex.dto.ProductionScenarioDTO.StockOverride;
+import com.autoflex.dto.ProductionScenarioDTO.ValueOverride;
 import com.autoflex.dto.ProductionSuggestionResponseDTO;
 import com.autoflex.dto.ProductionSuggestionResponseDTO.ProductionItem;
-import com.autoflex.entity.Product;
-import com.autoflex.entity.ProductRawMaterial;
-import com.autoflex.repository.ProductRepository;
-import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.engine.GreedyProductionPlanner;
+import com.autoflex.engine.OptimalProductionPlanner;
+import com.autoflex.engine.ProductionPlan;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.jfr.SuggestionCalculationEvent;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.ReadOnly;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 @ApplicationScoped
 public class ProductionSuggestionService {
 
-    private final ProductRepository productRepository;
-    private final RawMaterialRepository rawMaterialRepository;
+    static final String SUGGESTION_TIMER = "autoflex.production.suggestion";
 
-    public ProductionSuggestionService(ProductRepository productRepository,
-                                       RawMaterialRepository rawMaterialRepository) {
-        this.productRepository = productRepository;
-        this.rawMaterialRepository = rawMaterialRepository;
+    /**
+     * Identifica esta instância da aplicação, para que versões geradas antes de um restart nunca coincidam.
+     */
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    /**
+     * ReentrantLock em vez de synchronized: a recarga consulta o banco, e um monitor retido durante I/O prende a
+     * thread portadora quando a requisição roda em virtual thread.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile CachedCatalog cachedCatalog;
+
+    /**
+     * Requisições simultâneas com os mesmos parâmetros (e a mesma versão do catálogo) compartilham um único cálculo.
+     */
+    private final SingleFlight<SuggestionKey, VersionedSuggestion> suggestionFlights = new SingleFlight<>();
+
+    /**
+     * Um timer por estratégia e faixa de tamanho do catálogo, criado na primeira medição e reutilizado depois.
+     */
+    private final Map<SuggestionTimerKey, Timer> suggestionTimers = new ConcurrentHashMap<>();
+
+    private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final OptimalProductionPlanner optimalProductionPlanner;
+    private final MeterRegistry meterRegistry;
+    private final ScenarioExecutor scenarioExecutor;
+
+    public ProductionSuggestionService(ProductRawMaterialRepository productRawMaterialRepository,
+                                       OptimalProductionPlanner optimalProductionPlanner,
+                                       MeterRegistry meterRegistry,
+                                       ScenarioExecutor scenarioExecutor) {
+        this.productRawMaterialRepository = productRawMaterialRepository;
+        this.optimalProductionPlanner = optimalProductionPlanner;
+        this.meterRegistry = meterRegistry;
+        this.scenarioExecutor = scenarioExecutor;
     }
 
     /**
      * Gera uma sugestão de produção priorizando itens de maior valor agregado com base no estoque atual.
      */
     public ProductionSuggestionResponseDTO calculateSuggestion() {
+        return calculateSuggestion(ProductionStrategy.GREEDY);
+    }
 
-        List<Product> products = productRepository.findAllOrderByValueDesc();
+    /**
+     * Gera a sugestão de produção usando a estratégia informada (gulosa ou ótima).
+     */
+    public ProductionSuggestionResponseDTO calculateSuggestion(ProductionStrategy strategy) {
+        return currentSuggestion(strategy).suggestion();
+    }
 
-        Map<Long, BigDecimal> availableStock = new HashMap<>();
-        rawMaterialRepository.listAll().forEach(rm -> availableStock.put(rm.getId(), rm.getStockQuantity()));
+    /**
+     * Retorna a sugestão em cache junto com a versão do catálogo usada; recalcula apenas após alterações gravadas.
+     * Sem cache válido, chamadas concorrentes com a mesma chave aguardam o mesmo cálculo em vez de repeti-lo.
+     */
+    @ReadOnly
+    public VersionedSuggestion currentSuggestion(ProductionStrategy strategy) {
+        CachedCatalog cached = cachedCatalog;
+        if (cached != null && cached.version() == catalogVersion.get()) {
+            ProductionSuggestionResponseDTO suggestion = cached.suggestions().get(strategy);
+            if (suggestion != null) {
+                return new VersionedSuggestion(bootId + "-" + cached.version(), suggestion);
+            }
+        }
 
-        List<ProductionItem> items = new ArrayList<>();
-        BigDecimal totalValue = BigDecimal.ZERO;
+        // A versão entra na chave: quem chega depois de uma alteração gravada não recebe um cálculo anterior a ela.
+        return suggestionFlights.run(new SuggestionKey(strategy, catalogVersion.get()), () -> {
+            CachedCatalog catalog = currentCatalog();
+            ProductionSuggestionResponseDTO suggestion = catalog.suggestions()
+                    .computeIfAbsent(strategy, s -> calculateSuggestion(catalog.snapshot(), s));
+            return new VersionedSuggestion(bootId + "-" + catalog.version(), suggestion);
+        });
+    }
 
-        for (Product product : products) {
-            List<ProductRawMaterial> composition = product.getRawMaterials();
+    /**
+     * Quantos cálculos de sugestão foram executados e quantas chamadas aproveitaram um cálculo em andamento.
+     */
+    public SingleFlight.Stats coalescingStats() {
+        return suggestionFlights.stats();
+    }
 
-            if (composition == null || composition.isEmpty()) {
-                continue;
-            }
+    /**
+     * Fotografia do catálogo correspondente à versão atual, recarregada do banco apenas quando invalidada.
+     */
+    @ReadOnly
+    public ProductionSnapshot currentSnapshot() {
+        return currentCatalog().snapshot();
+    }
 
-            long maxProducible = calculateMaxProducibleQuantity(composition, availableStock);
+    /**
+     * Avalia cenários hipotéticos de estoque e valor sobre a fotografia atual, sem gravar nada no banco.
+     * Os ajustes são validados antes e os cálculos rodam em paralelo no {@link ScenarioExecutor}, com threads e
+     * prazo limitados; a resposta segue a ordem dos cenários.
+     */
+    public List<ProductionSuggestionResponseDTO> evaluateScenarios(List<ProductionScenarioDTO> scenarios,
+                                                                   ProductionStrategy strategy) {
+        ProductionSnapshot snapshot = currentSnapshot();
+        List<ResolvedScenario> resolved = scenarios.stream()
+                .map(scenario -> resolve(snapshot, scenario))
+                .toList();
 
-            if (maxProducible <= 0) {
-                continue;
-            }
+        return scenarioExecutor.invokeAll(resolved.stream()
+                .<Callable<ProductionSuggestionResponseDTO>>map(scenario -> () -> calculateSuggestion(
+                        snapshot.withProductValues(scenario.values()).withMaterialStock(scenario.stock()), strategy))
+                .toList());
+    }
 
-            // 4. Abate os materiais consumidos do nosso estoque em memória
-            deductConsumedMaterials(composition, availableStock, maxProducible);
+    /**
+     * Invalida o cache somente após o commit de uma alteração de estoque, valor, composição ou status.
+     */
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        catalogVersion.incrementAndGet();
+    }
 
-            // 5. Soma os totais
-            BigDecimal subtotal = product.getValue().multiply(BigDecimal.valueOf(maxProducible));
-            totalValue = totalValue.add(subtotal);
+    /**
+     * Calcula a sugestão sobre uma fotografia já carregada do catálogo, sem acessar o banco. A duração é registrada
+     * em autoflex.production.suggestion, por estratégia e faixa de tamanho do catálogo, e em um evento JFR com os
+     * tamanhos da entrada e do resultado.
+     */
+    public ProductionSuggestionResponseDTO calculateSuggestion(ProductionSnapshot snapshot, ProductionStrategy strategy) {
+        SuggestionCalculationEvent event = new SuggestionCalculationEvent();
+        event.begin();
+        ProductionSuggestionResponseDTO suggestion = suggestionTimer(strategy, snapshot.productCount())
+                .record(() -> plan(snapshot, strategy));
+        event.finish(strategy, snapshot, suggestion);
+        return suggestion;
+    }
 
-            items.add(new ProductionItem(
-                    product.getId(),
-                    product.getName(),
-                    product.getValue(),
-                    maxProducible,
-                    subtotal));
+    private ProductionSuggestionResponseDTO plan(ProductionSnapshot snapshot, ProductionStrategy strategy) {
+        long[] quantities = GreedyProductionPlanner.plan(snapshot);
+
+        if (strategy == ProductionStrategy.OPTIMAL) {
+            ProductionPlan plan = optimalProductionPlanner.plan(snapshot, quantities);
+            return toResponse(snapshot, plan.quantities(), ProductionStrategy.OPTIMAL,
+                    BigDecimal.valueOf(plan.upperBoundCents(), 2),
+                    BigDecimal.valueOf(plan.optimalityGap()).setScale(4, RoundingMode.HALF_UP));
         }
+        return toResponse(snapshot, quantities, ProductionStrategy.GREEDY, null, null);
+    }
+
+    /**
+     * Carrega produtos (ordenados por valor), composição e estoque em uma única consulta e monta a fotografia.
+     */
+    public ProductionSnapshot loadSnapshot() {
+        ProductionSnapshot.Builder builder = ProductionSnapshot.builder();
+        Long currentProductId = null;
 
-        return new ProductionSuggestionResponseDTO(items, totalValue);
+        for (CompositionLineRow row : productRawMaterialRepository.findActiveCompositionLines()) {
+            if (!row.productId().equals(currentProductId)) {
+                builder.product(row.productId(), row.productName(), row.productValue());
+                currentProductId = row.productId();
+            }
+            builder.material(row.rawMaterialId(), row.stockQuantity());
+            builder.line(row.rawMaterialId(), row.quantity());
+        }
+        return builder.build();
     }
 
     /**
-     * Calcula a quantidade máxima de um produto que pode ser fabricada considerando o limitante do estoque de insumos.
+     * Histograma com buckets fixos (os percentis são calculados pelo Prometheus, não na aplicação), o que mantém
+     * o custo da medição constante. A faixa de tamanho limita a cardinalidade das tags a poucos valores.
      */
-    private Long calculateMaxProducibleQuantity(List<ProductRawMaterial> composition, Map<Long, BigDecimal> availableStock) {
-        long maxProducible = Long.MAX_VALUE;
+    private Timer suggestionTimer(ProductionStrategy strategy, int productCount) {
+        return suggestionTimers.computeIfAbsent(new SuggestionTimerKey(strategy, catalogSize(productCount)),
+                key -> Timer.builder(SUGGESTION_TIMER)
+                        .description("Production suggestion calculation time")
+                        .tag("strategy", key.strategy().name().toLowerCase())
+                        .tag("catalog.size", key.catalogSize())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry));
+    }
 
-        for (ProductRawMaterial prm : composition) {
-            if (!prm.isActive() || !prm.getRawMaterial().isActive()) {
-                continue;
+    /**
+     * Faixa de tamanho do catálogo pela quantidade de produtos na fotografia.
+     */
+    static String catalogSize(int productCount) {
+        if (productCount <= 100) {
+            return "0-100";
+        }
+        if (productCount <= 1_000) {
+            return "101-1000";
+        }
+        if (productCount <= 10_000) {
+            return "1001-10000";
+        }
+        return "10000+";
+    }
+
+    /**
+     * A versão é lida antes da consulta: uma alteração gravada durante a carga incrementa o contador e força
+     * uma nova leitura na próxima chamada, nunca servindo dados antigos com a versão nova.
+     */
+    private CachedCatalog currentCatalog() {
+        CachedCatalog catalog = cachedCatalog;
+        if (catalog != null && catalog.version() == catalogVersion.get()) {
+            return catalog;
+        }
+
+        reloadLock.lock();
+        try {
+            long version = catalogVersion.get();
+            catalog = cachedCatalog;
+            if (catalog == null || catalog.version() != version) {
+                catalog = new CachedCatalog(version, loadSnapshot(), new ConcurrentHashMap<>());
+                cachedCatalog = catalog;
             }
+            return catalog;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
 
-            BigDecimal available = availableStock.getOrDefault(prm.getRawMaterial().getId(), BigDecimal.ZERO);
-            BigDecimal required = prm.getQuantity();
+    /**
+     * Traduz os ajustes do cenário para índices da fotografia. Ids fora da fotografia (sem composição ativa)
+     * não influenciam o cálculo e são ignorados.
+     */
+    private ResolvedScenario resolve(ProductionSnapshot snapshot, ProductionScenarioDTO scenario) {
+        long[] stock = snapshot.stockCopy();
+        if (scenario.stockOverrides() != null) {
+            for (StockOverride override : scenario.stockOverrides()) {
+                int material = snapshot.materialIndex(override.rawMaterialId());
+                long adjusted = applyStockOverride(override, material < 0 ? 0 : stock[material]);
+                if (material >= 0) {
+                    stock[material] = adjusted;
+                }
+            }
+        }
 
-            if (required.compareTo(BigDecimal.ZERO) <= 0) {
-                continue;
+        Map<Integer, BigDecimal> values = new HashMap<>();
+        if (scenario.valueOverrides() != null) {
+            for (ValueOverride override : scenario.valueOverrides()) {
+                int product = snapshot.productIndex(override.productId());
+                if (product >= 0) {
+                    values.put(product, override.value());
+                }
             }
+        }
+        return new ResolvedScenario(stock, values);
+    }
+
+    /**
+     * Aplica quantidade absoluta, delta ou multiplicador ao estoque em ponto fixo; o resultado nunca fica negativo.
+     */
+    private static long applyStockOverride(StockOverride override, long currentStock) {
+        int provided = (override.quantity() != null ? 1 : 0)
+                + (override.delta() != null ? 1 : 0)
+                + (override.multiplier() != null ? 1 : 0);
+        if (provided != 1) {
+            throw new BusinessException("Stock override for raw material " + override.rawMaterialId()
+                    + " must set exactly one of quantity, delta or multiplier");
+        }
 
-            long canProduce = available.divide(required, 0, RoundingMode.FLOOR).longValue();
-            maxProducible = Math.min(maxProducible, canProduce);
+        BigDecimal current = BigDecimal.valueOf(currentStock, ProductionSnapshot.QUANTITY_SCALE);
+        BigDecimal adjusted;
+        if (override.quantity() != null) {
+            adjusted = override.quantity();
+        } else if (override.delta() != null) {
+            adjusted = current.add(override.delta());
+        } else {
+            adjusted = current.multiply(override.multiplier());
         }
 
-        return maxProducible == Long.MAX_VALUE ? 0 : maxProducible;
+        return Math.max(0, ProductionSnapshot.stockToFixedPoint(adjusted));
     }
 
     /**
-     * Abate virtualmente os materiais consumidos do estoque em memória para o cálculo do próximo item da lista.
+     * Converte as quantidades planejadas em itens de resposta, somando os subtotais dos produtos fabricados.
      */
-    private void deductConsumedMaterials(List<ProductRawMaterial> composition, Map<Long, BigDecimal> availableStock, long quantityProduced) {
-        for (ProductRawMaterial prm : composition) {
-            if (!prm.isActive() || !prm.getRawMaterial().isActive()) {
+    private ProductionSuggestionResponseDTO toResponse(ProductionSnapshot snapshot, long[] quantities,
+                                                      ProductionStrategy strategy, BigDecimal upperBound,
+                                                      BigDecimal optimalityGap) {
+        List<ProductionItem> items = new ArrayList<>();
+        BigDecimal totalValue = BigDecimal.ZERO;
+
+        for (int product = 0; product < snapshot.productCount(); product++) {
+            long quantity = quantities[product];
+            if (quantity <= 0) {
                 continue;
             }
 
-            BigDecimal consumed = prm.getQuantity().multiply(BigDecimal.valueOf(quantityProduced));
-            BigDecimal currentStock = availableStock.get(prm.getRawMaterial().getId());
-            availableStock.put(prm.getRawMaterial().getId(), currentStock.subtract(consumed));
+            BigDecimal value = snapshot.productValue(product);
+            BigDecimal subtotal = value.multiply(BigDecimal.valueOf(quantity));
+            totalValue = totalValue.add(subtotal);
+
+            items.add(new ProductionItem(
+                    snapshot.productId(product),
+                    snapshot.productName(product),
+                    value,
+                    quantity,
+                    subtotal));
         }
+
+        return new ProductionSuggestionResponseDTO(List.copyOf(items), totalValue, strategy, upperBound, optimalityGap);
+    }
+
+    /**
+     * Sugestão acompanhada da versão do catálogo que a originou (usada como ETag).
+     */
+    public record VersionedSuggestion(String version, ProductionSuggestionResponseDTO suggestion) {
+    }
+
+    /**
+     * Parâmetros que identificam um cálculo de sugestão; variantes futuras acrescentam seus parâmetros aqui.
+     */
+    private record SuggestionKey(ProductionStrategy strategy, long catalogVersion) {
+    }
+
+    private record SuggestionTimerKey(ProductionStrategy strategy, String catalogSize) {
+    }
+
+    private record ResolvedScenario(long[] stock, Map<Integer, BigDecimal> values) {
+    }
+
+    private record CachedCatalog(long version, ProductionSnapshot snapshot,
+                                 Map<ProductionStrategy, ProductionSuggestionResponseDTO> suggestions) {
     }
-}
\ No newline at end of file
+}
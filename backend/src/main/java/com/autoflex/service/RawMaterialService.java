@@ -3,43 +3,75 @@ package com.autoflex.service;
 import com.autoflex.dto.PageResponseDTO;
 import com.autoflex.dto.RawMaterialCreateDTO;
 import com.autoflex.dto.RawMaterialResponseDTO;
+import com.autoflex.dto.StockAdjustmentDTO;
+import com.autoflex.dto.StockBalanceDTO;
 import com.autoflex.entity.RawMaterial;
+import com.autoflex.entity.StockMovementType;
+import com.autoflex.event.CatalogChangedEvent;
 import com.autoflex.exception.BusinessException;
+import com.autoflex.exception.ConflictException;
 import com.autoflex.exception.ResourceNotFoundException;
 import com.autoflex.mapper.RawMaterialMapper;
+import com.autoflex.repository.KeysetCursor;
 import com.autoflex.repository.ProductRawMaterialRepository;
 import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.repository.ReadOnly;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.transaction.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @ApplicationScoped
+@Timed(value = "autoflex.service", description = "Catalog service method execution time")
 public class RawMaterialService {
 
+    /**
+     * Tentativas de um ajuste de estoque antes de devolver 409 ao cliente.
+     */
+    static final int MAX_STOCK_ADJUSTMENT_ATTEMPTS = 5;
+
     private final RawMaterialRepository rawMaterialRepository;
     private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final StockLedger stockLedger;
+    private final Event<CatalogChangedEvent> catalogChanged;
 
     public RawMaterialService(RawMaterialRepository rawMaterialRepository,
-            ProductRawMaterialRepository productRawMaterialRepository) {
+            ProductRawMaterialRepository productRawMaterialRepository,
+            StockLedger stockLedger,
+            Event<CatalogChangedEvent> catalogChanged) {
         this.rawMaterialRepository = rawMaterialRepository;
         this.productRawMaterialRepository = productRawMaterialRepository;
+        this.stockLedger = stockLedger;
+        this.catalogChanged = catalogChanged;
     }
 
     /**
      * Retorna uma lista paginada de todas as matérias-primas, ordenadas por nome.
      */
-    public PageResponseDTO<RawMaterialResponseDTO> findAll(int pageIndex, int pageSize) {
-        PanacheQuery<RawMaterial> query = rawMaterialRepository.findAll(Sort.by("name").ascending())
+    @ReadOnly
+    public PageResponseDTO<RawMaterialResponseDTO> findAll(int pageIndex, int pageSize, boolean includeTotal) {
+        PanacheQuery<RawMaterial> query = rawMaterialRepository.findAll(Sort.by("name").and("id"))
                 .page(Page.of(pageIndex, pageSize));
 
         List<RawMaterialResponseDTO> items = query.list().stream()
                 .map(RawMaterialMapper::toResponse)
                 .toList();
 
+        if (!includeTotal) {
+            return new PageResponseDTO<>(items, pageIndex, pageSize, null, null, null);
+        }
         return new PageResponseDTO<>(
                 items,
                 pageIndex,
@@ -48,15 +80,56 @@ public class RawMaterialService {
                 query.pageCount());
     }
 
+    /**
+     * Retorna a página de matérias-primas seguinte ao cursor (ordem por nome e id), sem OFFSET.
+     * Busca um registro a mais para saber se existe próxima página; a contagem total é opcional.
+     */
+    @ReadOnly
+    public PageResponseDTO<RawMaterialResponseDTO> findAfter(String after, int pageSize, boolean includeTotal) {
+        if (pageSize < 1) {
+            throw new BusinessException("Page size must be positive");
+        }
+
+        List<RawMaterial> rows = rawMaterialRepository.findPageAfter(KeysetCursor.decode(after), pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<RawMaterial> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            RawMaterial last = page.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+
+        List<RawMaterialResponseDTO> items = page.stream()
+                .map(RawMaterialMapper::toResponse)
+                .toList();
+
+        Long totalElements = includeTotal ? rawMaterialRepository.count() : null;
+        Integer totalPages = includeTotal ? (int) ((totalElements + pageSize - 1) / pageSize) : null;
+        return new PageResponseDTO<>(items, null, pageSize, totalElements, totalPages, nextCursor);
+    }
+
     /**
      * Busca uma matéria-prima específica através do seu ID único.
      */
+    @ReadOnly
     public RawMaterialResponseDTO findById(Long id) {
         RawMaterial rawMaterial = rawMaterialRepository.findByIdOptional(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", id));
         return RawMaterialMapper.toResponse(rawMaterial);
     }
 
+    /**
+     * Saldo da matéria-prima no instante informado (ou agora), reconstruído a partir do livro de estoque.
+     */
+    @ReadOnly
+    public StockBalanceDTO stockAt(Long id, Instant at) {
+        if (rawMaterialRepository.findByIdOptional(id).isEmpty()) {
+            throw new ResourceNotFoundException("RawMaterial", id);
+        }
+        return stockLedger.balanceAt(id, at != null ? at : Instant.now());
+    }
+
     /**
      * Registra uma nova matéria-prima no sistema após validar a unicidade do nome.
      */
@@ -68,6 +141,11 @@ public class RawMaterialService {
         rawMaterial.setActive(true);
 
         rawMaterialRepository.persist(rawMaterial);
+        // Flush antes do lançamento: o insert da matéria-prima precisa preceder o do livro (chave estrangeira).
+        rawMaterialRepository.flush();
+        stockLedger.record(StockMovementType.RECEIPT, rawMaterial.getId(), rawMaterial.getStockQuantity(),
+                "Initial stock", null);
+        catalogChanged.fire(CatalogChangedEvent.rawMaterial(rawMaterial.getId()));
         return RawMaterialMapper.toResponse(rawMaterial);
     }
 
@@ -76,15 +154,85 @@ public class RawMaterialService {
      */
     @Transactional
     public RawMaterialResponseDTO update(Long id, RawMaterialCreateDTO dto) {
+        return update(id, dto, null);
+    }
+
+    /**
+     * Atualiza a matéria-prima somente se ela ainda estiver em uma das versões informadas (If-Match); null ignora
+     * a checagem.
+     */
+    @Transactional
+    public RawMaterialResponseDTO update(Long id, RawMaterialCreateDTO dto, Set<Long> expectedVersions) {
         RawMaterial rawMaterial = rawMaterialRepository.findByIdOptional(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", id));
+        OptimisticLocking.requireVersion(rawMaterial, expectedVersions, "RawMaterial " + id);
 
         validateUniqueName(dto.name(), id);
 
+        BigDecimal previousStock = rawMaterial.getStockQuantity();
         RawMaterialMapper.updateEntity(rawMaterial, dto);
+        // Flush para que a resposta (e o ETag) já traga a nova versão.
+        rawMaterialRepository.flush();
+        stockLedger.record(StockMovementType.ADJUSTMENT, id, rawMaterial.getStockQuantity().subtract(previousStock),
+                "Manual update", null);
+        catalogChanged.fire(CatalogChangedEvent.rawMaterial(id));
         return RawMaterialMapper.toResponse(rawMaterial);
     }
 
+    /**
+     * Soma um delta ao estoque (entrada positiva, saída negativa), lançado no livro como ajuste.
+     */
+    public RawMaterialResponseDTO adjustStock(Long id, BigDecimal delta) {
+        return adjustStock(id, new StockAdjustmentDTO(delta, null, null, null));
+    }
+
+    /**
+     * Soma o delta ao estoque e o lança no livro com o tipo, motivo e referência informados. Cada tentativa relê
+     * o saldo em uma nova transação; em conflito de versão com outra escrita a operação é repetida, até o limite.
+     */
+    public RawMaterialResponseDTO adjustStock(Long id, StockAdjustmentDTO adjustment) {
+        StockMovementType type = adjustment.type() != null ? adjustment.type() : StockMovementType.ADJUSTMENT;
+        if (type == StockMovementType.RECEIPT && adjustment.delta().signum() <= 0) {
+            throw new BusinessException("A stock receipt must have a positive delta");
+        }
+        if (type == StockMovementType.CONSUMPTION && adjustment.delta().signum() >= 0) {
+            throw new BusinessException("A stock consumption must have a negative delta");
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return QuarkusTransaction.requiringNew().call(() -> applyStockDelta(id, type, adjustment));
+            } catch (RuntimeException e) {
+                if (!OptimisticLocking.isConflict(e)) {
+                    throw e;
+                }
+                if (attempt == MAX_STOCK_ADJUSTMENT_ATTEMPTS) {
+                    throw new ConflictException("Stock of raw material " + id
+                            + " is being changed concurrently; try again");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Baixa de uma vez o consumo de várias matérias-primas. Se alguma não tiver estoque suficiente (ou estiver
+     * inativa), nada é gravado e a ConflictException desfaz a transação. A referência (id da execução) acompanha
+     * os lançamentos de consumo no livro.
+     */
+    @Transactional
+    public void consumeStock(SortedMap<Long, BigDecimal> consumption, String reference) {
+        int updated = rawMaterialRepository.consumeStock(consumption, Instant.now());
+        if (updated != consumption.size()) {
+            throw new ConflictException("Insufficient stock to execute the production plan");
+        }
+
+        SortedMap<Long, BigDecimal> movements = new TreeMap<>();
+        consumption.forEach((rawMaterialId, quantity) -> movements.put(rawMaterialId, quantity.negate()));
+        stockLedger.record(StockMovementType.CONSUMPTION, movements, "Production execution", reference);
+        // Um evento por matéria-prima: os índices em memória recalculam só o que depende dela.
+        consumption.keySet().forEach(rawMaterialId -> catalogChanged.fire(CatalogChangedEvent.rawMaterial(rawMaterialId)));
+    }
 
     /**
      * Realiza a exclusão lógica, impedindo a remoção se houver vínculo com produtos ativos.
@@ -102,6 +250,37 @@ public class RawMaterialService {
         }
 
         rawMaterial.setActive(false);
+        catalogChanged.fire(CatalogChangedEvent.rawMaterial(id));
+    }
+
+    private RawMaterialResponseDTO applyStockDelta(Long id, StockMovementType type, StockAdjustmentDTO adjustment) {
+        RawMaterial rawMaterial = rawMaterialRepository.findByIdOptional(id)
+                .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", id));
+
+        BigDecimal stockQuantity = rawMaterial.getStockQuantity().add(adjustment.delta());
+        if (stockQuantity.signum() < 0) {
+            throw new BusinessException("Stock adjustment would leave raw material '" + rawMaterial.getName()
+                    + "' with negative stock");
+        }
+
+        rawMaterial.setStockQuantity(stockQuantity);
+        rawMaterialRepository.flush();
+        stockLedger.record(type, id, adjustment.delta(), adjustment.reason(), adjustment.reference());
+        catalogChanged.fire(CatalogChangedEvent.rawMaterial(id));
+        return RawMaterialMapper.toResponse(rawMaterial);
+    }
+
+    /**
+     * Espera crescente com jitter entre tentativas, para que escritores concorrentes não colidam de novo.
+     */
+    private static void backOff(int attempt) {
+        long maxDelayMillis = 5L << attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxDelayMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Stock adjustment interrupted");
+        }
     }
 
     /**
@@ -0,0 +1,161 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.WhereUsedDTO;
+import com.autoflex.dto.WhereUsedDTO.UsedByProduct;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.exception.ResourceNotFoundException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.ReadOnly;
+import com.autoflex.repository.RawMaterialRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice inverso da composição em memória: para cada matéria-prima, os produtos ativos que a utilizam.
+ * Alterações efetivadas marcam apenas os produtos afetados, que são recarregados em uma consulta na próxima leitura;
+ * sem alterações pendentes a resposta sai direto do mapa, sem acessar o banco.
+ */
+@ApplicationScoped
+public class RawMaterialUsageIndex {
+
+    private static final Comparator<UsedByProduct> BY_PRODUCT_ID = Comparator.comparing(UsedByProduct::productId);
+
+    private final AtomicLong changes = new AtomicLong();
+    private final Set<Long> staleProducts = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Listas imutáveis (ordenadas por id do produto), substituídas inteiras a cada atualização.
+     */
+    private final Map<Long, List<UsedByProduct>> usedBy = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> materialsByProduct = new HashMap<>();
+
+    private volatile boolean rebuildRequired = true;
+    private volatile long appliedChanges = -1;
+
+    private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+
+    public RawMaterialUsageIndex(ProductRawMaterialRepository productRawMaterialRepository,
+                                 RawMaterialRepository rawMaterialRepository) {
+        this.productRawMaterialRepository = productRawMaterialRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+    }
+
+    /**
+     * Produtos ativos que usam a matéria-prima, com a quantidade consumida por unidade.
+     */
+    @ReadOnly
+    public WhereUsedDTO usedBy(Long rawMaterialId) {
+        if (rawMaterialRepository.findByIdOptional(rawMaterialId).isEmpty()) {
+            throw new ResourceNotFoundException("RawMaterial", rawMaterialId);
+        }
+        refresh();
+        List<UsedByProduct> products = usedBy.getOrDefault(rawMaterialId, List.of());
+        return new WhereUsedDTO(rawMaterialId, products.size(), products);
+    }
+
+    /**
+     * Marca o produto alterado (composição, nome ou status) para recarga; sem id, o índice é reconstruído.
+     */
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.RAW_MATERIAL) {
+            return;
+        }
+        if (event.id() == null) {
+            rebuildRequired = true;
+        } else {
+            staleProducts.add(event.id());
+        }
+        changes.incrementAndGet();
+    }
+
+    /**
+     * O contador é lido antes da consulta, como no cache da sugestão: uma alteração efetivada durante a recarga
+     * deixa o índice marcado como desatualizado e é aplicada na leitura seguinte.
+     */
+    private void refresh() {
+        if (appliedChanges == changes.get()) {
+            return;
+        }
+
+        refreshLock.lock();
+        try {
+            long version = changes.get();
+            if (appliedChanges == version) {
+                return;
+            }
+
+            // A consulta vem antes de qualquer alteração do índice: se falhar, o trabalho pendente continua marcado
+            if (rebuildRequired) {
+                List<CompositionLineRow> rows = productRawMaterialRepository.findActiveCompositionLines();
+                rebuildRequired = false;
+                staleProducts.clear();
+                usedBy.clear();
+                materialsByProduct.clear();
+                apply(Set.of(), rows);
+            } else if (!staleProducts.isEmpty()) {
+                Set<Long> products = new HashSet<>(staleProducts);
+                List<CompositionLineRow> rows = productRawMaterialRepository.findActiveCompositionLines(products);
+                staleProducts.removeAll(products);
+                apply(products, rows);
+            }
+            appliedChanges = version;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Substitui as entradas dos produtos recarregados pelas linhas lidas, regravando apenas as listas das
+     * matérias-primas envolvidas.
+     */
+    private void apply(Collection<Long> reloadedProducts, List<CompositionLineRow> rows) {
+        Set<Long> touched = new HashSet<>();
+        for (Long productId : reloadedProducts) {
+            Set<Long> previous = materialsByProduct.remove(productId);
+            if (previous != null) {
+                touched.addAll(previous);
+            }
+        }
+
+        Map<Long, List<UsedByProduct>> added = new HashMap<>();
+        for (CompositionLineRow row : rows) {
+            materialsByProduct.computeIfAbsent(row.productId(), id -> new HashSet<>()).add(row.rawMaterialId());
+            added.computeIfAbsent(row.rawMaterialId(), id -> new ArrayList<>())
+                    .add(new UsedByProduct(row.productId(), row.productName(), row.quantity()));
+            touched.add(row.rawMaterialId());
+        }
+
+        for (Long rawMaterialId : touched) {
+            List<UsedByProduct> products = new ArrayList<>();
+            for (UsedByProduct current : usedBy.getOrDefault(rawMaterialId, List.of())) {
+                if (!reloadedProducts.contains(current.productId())) {
+                    products.add(current);
+                }
+            }
+            products.addAll(added.getOrDefault(rawMaterialId, List.of()));
+
+            if (products.isEmpty()) {
+                usedBy.remove(rawMaterialId);
+            } else {
+                products.sort(BY_PRODUCT_ID);
+                usedBy.put(rawMaterialId, List.copyOf(products));
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.autoflex.service;
+
+import com.autoflex.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool dedicado aos cenários hipotéticos, separado do ForkJoinPool comum: o número de threads e a fila são
+ * limitados e cada requisição tem um prazo total, após o qual os cenários pendentes são cancelados.
+ */
+@ApplicationScoped
+public class ScenarioExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeBudget;
+
+    /**
+     * Sem autoflex.production.scenarios.threads o pool usa um thread por processador disponível: os cenários são
+     * CPU-bound e mais threads que núcleos só disputariam o processador.
+     */
+    public ScenarioExecutor(
+            @ConfigProperty(name = "autoflex.production.scenarios.threads") OptionalInt configuredThreads,
+            @ConfigProperty(name = "autoflex.production.scenarios.queue-size", defaultValue = "2000") int queueSize,
+            @ConfigProperty(name = "autoflex.production.scenarios.time-budget", defaultValue = "PT10S")
+            Duration timeBudget) {
+        int threads = configuredThreads.orElseGet(() -> Runtime.getRuntime().availableProcessors());
+        this.timeBudget = timeBudget;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executa as tarefas no pool e devolve os resultados na ordem recebida. Com a fila cheia ou o prazo esgotado,
+     * cancela o que ainda não terminou e lança ServiceBusyException; falhas das tarefas são propagadas.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<Future<T>> futures;
+        try {
+            futures = executor.invokeAll(tasks, timeBudget.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many scenarios in progress, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Scenario evaluation was interrupted");
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (CancellationException e) {
+                throw new ServiceBusyException(
+                        "Scenario evaluation exceeded the time budget of " + timeBudget + ", try fewer scenarios");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceBusyException("Scenario evaluation was interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Scenario evaluation failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "production-scenario-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
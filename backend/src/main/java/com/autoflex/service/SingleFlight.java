@@ -0,0 +1,68 @@
+package com.autoflex.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes idênticas: a primeira chamada de uma chave executa o cálculo e as que chegam enquanto
+ * ele está em andamento aguardam e recebem o mesmo resultado (ou a mesma exceção). Terminado o cálculo, a chave é
+ * liberada e a próxima chamada executa de novo; o cache de resultados, se houver, fica a cargo de quem chama.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Executa o cálculo para a chave ou aguarda o que já está em andamento para ela.
+     */
+    public V run(K key, Supplier<V> computation) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = computation.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Totais desde a inicialização: cálculos executados, chamadas atendidas por um cálculo em andamento e chaves
+     * em execução agora.
+     */
+    public Stats stats() {
+        return new Stats(executions.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public record Stats(long executions, long coalesced, int inFlight) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.StockBalanceDTO;
+import com.autoflex.entity.StockMovement;
+import com.autoflex.entity.StockMovementType;
+import com.autoflex.entity.StockSnapshot;
+import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.repository.StockMovementRepository;
+import com.autoflex.repository.StockSnapshotRepository;
+import com.autoflex.repository.StockTailRow;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Livro de movimentação de estoque (somente inserção) com fotografias periódicas do saldo por matéria-prima.
+ * Os lançamentos são gravados na mesma transação da alteração de estoque, e o saldo em um instante é obtido de
+ * uma fotografia mais a cauda de lançamentos posteriores, sem percorrer o livro inteiro.
+ */
+@ApplicationScoped
+public class StockLedger {
+
+    /**
+     * Lançamentos desta instância desde a última fotografia de cada matéria-prima. Serve apenas para decidir
+     * quando fotografar: após um restart a contagem recomeça e a cauda só fica um pouco mais longa.
+     */
+    private final Map<Long, Integer> movementsSinceSnapshot = new ConcurrentHashMap<>();
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final int snapshotInterval;
+
+    public StockLedger(StockMovementRepository stockMovementRepository,
+                       StockSnapshotRepository stockSnapshotRepository,
+                       RawMaterialRepository rawMaterialRepository,
+                       @ConfigProperty(name = "autoflex.stock.snapshot-interval", defaultValue = "100") int snapshotInterval) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Registra um lançamento por matéria-prima (quantidade com sinal; zeros são ignorados). Deve ser chamado
+     * depois que o UPDATE do estoque foi executado: com a linha já bloqueada, o horário do lançamento é sempre
+     * posterior ao de qualquer transação concorrente já efetivada. Os inserts vão ao banco em lote no commit.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(StockMovementType type, Map<Long, BigDecimal> quantities, String reason, String reference) {
+        Instant now = Instant.now();
+        List<Long> due = new ArrayList<>();
+
+        quantities.forEach((rawMaterialId, quantity) -> {
+            if (quantity.signum() == 0) {
+                return;
+            }
+            stockMovementRepository.persist(
+                    new StockMovement(rawMaterialId, type, quantity, reason, reference, now));
+            if (movementsSinceSnapshot.merge(rawMaterialId, 1, Integer::sum) >= snapshotInterval) {
+                movementsSinceSnapshot.remove(rawMaterialId);
+                due.add(rawMaterialId);
+            }
+        });
+
+        if (!due.isEmpty()) {
+            rawMaterialRepository.findStockQuantities(due).forEach((rawMaterialId, balance) ->
+                    stockSnapshotRepository.persist(new StockSnapshot(rawMaterialId, balance, now)));
+        }
+    }
+
+    /**
+     * Registra um único lançamento.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(StockMovementType type, Long rawMaterialId, BigDecimal quantity, String reason,
+                       String reference) {
+        record(type, Map.of(rawMaterialId, quantity), reason, reference);
+    }
+
+    /**
+     * Saldo da matéria-prima no instante informado: última fotografia até ele mais os lançamentos seguintes.
+     * Sem fotografia, o saldo parte de zero (histórico a partir da criação do livro).
+     */
+    public StockBalanceDTO balanceAt(Long rawMaterialId, Instant at) {
+        StockSnapshot snapshot = stockSnapshotRepository.findLatest(rawMaterialId, at).orElse(null);
+        Instant snapshotAt = snapshot != null ? snapshot.getTakenAt() : null;
+        BigDecimal opening = snapshot != null ? snapshot.getBalance() : BigDecimal.ZERO;
+
+        StockTailRow tail = stockMovementRepository.sumBetween(rawMaterialId, snapshotAt, at);
+        return new StockBalanceDTO(rawMaterialId, at, opening.add(tail.quantity()), snapshotAt, tail.movements());
+    }
+}
@@ -0,0 +1,249 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.SuggestionJobDTO;
+import com.autoflex.dto.SuggestionJobDTO.Status;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.exception.ResourceNotFoundException;
+import com.autoflex.exception.ServiceBusyException;
+import com.autoflex.service.ProductionSuggestionService.VersionedSuggestion;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cálculo da sugestão de produção em segundo plano, para catálogos grandes demais para uma requisição síncrona.
+ * Os jobs rodam em um pool limitado (threads e fila fixas; fila cheia responde 503) e os resultados ficam retidos
+ * até o TTL vencer ou até o limite de jobs concluídos ser atingido, quando os mais antigos são descartados.
+ */
+@ApplicationScoped
+public class SuggestionJobService {
+
+    private static final Logger LOG = Logger.getLogger(SuggestionJobService.class);
+
+    private static final int PROGRESS_STARTED = 10;
+    private static final int PROGRESS_CATALOG_LOADED = 50;
+    private static final int PROGRESS_DONE = 100;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final ProductionSuggestionService productionSuggestionService;
+    private final ThreadPoolExecutor executor;
+    private final Duration ttl;
+    private final int maxRetained;
+
+    public SuggestionJobService(
+            ProductionSuggestionService productionSuggestionService,
+            @ConfigProperty(name = "autoflex.production.jobs.threads", defaultValue = "2") int threads,
+            @ConfigProperty(name = "autoflex.production.jobs.queue-size", defaultValue = "16") int queueSize,
+            @ConfigProperty(name = "autoflex.production.jobs.ttl", defaultValue = "PT10M") Duration ttl,
+            @ConfigProperty(name = "autoflex.production.jobs.max-retained", defaultValue = "100") int maxRetained) {
+        this.productionSuggestionService = productionSuggestionService;
+        this.ttl = ttl;
+        this.maxRetained = maxRetained;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Enfileira o cálculo e retorna o job no estado QUEUED; com todas as threads ocupadas e a fila cheia,
+     * lança ServiceBusyException em vez de aceitar trabalho sem limite.
+     */
+    public SuggestionJobDTO submit(ProductionStrategy strategy) {
+        evictExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), strategy, Instant.now());
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> execute(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ServiceBusyException("Too many suggestion jobs in progress, try again later");
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Estado atual do job; jobs desconhecidos ou já descartados pelo TTL respondem 404.
+     */
+    public SuggestionJobDTO find(String jobId) {
+        evictExpired();
+        return getJob(jobId).toDTO();
+    }
+
+    /**
+     * Cancela o job. Na fila, ele sai sem executar; em execução, o cálculo para no próximo ponto de verificação
+     * e o resultado é descartado (a thread não é interrompida no meio de uma consulta ao banco).
+     * Jobs já concluídos permanecem como estão.
+     */
+    public SuggestionJobDTO cancel(String jobId) {
+        Job job = getJob(jobId);
+        if (job.cancel()) {
+            Future<?> future = job.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+            executor.purge();
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Executa o job na thread do pool. O contexto de requisição é ativado aqui porque o acesso ao banco fora de
+     * uma requisição HTTP exige um contexto ativo para a sessão do Hibernate.
+     */
+    @ActivateRequestContext
+    void execute(Job job) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            productionSuggestionService.currentSnapshot();
+            if (!job.advance(PROGRESS_CATALOG_LOADED)) {
+                return;
+            }
+            job.succeed(productionSuggestionService.currentSuggestion(job.strategy));
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Suggestion job %s failed", job.id);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Job getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Suggestion job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Remove os jobs concluídos há mais que o TTL e, se ainda houver mais concluídos que o limite, os mais antigos.
+     * Jobs na fila ou em execução nunca são removidos; seu número já é limitado pelo pool.
+     */
+    private void evictExpired() {
+        Instant expiredBefore = Instant.now().minus(ttl);
+        jobs.values().removeIf(job -> job.finishedBefore(expiredBefore));
+
+        List<Job> finished = jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing((Job job) -> job.finishedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - maxRetained; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "suggestion-job-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Estado mutável de um job; as transições são sincronizadas para que cancelamento e conclusão não se cruzem.
+     */
+    static final class Job {
+
+        private final String id;
+        private final ProductionStrategy strategy;
+        private final Instant createdAt;
+
+        private volatile Future<?> future;
+        private Status status = Status.QUEUED;
+        private int progress;
+        private Instant startedAt;
+        private volatile Instant finishedAt;
+        private VersionedSuggestion result;
+        private String error;
+
+        private Job(String id, ProductionStrategy strategy, Instant createdAt) {
+            this.id = id;
+            this.strategy = strategy;
+            this.createdAt = createdAt;
+        }
+
+        private synchronized boolean start() {
+            if (status != Status.QUEUED) {
+                return false;
+            }
+            status = Status.RUNNING;
+            progress = PROGRESS_STARTED;
+            startedAt = Instant.now();
+            return true;
+        }
+
+        private synchronized boolean advance(int reached) {
+            if (status != Status.RUNNING) {
+                return false;
+            }
+            progress = reached;
+            return true;
+        }
+
+        private synchronized void succeed(VersionedSuggestion suggestion) {
+            if (status == Status.RUNNING) {
+                result = suggestion;
+                progress = PROGRESS_DONE;
+                finish(Status.SUCCEEDED);
+            }
+        }
+
+        private synchronized void fail(String message) {
+            if (status == Status.RUNNING) {
+                error = message;
+                finish(Status.FAILED);
+            }
+        }
+
+        private synchronized boolean cancel() {
+            if (status.isFinished()) {
+                return false;
+            }
+            finish(Status.CANCELLED);
+            return true;
+        }
+
+        private void finish(Status finalStatus) {
+            status = finalStatus;
+            finishedAt = Instant.now();
+        }
+
+        private boolean finishedBefore(Instant instant) {
+            Instant finished = finishedAt;
+            return finished != null && finished.isBefore(instant);
+        }
+
+        private synchronized SuggestionJobDTO toDTO() {
+            return new SuggestionJobDTO(id, status, strategy, progress,
+                    result != null ? result.version() : null,
+                    createdAt, startedAt, finishedAt,
+                    result != null ? result.suggestion() : null,
+                    error);
+        }
+    }
+}
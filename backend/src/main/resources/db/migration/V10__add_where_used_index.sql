@@ -0,0 +1,4 @@
+-- Índice para a consulta inversa de composição (onde a matéria-prima é usada).
+-- Atende a verificação de uso na exclusão de matéria-prima e GET /api/raw-materials/{id}/used-by sem varrer a tabela.
+
+CREATE INDEX idx_prm_raw_material_active ON product_raw_material(raw_material_id, active);
@@ -0,0 +1,9 @@
+-- Índices compostos para a paginação por chave (seek) nas listagens ordenadas por nome.
+-- Cobrem o filtro de soft delete (active = 1) e a ordenação (name, id), dispensando OFFSET e ordenação em memória.
+-- Os índices simples em 'active' da V3 passam a ser redundantes (prefixo dos novos índices).
+
+DROP INDEX idx_product_active;
+DROP INDEX idx_raw_material_active;
+
+CREATE INDEX idx_product_active_name_id ON product(active, name, id);
+CREATE INDEX idx_raw_material_active_name_id ON raw_material(active, name, id);
@@ -0,0 +1,19 @@
+-- Sequências para geração de ids com otimizador pooled do Hibernate (allocationSize = 50).
+-- Com IDENTITY cada insert é executado imediatamente; com sequências os inserts são agrupados em lotes JDBC.
+-- Cada sequência começa em MAX(id) + 50: o Hibernate reserva o intervalo (valor - 49 .. valor), logo os
+-- primeiros ids gerados continuam após os valores de identidade já existentes.
+-- As colunas IDENTITY são GENERATED BY DEFAULT e aceitam os ids informados pela aplicação.
+
+DECLARE
+    v_start NUMBER;
+BEGIN
+    SELECT NVL(MAX(id), 0) + 50 INTO v_start FROM product;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE product_seq START WITH ' || v_start || ' INCREMENT BY 50';
+
+    SELECT NVL(MAX(id), 0) + 50 INTO v_start FROM raw_material;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE raw_material_seq START WITH ' || v_start || ' INCREMENT BY 50';
+
+    SELECT NVL(MAX(id), 0) + 50 INTO v_start FROM product_raw_material;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE product_raw_material_seq START WITH ' || v_start || ' INCREMENT BY 50';
+END;
+/
@@ -0,0 +1,6 @@
+-- Coluna de versão para lock otimista (@Version): cada UPDATE incrementa a versão e falha se outro
+-- processo gravou antes, sem manter locks pessimistas durante a edição.
+
+ALTER TABLE raw_material ADD version NUMBER(19) DEFAULT 0 NOT NULL;
+ALTER TABLE product ADD version NUMBER(19) DEFAULT 0 NOT NULL;
+ALTER TABLE product_raw_material ADD version NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,33 @@
+-- Livro de movimentação de estoque (somente inserção) e fotografias periódicas do saldo por matéria-prima.
+-- O saldo em um instante é a última fotografia até ele mais os lançamentos posteriores a ela (cauda curta).
+-- As matérias-primas existentes recebem uma fotografia de abertura com o estoque atual.
+
+CREATE SEQUENCE stock_movement_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE stock_snapshot_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_movement (
+    id NUMBER(19) PRIMARY KEY,
+    raw_material_id NUMBER(19) NOT NULL,
+    movement_type VARCHAR2(20) NOT NULL,
+    quantity NUMBER(19,4) NOT NULL,
+    reason VARCHAR2(255),
+    reference VARCHAR2(100),
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_stock_movement_raw_material FOREIGN KEY (raw_material_id) REFERENCES raw_material(id),
+    CONSTRAINT ck_stock_movement_type CHECK (movement_type IN ('RECEIPT', 'CONSUMPTION', 'ADJUSTMENT'))
+);
+
+CREATE INDEX idx_stock_movement_material_time ON stock_movement (raw_material_id, occurred_at);
+
+CREATE TABLE stock_snapshot (
+    id NUMBER(19) PRIMARY KEY,
+    raw_material_id NUMBER(19) NOT NULL,
+    balance NUMBER(19,4) NOT NULL,
+    taken_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_stock_snapshot_raw_material FOREIGN KEY (raw_material_id) REFERENCES raw_material(id)
+);
+
+CREATE INDEX idx_stock_snapshot_material_time ON stock_snapshot (raw_material_id, taken_at);
+
+INSERT INTO stock_snapshot (id, raw_material_id, balance, taken_at)
+SELECT stock_snapshot_seq.NEXTVAL, id, stock_quantity, SYSTIMESTAMP FROM raw_material;
@@ -0,0 +1,177 @@
+package com.autoflex.engine;
+
+import com.autoflex.entity.Product;
+import com.autoflex.entity.ProductRawMaterial;
+import com.autoflex.entity.RawMaterial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GreedyProductionPlanner")
+class GreedyProductionPlannerTest {
+
+    /**
+     * Compara o planejador em ponto fixo com o algoritmo original em BigDecimal sobre catálogos aleatórios.
+     */
+    @Test
+    @DisplayName("Should produce the same quantities as the BigDecimal algorithm")
+    void shouldMatchBigDecimalAlgorithm() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 200; round++) {
+            List<RawMaterial> materials = new ArrayList<>();
+            int materialCount = 1 + random.nextInt(8);
+            for (int i = 0; i < materialCount; i++) {
+                RawMaterial rm = new RawMaterial((long) i + 1, "RM" + i, BigDecimal.valueOf(random.nextInt(5_000_000), 4));
+                rm.setActive(random.nextInt(10) > 0);
+                materials.add(rm);
+            }
+
+            List<Product> products = new ArrayList<>();
+            int productCount = random.nextInt(12);
+            for (int j = 0; j < productCount; j++) {
+                Product product = new Product((long) j + 1, "P" + j, BigDecimal.valueOf(1 + random.nextInt(500_000), 2));
+                for (RawMaterial rm : materials) {
+                    if (random.nextInt(3) == 0) {
+                        ProductRawMaterial prm = new ProductRawMaterial((long) j * 100 + rm.getId(), product, rm,
+                                BigDecimal.valueOf(1 + random.nextInt(200_000), 4));
+                        prm.setActive(random.nextInt(8) > 0);
+                        product.getRawMaterials().add(prm);
+                    }
+                }
+                products.add(product);
+            }
+            products.sort(Comparator.comparing(Product::getValue).reversed());
+
+            Map<Long, Long> expected = referenceGreedy(products, materials);
+
+            ProductionSnapshot snapshot = snapshotOf(products, materials);
+            long[] quantities = GreedyProductionPlanner.plan(snapshot);
+
+            Map<Long, Long> actual = new HashMap<>();
+            for (int p = 0; p < snapshot.productCount(); p++) {
+                if (quantities[p] > 0) {
+                    actual.put(snapshot.productId(p), quantities[p]);
+                }
+            }
+            assertEquals(expected, actual, "round " + round);
+        }
+    }
+
+    /**
+     * Garante que produtos sem vínculos válidos fiquem fora da fotografia e que a composição use ponto fixo.
+     */
+    @Test
+    @DisplayName("Should compact only products with active composition lines")
+    void shouldCompactActiveLinesOnly() {
+        RawMaterial steel = new RawMaterial(10L, "Steel", new BigDecimal("12.5000"));
+        RawMaterial inactive = new RawMaterial(20L, "Inactive", new BigDecimal("1.0000"));
+        inactive.setActive(false);
+
+        Product withLines = new Product(1L, "With lines", new BigDecimal("10.00"));
+        withLines.addRawMaterial(new ProductRawMaterial(1L, null, steel, new BigDecimal("2.5000")));
+        Product onlyInactive = new Product(2L, "Only inactive", new BigDecimal("5.00"));
+        onlyInactive.addRawMaterial(new ProductRawMaterial(2L, null, inactive, new BigDecimal("1.0000")));
+
+        ProductionSnapshot snapshot = snapshotOf(List.of(withLines, onlyInactive),
+                List.of(steel, inactive));
+
+        assertEquals(1, snapshot.productCount());
+        assertEquals(1, snapshot.lineCount());
+        assertEquals(1000, snapshot.productValueCents(0));
+        assertEquals(25_000, snapshot.lineQuantity(0));
+        assertEquals(125_000, snapshot.materialStock(snapshot.lineMaterial(0)));
+        assertArrayEquals(new long[] { 5 }, GreedyProductionPlanner.plan(snapshot));
+    }
+
+    /**
+     * Monta a fotografia a partir do grafo de entidades, aplicando os mesmos filtros de ativo da consulta.
+     */
+    /**
+     * Saldos acima do limite do ponto fixo (válidos em NUMBER(19,4)) saturam em Long.MAX_VALUE em vez de falhar;
+     * consumos por unidade acima do limite são rejeitados com a matéria-prima na mensagem.
+     */
+    @Test
+    @DisplayName("Should saturate huge stock and reject line quantities beyond the fixed-point range")
+    void shouldHandleFixedPointBoundaries() {
+        ProductionSnapshot snapshot = ProductionSnapshot.builder()
+                .material(10L, new BigDecimal("999999999999999.9999"))
+                .material(20L, ProductionSnapshot.MAX_QUANTITY)
+                .material(30L, new BigDecimal("922337203685477.5806"))
+                .product(1L, "Bolt", new BigDecimal("1.00"))
+                .line(10L, new BigDecimal("1.0000"))
+                .build();
+
+        assertEquals(Long.MAX_VALUE, snapshot.materialStock(snapshot.materialIndex(10L)));
+        assertEquals(Long.MAX_VALUE, snapshot.materialStock(snapshot.materialIndex(20L)));
+        assertEquals(Long.MAX_VALUE - 1, snapshot.materialStock(snapshot.materialIndex(30L)));
+        assertEquals(Long.MAX_VALUE / 10_000, GreedyProductionPlanner.plan(snapshot)[0]);
+
+        assertEquals(Long.MAX_VALUE,
+                ProductionSnapshot.lineToFixedPoint(10L, ProductionSnapshot.MAX_QUANTITY));
+        ProductionSnapshot.Builder builder = ProductionSnapshot.builder()
+                .material(10L, BigDecimal.ONE)
+                .product(1L, "Bolt", new BigDecimal("1.00"));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> builder.line(10L, new BigDecimal("922337203685477.58071")));
+        assertTrue(error.getMessage().contains("raw material 10"));
+    }
+
+    private static ProductionSnapshot snapshotOf(List<Product> products, List<RawMaterial> rawMaterials) {
+        ProductionSnapshot.Builder builder = ProductionSnapshot.builder();
+        rawMaterials.forEach(rm -> builder.material(rm.getId(), rm.getStockQuantity()));
+
+        for (Product product : products) {
+            builder.product(product.getId(), product.getName(), product.getValue());
+            for (ProductRawMaterial prm : product.getRawMaterials()) {
+                if (prm.isActive() && prm.getRawMaterial().isActive()) {
+                    builder.line(prm.getRawMaterial().getId(), prm.getQuantity());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Implementação original (mapa de estoque em BigDecimal) usada como referência de comportamento.
+     */
+    private static Map<Long, Long> referenceGreedy(List<Product> products, List<RawMaterial> materials) {
+        Map<Long, BigDecimal> stock = new HashMap<>();
+        materials.forEach(rm -> stock.put(rm.getId(), rm.getStockQuantity()));
+
+        Map<Long, Long> result = new HashMap<>();
+        for (Product product : products) {
+            long max = Long.MAX_VALUE;
+            for (ProductRawMaterial prm : product.getRawMaterials()) {
+                if (!prm.isActive() || !prm.getRawMaterial().isActive()) {
+                    continue;
+                }
+                BigDecimal available = stock.getOrDefault(prm.getRawMaterial().getId(), BigDecimal.ZERO);
+                max = Math.min(max, available.divide(prm.getQuantity(), 0, RoundingMode.FLOOR).longValue());
+            }
+            max = max == Long.MAX_VALUE ? 0 : max;
+            if (max <= 0) {
+                continue;
+            }
+            for (ProductRawMaterial prm : product.getRawMaterials()) {
+                if (!prm.isActive() || !prm.getRawMaterial().isActive()) {
+                    continue;
+                }
+                Long id = prm.getRawMaterial().getId();
+                stock.put(id, stock.get(id).subtract(prm.getQuantity().multiply(BigDecimal.valueOf(max))));
+            }
+            result.put(product.getId(), max);
+        }
+        return result;
+    }
+}
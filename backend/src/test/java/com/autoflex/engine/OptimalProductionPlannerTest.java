@@ -0,0 +1,146 @@
+package com.autoflex.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OptimalProductionPlanner")
+class OptimalProductionPlannerTest {
+
+    private final OptimalProductionPlanner planner =
+            new OptimalProductionPlanner(10_000, Duration.ofSeconds(5), 4_000_000L);
+
+    /**
+     * Cenário clássico em que a escolha gulosa (maior valor primeiro) desperdiça estoque.
+     */
+    @Test
+    @DisplayName("Should beat greedy when the most valuable product wastes shared stock")
+    void shouldBeatGreedyOnSharedStock() {
+        // A: R$ 10,00 e consome 60 de aço; B: R$ 6,00 e consome 50 de aço. Estoque: 100.
+        long[] values = { 1000, 600 };
+        int[][] materials = { { 0 }, { 0 } };
+        String[][] quantities = { { "60" }, { "50" } };
+        String[] stock = { "100" };
+
+        ProductionPlan plan = planner.plan(snapshot(values, materials, quantities, stock), new long[] { 1, 0 });
+
+        assertArrayEquals(new long[] { 0, 2 }, plan.quantities());
+        assertEquals(1200, plan.valueCents());
+        assertEquals(0d, plan.optimalityGap());
+        assertFalse(plan.budgetExhausted());
+    }
+
+    /**
+     * Garante que a solução respeite o estoque de todas as matérias-primas compartilhadas.
+     */
+    @Test
+    @DisplayName("Should find the optimum over multiple shared materials")
+    void shouldSolveMultipleMaterials() {
+        // Mochila bidimensional com ótimo conhecido: 2 x P0 + 1 x P2 = 2400.
+        long[] values = { 700, 900, 1000 };
+        int[][] materials = { { 0, 1 }, { 0, 1 }, { 0, 1 } };
+        String[][] quantities = { { "3", "2" }, { "4", "4" }, { "4", "3" } };
+        String[] stock = { "10", "7" };
+
+        ProductionPlan plan = planner.plan(snapshot(values, materials, quantities, stock), new long[3]);
+
+        assertEquals(2400, plan.valueCents());
+        assertArrayEquals(new long[] { 2, 0, 1 }, plan.quantities());
+        assertEquals(plan.valueCents(), plan.upperBoundCents());
+    }
+
+    /**
+     * Verifica que quantidades fracionárias na composição (escala 4) não geram planos inviáveis.
+     */
+    @Test
+    @DisplayName("Should keep plans feasible with fractional quantities")
+    void shouldRespectFractionalQuantities() {
+        long[] values = { 150 };
+        int[][] materials = { { 0 } };
+        String[][] quantities = { { "0.1" } };
+        String[] stock = { "0.3" };
+
+        ProductionPlan plan = planner.plan(snapshot(values, materials, quantities, stock), new long[1]);
+
+        assertArrayEquals(new long[] { 3 }, plan.quantities());
+    }
+
+    /**
+     * Com orçamento esgotado, devolve a solução inicial e um limite superior válido.
+     */
+    @Test
+    @DisplayName("Should report the optimality gap when the node budget is exhausted")
+    void shouldReportGapWhenBudgetIsExhausted() {
+        OptimalProductionPlanner noBudget = new OptimalProductionPlanner(0, Duration.ofSeconds(5), 4_000_000L);
+
+        long[] values = { 1000, 600 };
+        int[][] materials = { { 0 }, { 0 } };
+        String[][] quantities = { { "60" }, { "50" } };
+        String[] stock = { "100" };
+
+        ProductionPlan plan = noBudget.plan(snapshot(values, materials, quantities, stock), new long[] { 1, 0 });
+
+        assertTrue(plan.budgetExhausted());
+        assertArrayEquals(new long[] { 1, 0 }, plan.quantities());
+        assertTrue(plan.upperBoundCents() >= 1200);
+        assertTrue(plan.optimalityGap() > 0d);
+    }
+
+    /**
+     * Nós ramificados ganham uma linha de limite por produto; quando o tableau deixa de caber no limite de células,
+     * o nó é completado pela regra gulosa e o limite dele continua em aberto no gap.
+     */
+    @Test
+    @DisplayName("Should complete nodes greedily when bound rows do not fit the tableau limit")
+    void shouldCompleteGreedilyWhenBoundRowsDoNotFit() {
+        // Raiz: 1 material x 2 produtos = (1 + 1) x (2 + 1 + 1) = 8 células; com uma linha de limite, 15.
+        OptimalProductionPlanner tight = new OptimalProductionPlanner(10_000, Duration.ofSeconds(5), 8);
+
+        long[] values = { 1000, 600 };
+        int[][] materials = { { 0 }, { 0 } };
+        String[][] quantities = { { "60" }, { "50" } };
+        String[] stock = { "100" };
+
+        ProductionPlan plan = tight.plan(snapshot(values, materials, quantities, stock), new long[2]);
+
+        assertArrayEquals(new long[] { 1, 0 }, plan.quantities());
+        assertEquals(1000, plan.valueCents());
+        assertTrue(plan.budgetExhausted());
+        assertTrue(plan.upperBoundCents() >= 1200);
+    }
+
+    /**
+     * Um catálogo vazio não deve gerar erro nem gap.
+     */
+    @Test
+    @DisplayName("Should return an empty plan when there are no candidates")
+    void shouldHandleEmptyCatalog() {
+        ProductionPlan plan = planner.plan(ProductionSnapshot.builder().build(), new long[0]);
+
+        assertEquals(0, plan.quantities().length);
+        assertEquals(0, plan.valueCents());
+        assertEquals(0d, plan.optimalityGap());
+    }
+
+    /**
+     * Monta a fotografia do cenário; valores em centavos e quantidades decimais como no banco.
+     */
+    private static ProductionSnapshot snapshot(long[] valueCents, int[][] materials, String[][] quantities,
+                                               String[] stock) {
+        ProductionSnapshot.Builder builder = ProductionSnapshot.builder();
+        for (int i = 0; i < stock.length; i++) {
+            builder.material(i, new BigDecimal(stock[i]));
+        }
+        for (int j = 0; j < valueCents.length; j++) {
+            builder.product(j, "P" + j, BigDecimal.valueOf(valueCents[j], 2));
+            for (int k = 0; k < materials[j].length; k++) {
+                builder.line(materials[j][k], new BigDecimal(quantities[j][k]));
+            }
+        }
+        return builder.build();
+    }
+}
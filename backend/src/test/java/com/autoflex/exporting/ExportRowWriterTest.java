@@ -0,0 +1,70 @@
+package com.autoflex.exporting;
+
+import com.autoflex.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExportRowWriter")
+class ExportRowWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "name", "stockQuantity");
+
+    private static String writeAll(ExportFormat format, Object[]... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportRowWriter writer = ExportRowWriter.open(format, out, new ObjectMapper(), COLUMNS)) {
+            for (Object[] row : rows) {
+                writer.write(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifica cabeçalho, aspas apenas quando necessárias, campos nulos vazios e decimais sem notação científica.
+     */
+    @Test
+    @DisplayName("Should write RFC 4180 CSV with a header")
+    void shouldWriteCsv() throws IOException {
+        String csv = writeAll(ExportFormat.CSV,
+                new Object[] { 1L, "Steel", new BigDecimal("1E+3") },
+                new Object[] { 2L, "Resin, \"clear\"", null });
+
+        assertEquals("id,name,stockQuantity\r\n"
+                + "1,Steel,1000\r\n"
+                + "2,\"Resin, \"\"clear\"\"\",\r\n", csv);
+    }
+
+    /**
+     * Garante um objeto JSON por linha, cada um terminado em quebra de linha, com nulos explícitos.
+     */
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteNdjson() throws IOException {
+        String ndjson = writeAll(ExportFormat.NDJSON,
+                new Object[] { 1L, "Steel", new BigDecimal("10.5000") },
+                new Object[] { 2L, "Multi\nline", null });
+
+        assertEquals("{\"id\":1,\"name\":\"Steel\",\"stockQuantity\":10.5000}\n"
+                + "{\"id\":2,\"name\":\"Multi\\nline\",\"stockQuantity\":null}\n", ndjson);
+    }
+
+    /**
+     * Valida o formato padrão (NDJSON) e a rejeição de formatos desconhecidos.
+     */
+    @Test
+    @DisplayName("Should default to NDJSON and reject unknown formats")
+    void shouldResolveFormat() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromString(null));
+        assertEquals(ExportFormat.CSV, ExportFormat.fromString(" CSV "));
+        assertThrows(BusinessException.class, () -> ExportFormat.fromString("xlsx"));
+    }
+}
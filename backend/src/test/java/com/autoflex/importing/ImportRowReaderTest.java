@@ -0,0 +1,90 @@
+package com.autoflex.importing;
+
+import com.autoflex.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ImportRowReader")
+class ImportRowReaderTest {
+
+    private static List<ImportRow> readAll(ImportFormat format, String content) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        try (ImportRowReader reader = ImportRowReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), new ObjectMapper())) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Verifica aspas, vírgulas e quebras de linha dentro de campos, CRLF, BOM e a numeração das linhas físicas.
+     */
+    @Test
+    @DisplayName("Should parse quoted CSV fields and keep physical line numbers")
+    void shouldParseQuotedCsv() throws IOException {
+        List<ImportRow> rows = readAll(ImportFormat.CSV,
+                "\uFEFFname,stockQuantity\r\n\"Resin, \"\"clear\"\"\",1\r\n\"Multi\nline\",2\r\n\r\nSteel , 3\n");
+
+        assertEquals(3, rows.size());
+        assertEquals("Resin, \"clear\"", rows.get(0).field("name"));
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Multi\nline", rows.get(1).field("name"));
+        assertEquals(3, rows.get(1).line());
+        assertEquals("Steel", rows.get(2).field("name"));
+        assertEquals("3", rows.get(2).field("stockQuantity"));
+        assertEquals(6, rows.get(2).line());
+    }
+
+    /**
+     * Garante que registros com número de colunas diferente do cabeçalho viram erro de linha.
+     */
+    @Test
+    @DisplayName("Should flag CSV rows with the wrong number of columns")
+    void shouldFlagWrongColumnCount() throws IOException {
+        List<ImportRow> rows = readAll(ImportFormat.CSV, "name,stockQuantity\nSteel,1,extra\n\"open,1\n");
+
+        assertEquals("Expected 2 columns, found 3", rows.get(0).error());
+        assertEquals("Unterminated quoted field", rows.get(1).error());
+    }
+
+    /**
+     * Verifica a leitura de NDJSON: números e textos viram texto, null vira ausente e JSON inválido vira erro.
+     */
+    @Test
+    @DisplayName("Should read NDJSON objects and flag malformed lines")
+    void shouldReadNdjson() throws IOException {
+        List<ImportRow> rows = readAll(ImportFormat.NDJSON, """
+                {"name": "Steel", "stockQuantity": 12.5}
+                {"name": null}
+                [1, 2]
+                {broken
+                """);
+
+        assertEquals("12.5", rows.get(0).field("stockQuantity"));
+        assertNull(rows.get(1).field("name"));
+        assertEquals("Expected a JSON object", rows.get(2).error());
+        assertEquals(4, rows.get(3).line());
+        assertNotNull(rows.get(3).error());
+    }
+
+    /**
+     * Garante que um corpo vazio seja rejeitado (não há cabeçalho para validar as colunas).
+     */
+    @Test
+    @DisplayName("Should reject an empty CSV body")
+    void shouldRejectEmptyCsv() {
+        assertThrows(BusinessException.class, () -> readAll(ImportFormat.CSV, ""));
+    }
+}
@@ -0,0 +1,140 @@
+package com.autoflex.jfr;
+
+import com.autoflex.engine.OptimalProductionPlanner;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.exception.GlobalExceptionHandler;
+import com.autoflex.exception.ResourceNotFoundException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.ProductRepository;
+import com.autoflex.service.ProductionSuggestionService;
+import com.autoflex.service.ScenarioExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.interceptor.InvocationContext;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JFR events")
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @Mock
+    InvocationContext invocationContext;
+
+    private Recording recording;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        recording.enable(SuggestionCalculationEvent.NAME).withThreshold(Duration.ZERO);
+        recording.enable(RepositoryCallEvent.NAME).withThreshold(Duration.ZERO);
+        recording.enable(ExceptionMappedEvent.NAME);
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    /**
+     * Encerra a gravação e devolve apenas os eventos com o nome informado.
+     */
+    private List<RecordedEvent> recorded(String eventName) throws Exception {
+        recording.stop();
+        Path file = tempDir.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+
+    /**
+     * O cálculo da sugestão registra estratégia, tamanho do catálogo e itens produzidos.
+     */
+    @Test
+    @DisplayName("Should record suggestion calculations with catalog sizes")
+    void shouldRecordSuggestionCalculation() throws Exception {
+        when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                new CompositionLineRow(1L, "Motor", new BigDecimal("500.00"), 10L, new BigDecimal("100.0000"),
+                        new BigDecimal("10.0000")),
+                new CompositionLineRow(1L, "Motor", new BigDecimal("500.00"), 11L, new BigDecimal("50.0000"),
+                        new BigDecimal("5.0000")),
+                new CompositionLineRow(2L, "Pump", new BigDecimal("100.00"), 10L, new BigDecimal("100.0000"),
+                        new BigDecimal("1000.0000"))));
+        ProductionSuggestionService service = new ProductionSuggestionService(productRawMaterialRepository,
+                new OptimalProductionPlanner(1_000, Duration.ofSeconds(1), 4_000_000L), new SimpleMeterRegistry(),
+                new ScenarioExecutor(OptionalInt.of(1), 10, Duration.ofSeconds(1)));
+
+        service.calculateSuggestion(ProductionStrategy.GREEDY);
+
+        List<RecordedEvent> events = recorded(SuggestionCalculationEvent.NAME);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("GREEDY", event.getString("strategy"));
+        assertEquals(2, event.getInt("productCount"));
+        assertEquals(2, event.getInt("materialCount"));
+        assertEquals(3, event.getInt("compositionLines"));
+        assertEquals(1, event.getInt("producedItems"));
+    }
+
+    /**
+     * Cada chamada interceptada registra o repositório, o método e o tamanho da coleção devolvida.
+     */
+    @Test
+    @DisplayName("Should record repository calls with the result size")
+    void shouldRecordRepositoryCall() throws Exception {
+        when(invocationContext.getTarget()).thenReturn(new ProductRepository());
+        when(invocationContext.getMethod())
+                .thenReturn(ProductRepository.class.getMethod("findByNames", Collection.class));
+        when(invocationContext.proceed()).thenReturn(List.of("a", "b"));
+
+        assertEquals(List.of("a", "b"), new RepositoryCallInterceptor().record(invocationContext));
+
+        List<RecordedEvent> events = recorded(RepositoryCallEvent.NAME);
+        assertEquals(1, events.size());
+        assertEquals("ProductRepository", events.get(0).getString("repository"));
+        assertEquals("findByNames", events.get(0).getString("method"));
+        assertEquals(2, events.get(0).getInt("resultCount"));
+    }
+
+    /**
+     * O mapeamento de exceções registra o tipo da exceção e o status devolvido.
+     */
+    @Test
+    @DisplayName("Should record mapped exceptions with the response status")
+    void shouldRecordMappedException() throws Exception {
+        new GlobalExceptionHandler().handleResourceNotFound(new ResourceNotFoundException("Product not found"));
+
+        List<RecordedEvent> events = recorded(ExceptionMappedEvent.NAME);
+        assertEquals(1, events.size());
+        assertEquals(ResourceNotFoundException.class.getName(), events.get(0).getString("exceptionType"));
+        assertEquals(404, events.get(0).getInt("status"));
+        assertEquals("Product not found", events.get(0).getString("message"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.autoflex.load;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Mede vazão e latência p99 das leituras com N clientes simultâneos (padrão 1000, -Dload.clients) contra o H2
+ * com latência simulada. O resultado de cada modo é impresso e anexado a target/load-test-results.txt.
+ * Execução: ./mvnw test -Pload-test (o modo virtual-threads é ignorado abaixo do Java 21).
+ */
+abstract class AbstractLoadTest {
+
+    private static final int RAW_MATERIALS = 30;
+    private static final int PRODUCTS = 20;
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    /**
+     * Nome do modo medido, usado no relatório.
+     */
+    abstract String mode();
+
+    @Test
+    void measureReadThroughput() throws IOException {
+        List<String> paths = seedCatalog();
+        int clients = Integer.getInteger("load.clients", 1000);
+        Duration warmUp = Duration.parse(System.getProperty("load.warm-up", "PT10S"));
+        Duration measurement = Duration.parse(System.getProperty("load.duration", "PT30S"));
+
+        LoadHarness.Result result = new LoadHarness(baseUri, paths).run(clients, warmUp, measurement);
+
+        String line = result.format(mode()) + " clients=" + clients + " java=" + Runtime.version().feature();
+        System.out.println(line);
+        Files.writeString(Path.of("target", "load-test-results.txt"), line + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        Assertions.assertEquals(0, result.errors(), "requests failed under load");
+    }
+
+    /**
+     * Catálogo pequeno com composição; as rotas medidas alternam listagens (consultas) e leituras por id.
+     */
+    private List<String> seedCatalog() {
+        List<Integer> rawMaterials = new ArrayList<>();
+        for (int i = 0; i < RAW_MATERIALS; i++) {
+            rawMaterials.add(given()
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            { "name": "Load Material %d", "stockQuantity": 1000.0000 }
+                            """.formatted(i))
+                    .post("/api/raw-materials")
+                    .then().statusCode(201)
+                    .extract().path("id"));
+        }
+
+        List<String> paths = new ArrayList<>(List.of("/api/products?size=20", "/api/raw-materials?size=20"));
+        for (int i = 0; i < PRODUCTS; i++) {
+            Integer productId = given()
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            { "name": "Load Product %d", "value": %d.00 }
+                            """.formatted(i, 10 + i))
+                    .post("/api/products")
+                    .then().statusCode(201)
+                    .extract().path("id");
+            for (int line = 0; line < 3; line++) {
+                given()
+                        .contentType(ContentType.JSON)
+                        .body("""
+                                { "rawMaterialId": %d, "quantity": 1.0000 }
+                                """.formatted(rawMaterials.get((i + line * 7) % RAW_MATERIALS)))
+                        .post("/api/products/" + productId + "/raw-materials")
+                        .then().statusCode(201);
+            }
+            paths.add("/api/products/" + productId + "/raw-materials");
+        }
+        return paths;
+    }
+}
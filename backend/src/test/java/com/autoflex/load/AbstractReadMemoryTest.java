@@ -0,0 +1,165 @@
+package com.autoflex.load;
+
+import com.autoflex.entity.Product;
+import com.autoflex.entity.ProductRawMaterial;
+import com.autoflex.entity.RawMaterial;
+import com.autoflex.service.ProductRawMaterialService;
+import com.autoflex.service.ProductService;
+import com.autoflex.service.RawMaterialService;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+/**
+ * Mede a memória alocada por requisição de leitura sobre um catálogo de 10.000 produtos (3 matérias-primas cada),
+ * chamando os serviços dentro de um contexto de requisição novo a cada chamada, como faz um GET, sem o custo do
+ * HTTP e do JSON. A alocação vem do contador por thread da JVM. O resultado de cada modo é impresso e anexado a
+ * target/load-test-results.txt. Execução: ./mvnw test -Pload-test (-Dread-memory.iterations, padrão 200).
+ */
+abstract class AbstractReadMemoryTest {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int RAW_MATERIALS = 100;
+    private static final int LINES_PER_PRODUCT = 3;
+    private static final int SEED_CHUNK = 500;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    ProductService productService;
+
+    @Inject
+    RawMaterialService rawMaterialService;
+
+    @Inject
+    ProductRawMaterialService productRawMaterialService;
+
+    /**
+     * Nome do modo medido, usado no relatório.
+     */
+    abstract String mode();
+
+    @Test
+    void measureMemoryPerRead() throws IOException {
+        List<Long> productIds = seedCatalog();
+        int iterations = Integer.getInteger("read-memory.iterations", 200);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(measure("GET /api/products?size=100", iterations,
+                i -> productService.findAll(i % (PRODUCTS / 100), 100, false)));
+        lines.add(measure("GET /api/products?size=1000", iterations / 10,
+                i -> productService.findAll(i % (PRODUCTS / 1000), 1000, false)));
+        lines.add(measure("GET /api/products/{id}", iterations,
+                i -> productService.findById(productIds.get(i * 37 % PRODUCTS))));
+        lines.add(measure("GET /api/products/{id}/raw-materials", iterations,
+                i -> productRawMaterialService.findByProductId(productIds.get(i * 37 % PRODUCTS))));
+        lines.add(measure("GET /api/raw-materials?size=100", iterations,
+                i -> rawMaterialService.findAll(0, 100, false)));
+
+        StringBuilder report = new StringBuilder();
+        for (String line : lines) {
+            String entry = "[read-memory " + mode() + "] " + line + " products=" + PRODUCTS;
+            System.out.println(entry);
+            report.append(entry).append(System.lineSeparator());
+        }
+        Files.writeString(Path.of("target", "load-test-results.txt"), report,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Aquece a rota com o mesmo número de chamadas e então mede bytes alocados e tempo médios por chamada.
+     */
+    private static String measure(String route, int iterations, IntConsumer read) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assertions.assertTrue(threads.isThreadAllocatedMemoryEnabled(), "thread allocation counter unavailable");
+
+        for (int i = 0; i < iterations; i++) {
+            inRequest(read, i);
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            inRequest(read, i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return String.format(Locale.ROOT, "%-36s %10.1f KiB/request %8.2f ms/request",
+                route, allocated / 1024.0 / iterations, elapsed / 1_000_000.0 / iterations);
+    }
+
+    /**
+     * Cada chamada tem seu próprio contexto de requisição e, portanto, sua própria sessão, descartada ao final; o
+     * contexto do método de teste é reativado em seguida.
+     */
+    private static void inRequest(IntConsumer read, int iteration) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        InjectableContext.ContextState testState = requestContext.isActive() ? requestContext.getState() : null;
+        requestContext.activate();
+        try {
+            read.accept(iteration);
+        } finally {
+            requestContext.terminate();
+            if (testState != null) {
+                requestContext.activate(testState);
+            }
+        }
+    }
+
+    /**
+     * Grava o catálogo direto pelo EntityManager, em lotes, porque 10.000 produtos pela API dominariam o tempo do
+     * teste.
+     */
+    private List<Long> seedCatalog() {
+        List<RawMaterial> rawMaterials = QuarkusTransaction.requiringNew().call(() -> {
+            List<RawMaterial> created = new ArrayList<>();
+            for (int i = 0; i < RAW_MATERIALS; i++) {
+                RawMaterial rawMaterial = new RawMaterial(null, "Memory Material " + i, new BigDecimal("100000.0000"));
+                entityManager.persist(rawMaterial);
+                created.add(rawMaterial);
+            }
+            return created;
+        });
+
+        List<Long> productIds = new ArrayList<>();
+        for (int chunk = 0; chunk < PRODUCTS; chunk += SEED_CHUNK) {
+            int first = chunk;
+            productIds.addAll(QuarkusTransaction.requiringNew().call(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int i = first; i < first + SEED_CHUNK; i++) {
+                    Product product = new Product(null, "Memory Product %05d".formatted(i),
+                            BigDecimal.valueOf(10 + i % 90));
+                    entityManager.persist(product);
+                    for (int line = 0; line < LINES_PER_PRODUCT; line++) {
+                        RawMaterial rawMaterial = entityManager.getReference(RawMaterial.class,
+                                rawMaterials.get((i + line * 7) % RAW_MATERIALS).getId());
+                        product.addRawMaterial(new ProductRawMaterial(null, product, rawMaterial, BigDecimal.ONE));
+                    }
+                    ids.add(product.getId());
+                }
+                entityManager.flush();
+                return ids;
+            }));
+        }
+        return productIds;
+    }
+}
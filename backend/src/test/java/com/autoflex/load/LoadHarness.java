@@ -0,0 +1,103 @@
+package com.autoflex.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de carga em laço fechado: cada cliente envia uma requisição, espera a resposta e envia a próxima,
+ * alternando entre as rotas informadas. Usa o HttpClient assíncrono, então 1000 clientes não exigem 1000 threads.
+ */
+final class LoadHarness {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    private final URI baseUri;
+    private final List<String> paths;
+
+    LoadHarness(URI baseUri, List<String> paths) {
+        this.baseUri = baseUri;
+        this.paths = paths;
+    }
+
+    /**
+     * Aquece o servidor e depois mede pelo tempo informado; só as requisições iniciadas na medição contam.
+     */
+    Result run(int clients, Duration warmUp, Duration measurement) {
+        drive(clients, warmUp, null);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long started = System.nanoTime();
+        drive(clients, measurement, new Recorder(latencies, errors));
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(sorted.length, errors.get(), sorted.length / elapsedSeconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    private void drive(int clients, Duration duration, Recorder recorder) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(i, deadline, recorder);
+        }
+        CompletableFuture.allOf(loops).join();
+    }
+
+    private CompletableFuture<Void> loop(int sequence, long deadline, Recorder recorder) {
+        if (System.nanoTime() - deadline > 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(paths.get(sequence % paths.size())))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (recorder != null) {
+                        recorder.record(System.nanoTime() - start, failure == null && response.statusCode() == 200);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(sequence + 1, deadline, recorder));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Recorder(ConcurrentLinkedQueue<Long> latencies, AtomicLong errors) {
+
+        void record(long nanos, boolean success) {
+            if (success) {
+                latencies.add(nanos);
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    record Result(long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+
+        String format(String mode) {
+            return String.format("%-16s requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms",
+                    mode, requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
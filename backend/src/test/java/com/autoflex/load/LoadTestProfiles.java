@@ -0,0 +1,43 @@
+package com.autoflex.load;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Perfis comparados pelo teste de carga. Os dois usam o mesmo banco, a mesma latência simulada e um pool de
+ * conexões maior que o pool de workers, para que o limite medido seja o modelo de threads e não o pool.
+ */
+public final class LoadTestProfiles {
+
+    private LoadTestProfiles() {
+    }
+
+    private static Map<String, String> common(boolean virtualThreads) {
+        Map<String, String> config = new HashMap<>();
+        config.put("quarkus.virtual-threads.enabled", Boolean.toString(virtualThreads));
+        config.put("quarkus.datasource.jdbc.max-size", "400");
+        config.put("quarkus.datasource.jdbc.acquisition-timeout", "PT30S");
+        config.put("quarkus.hibernate-orm.unsupported-properties.\"hibernate.session_factory.statement_inspector\"",
+                SimulatedLatencyInspector.class.getName());
+        config.put("autoflex.load.db-latency", "PT0.02S");
+        return config;
+    }
+
+    public static class WorkerPool implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return common(false);
+        }
+    }
+
+    public static class VirtualThreads implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return common(true);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.autoflex.load;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+@QuarkusTest
+@Tag("load")
+@TestProfile(ReadPathProfiles.ManagedSession.class)
+@DisplayName("Read memory — managed session")
+class ManagedSessionReadMemoryTest extends AbstractReadMemoryTest {
+
+    @Override
+    String mode() {
+        return "managed-session";
+    }
+}
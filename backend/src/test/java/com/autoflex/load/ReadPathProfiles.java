@@ -0,0 +1,37 @@
+package com.autoflex.load;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+/**
+ * Perfis comparados pelo benchmark de memória das leituras: a sessão gerenciada comum (antes) e a sessão somente
+ * leitura (depois). O log de SQL fica desligado para não somar ao consumo medido.
+ */
+public final class ReadPathProfiles {
+
+    private ReadPathProfiles() {
+    }
+
+    private static Map<String, String> reads(boolean readOnly) {
+        return Map.of(
+                "autoflex.persistence.read-only-reads", Boolean.toString(readOnly),
+                "quarkus.hibernate-orm.log.sql", "false");
+    }
+
+    public static class ManagedSession implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return reads(false);
+        }
+    }
+
+    public static class ReadOnlySession implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return reads(true);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.autoflex.load;
+
+import com.autoflex.metrics.StatementCountingInspector;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.time.Duration;
+
+/**
+ * Simula a latência de um Oracle remoto no H2 em memória: cada comando SQL bloqueia a thread da requisição pelo
+ * tempo configurado em autoflex.load.db-latency antes de ser executado. Usado apenas pelos perfis de carga; estende
+ * o inspetor da aplicação para que a contagem de comandos por requisição continue ativa.
+ */
+public class SimulatedLatencyInspector extends StatementCountingInspector {
+
+    private final long latencyMillis = ConfigProvider.getConfig()
+            .getOptionalValue("autoflex.load.db-latency", Duration.class)
+            .orElse(Duration.ZERO)
+            .toMillis();
+
+    @Override
+    public String inspect(String sql) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return super.inspect(sql);
+    }
+}
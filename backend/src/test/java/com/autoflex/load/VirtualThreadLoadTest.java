@@ -0,0 +1,28 @@
+package com.autoflex.load;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+@QuarkusTest
+@Tag("load")
+@TestProfile(LoadTestProfiles.VirtualThreads.class)
+@DisplayName("Load — virtual threads")
+class VirtualThreadLoadTest extends AbstractLoadTest {
+
+    /**
+     * Abaixo do Java 21 o @RunOnVirtualThread roda no pool de workers e a medição repetiria a do outro modo.
+     */
+    @BeforeEach
+    void requireVirtualThreads() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21+");
+    }
+
+    @Override
+    String mode() {
+        return "virtual-threads";
+    }
+}
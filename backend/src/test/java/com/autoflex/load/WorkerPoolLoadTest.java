@@ -0,0 +1,18 @@
+package com.autoflex.load;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+@QuarkusTest
+@Tag("load")
+@TestProfile(LoadTestProfiles.WorkerPool.class)
+@DisplayName("Load — worker pool")
+class WorkerPoolLoadTest extends AbstractLoadTest {
+
+    @Override
+    String mode() {
+        return "worker-pool";
+    }
+}
@@ -0,0 +1,170 @@
+package com.autoflex.metrics;
+
+import com.autoflex.resource.ProductResource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriInfo;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RequestDatabaseFilter")
+class RequestDatabaseFilterTest {
+
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private SimpleMeterRegistry registry;
+
+    @Mock
+    ContainerRequestContext request;
+
+    @Mock
+    ContainerResponseContext response;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        DatabaseUsageTracker.reset();
+    }
+
+    private RequestDatabaseFilter newFilter(int maxStatements) {
+        return new RequestDatabaseFilter(registry, true, maxStatements, Duration.ofSeconds(1));
+    }
+
+    private static SimpleResourceInfo resource(Class<?> resourceClass, String methodName) {
+        return new SimpleResourceInfo() {
+            @Override
+            public Class<?> getResourceClass() {
+                return resourceClass;
+            }
+
+            @Override
+            public String getMethodName() {
+                return methodName;
+            }
+
+            @Override
+            public Class<?>[] parameterTypes() {
+                return new Class<?>[0];
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("DatabaseUsageTracker")
+    class Tracking {
+
+        /**
+         * O inspetor devolve o SQL sem alteração; comandos, linhas e tempo são zerados na leitura.
+         */
+        @Test
+        @DisplayName("Should accumulate statements, rows and time until drained")
+        void shouldAccumulateUntilDrained() {
+            DatabaseTimingListener listener = new DatabaseTimingListener();
+
+            assertEquals("select 1", inspector.inspect("select 1"));
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            DatabaseUsageTracker.rowsFetched(42);
+
+            RequestDatabaseUsage usage = DatabaseUsageTracker.drain();
+            assertEquals(1, usage.statements());
+            assertEquals(42, usage.rows());
+            assertTrue(usage.databaseNanos() >= 0);
+            assertEquals(new RequestDatabaseUsage(0, 0, 0), DatabaseUsageTracker.drain());
+        }
+
+        /**
+         * Comandos executados em outra thread não entram na contagem da requisição atual.
+         */
+        @Test
+        @DisplayName("Should keep usage isolated per thread")
+        void shouldIsolateThreads() {
+            inspector.inspect("select 1");
+            CompletableFuture.runAsync(() -> inspector.inspect("select 2")).join();
+
+            assertEquals(1, DatabaseUsageTracker.drain().statements());
+        }
+    }
+
+    @Nested
+    @DisplayName("reportDatabaseUsage")
+    class Reporting {
+
+        /**
+         * Registra a contagem no resumo do endpoint e devolve comandos, linhas e tempo no Server-Timing.
+         */
+        @Test
+        @DisplayName("Should record statements and emit the Server-Timing header")
+        void shouldRecordAndEmitHeader() {
+            when(response.getHeaders()).thenReturn(headers);
+            RequestDatabaseFilter filter = newFilter(20);
+
+            filter.resetDatabaseUsage();
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            DatabaseUsageTracker.rowsFetched(7);
+            filter.reportDatabaseUsage(request, response, resource(ProductResource.class, "findAll"));
+
+            DistributionSummary summary = registry.get(RequestDatabaseFilter.METRIC)
+                    .tags("resource", "ProductResource", "method", "findAll")
+                    .summary();
+            assertEquals(1, summary.count());
+            assertEquals(2, summary.totalAmount());
+            assertEquals("db;dur=0.00, db-statements;desc=\"2\", db-rows;desc=\"7\"",
+                    headers.getFirst(RequestDatabaseFilter.SERVER_TIMING));
+            verifyNoInteractions(request);
+        }
+
+        /**
+         * Acima do orçamento de comandos, a requisição é identificada no log pelo método e pelo caminho.
+         */
+        @Test
+        @DisplayName("Should identify requests over the statement budget")
+        void shouldIdentifyRequestsOverBudget() {
+            when(response.getHeaders()).thenReturn(headers);
+            when(request.getMethod()).thenReturn("GET");
+            UriInfo uriInfo = mock(UriInfo.class);
+            when(uriInfo.getRequestUri()).thenReturn(URI.create("http://localhost/api/products"));
+            when(request.getUriInfo()).thenReturn(uriInfo);
+
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            newFilter(1).reportDatabaseUsage(request, response, resource(ProductResource.class, "findAll"));
+
+            verify(request).getMethod();
+            verify(uriInfo).getRequestUri();
+        }
+
+        /**
+         * Requisições sem recurso (rota inexistente) apenas descartam a contagem.
+         */
+        @Test
+        @DisplayName("Should ignore requests without a matched resource")
+        void shouldIgnoreUnmatchedRequests() {
+            inspector.inspect("select 1");
+            newFilter(0).reportDatabaseUsage(request, response, null);
+
+            assertTrue(registry.find(RequestDatabaseFilter.METRIC).summaries().isEmpty());
+            assertEquals(0, DatabaseUsageTracker.drain().statements());
+            verifyNoInteractions(response);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.autoflex.repository;
+
+import com.autoflex.entity.RawMaterial;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@QuarkusTest
+@DisplayName("Insert batching — Integration Tests")
+class InsertBatchingTest {
+
+        private static final int ROWS = 1_000;
+
+        @Inject
+        EntityManager entityManager;
+
+        @Inject
+        RawMaterialRepository rawMaterialRepository;
+
+        /**
+         * Com ids gerados por sequência (pooled, 50 por chamada) os 1.000 inserts viram ~20 lotes JDBC,
+         * em vez de 1.000 statements individuais como acontecia com IDENTITY.
+         */
+        @Test
+        @DisplayName("Should group 1,000 inserts into ~20 JDBC batches")
+        void shouldBatchInserts() {
+                AtomicInteger batches = new AtomicInteger();
+                AtomicInteger statements = new AtomicInteger();
+
+                QuarkusTransaction.requiringNew().run(() -> {
+                        entityManager.unwrap(Session.class).addEventListeners(new SessionEventListener() {
+                                @Override
+                                public void jdbcExecuteBatchStart() {
+                                        batches.incrementAndGet();
+                                }
+
+                                @Override
+                                public void jdbcExecuteStatementStart() {
+                                        statements.incrementAndGet();
+                                }
+                        });
+
+                        for (int i = 0; i < ROWS; i++) {
+                                rawMaterialRepository.persist(
+                                                new RawMaterial(null, "Batch Material " + i, BigDecimal.ONE));
+                        }
+                        rawMaterialRepository.flush();
+                });
+
+                Assertions.assertTrue(batches.get() >= 20 && batches.get() <= 21,
+                                "expected ~20 JDBC batches, got " + batches.get());
+                Assertions.assertTrue(statements.get() <= 25,
+                                "expected only sequence lookups outside batches, got " + statements.get());
+        }
+}
@@ -0,0 +1,100 @@
+package com.autoflex.repository;
+
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadOnlyInterceptor")
+class ReadOnlyInterceptorTest {
+
+    @Mock
+    Session session;
+
+    @Mock
+    TransactionManager transactionManager;
+
+    @Mock
+    InvocationContext invocationContext;
+
+    /**
+     * Fora de transação a leitura roda com a sessão somente leitura e flush manual, e o estado anterior é
+     * restaurado ao final.
+     */
+    @Test
+    @DisplayName("Should run reads outside transactions in a read-only session and restore it afterwards")
+    void shouldRunReadOnlyOutsideTransaction() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(session.isDefaultReadOnly()).thenReturn(false);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+        when(invocationContext.proceed()).thenReturn("result");
+
+        assertEquals("result", new ReadOnlyInterceptor(session, transactionManager, true).readOnly(invocationContext));
+
+        InOrder order = inOrder(session, invocationContext);
+        order.verify(session).setDefaultReadOnly(true);
+        order.verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+        order.verify(invocationContext).proceed();
+        order.verify(session).setHibernateFlushMode(FlushMode.AUTO);
+        order.verify(session).setDefaultReadOnly(false);
+    }
+
+    /**
+     * Se a leitura falhar, a sessão volta ao estado anterior antes de propagar a exceção.
+     */
+    @Test
+    @DisplayName("Should restore the session when the read fails")
+    void shouldRestoreSessionOnFailure() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(session.isDefaultReadOnly()).thenReturn(false);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+        when(invocationContext.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        ReadOnlyInterceptor interceptor = new ReadOnlyInterceptor(session, transactionManager, true);
+        assertThrows(IllegalStateException.class, () -> interceptor.readOnly(invocationContext));
+
+        verify(session).setHibernateFlushMode(FlushMode.AUTO);
+        verify(session).setDefaultReadOnly(false);
+    }
+
+    /**
+     * Dentro de uma transação de escrita a sessão não é alterada: as entidades lidas ainda podem ser gravadas.
+     */
+    @Test
+    @DisplayName("Should leave the session untouched inside a transaction")
+    void shouldNotChangeSessionInsideTransaction() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(invocationContext.proceed()).thenReturn("result");
+
+        assertEquals("result", new ReadOnlyInterceptor(session, transactionManager, true).readOnly(invocationContext));
+
+        verify(session, never()).setDefaultReadOnly(anyBoolean());
+        verify(session, never()).setHibernateFlushMode(any());
+    }
+
+    /**
+     * Com a propriedade desligada as leituras usam a sessão gerenciada comum, sem consultar a transação.
+     */
+    @Test
+    @DisplayName("Should leave the session untouched when disabled")
+    void shouldNotChangeSessionWhenDisabled() throws Exception {
+        when(invocationContext.proceed()).thenReturn("result");
+
+        assertEquals("result", new ReadOnlyInterceptor(session, transactionManager, false).readOnly(invocationContext));
+
+        verifyNoInteractions(session, transactionManager);
+    }
+}
@@ -0,0 +1,90 @@
+package com.autoflex.repository;
+
+import com.autoflex.entity.RawMaterial;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@QuarkusTest
+@DisplayName("Stock consumption chunking — Integration Tests")
+class StockConsumptionChunkingTest {
+
+        private static final int MATERIALS = RawMaterialRepository.MAX_IN_LIST * 2 + 1;
+
+        @Inject
+        EntityManager entityManager;
+
+        @Inject
+        RawMaterialRepository rawMaterialRepository;
+
+        private SortedMap<Long, BigDecimal> seedConsumption(String prefix, BigDecimal stock) {
+                return QuarkusTransaction.requiringNew().call(() -> {
+                        SortedMap<Long, BigDecimal> consumption = new TreeMap<>();
+                        for (int i = 0; i < MATERIALS; i++) {
+                                RawMaterial rawMaterial = new RawMaterial(null, prefix + " " + i, stock);
+                                rawMaterialRepository.persist(rawMaterial);
+                                consumption.put(rawMaterial.getId(), BigDecimal.ONE);
+                        }
+                        return consumption;
+                });
+        }
+
+        /**
+         * Um plano com mais ids do que cabem em um IN do Oracle é baixado em blocos de até 1.000, somando as
+         * linhas alteradas de todos eles.
+         */
+        @Test
+        @DisplayName("Should consume more than 1,000 materials in chunked UPDATEs")
+        void shouldConsumeInChunks() {
+                SortedMap<Long, BigDecimal> consumption = seedConsumption("Chunked Material", BigDecimal.TEN);
+                AtomicInteger statements = new AtomicInteger();
+
+                int updated = QuarkusTransaction.requiringNew().call(() -> {
+                        entityManager.unwrap(Session.class).addEventListeners(new SessionEventListener() {
+                                @Override
+                                public void jdbcExecuteStatementStart() {
+                                        statements.incrementAndGet();
+                                }
+                        });
+                        return rawMaterialRepository.consumeStock(consumption, Instant.now());
+                });
+
+                Assertions.assertEquals(MATERIALS, updated);
+                Assertions.assertEquals(3, statements.get());
+                BigDecimal last = QuarkusTransaction.requiringNew().call(() ->
+                                rawMaterialRepository.findStockQuantities(consumption.keySet())
+                                                .get(consumption.lastKey()));
+                Assertions.assertEquals(0, new BigDecimal("9").compareTo(last));
+        }
+
+        /**
+         * Com estoque insuficiente no primeiro bloco o total fica abaixo do número de matérias-primas, e os
+         * blocos seguintes não são executados.
+         */
+        @Test
+        @DisplayName("Should stop after a short chunk and report fewer updated rows")
+        void shouldStopAfterShortChunk() {
+                SortedMap<Long, BigDecimal> consumption = seedConsumption("Short Chunk Material", BigDecimal.ONE);
+                consumption.put(consumption.firstKey(), new BigDecimal("2"));
+
+                int updated = QuarkusTransaction.requiringNew().call(() -> {
+                        int rows = rawMaterialRepository.consumeStock(consumption, Instant.now());
+                        QuarkusTransaction.setRollbackOnly();
+                        return rows;
+                });
+
+                Assertions.assertEquals(RawMaterialRepository.MAX_IN_LIST - 1, updated);
+        }
+}
@@ -0,0 +1,191 @@
+package com.autoflex.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@DisplayName("Second-level Cache — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CacheResourceTest {
+
+        @Inject
+        SessionFactory sessionFactory;
+
+        private static Integer rawMaterialId;
+        private static Integer productId;
+
+        /**
+         * Cadastra uma matéria-prima e um produto que a utiliza.
+         */
+        @Test
+        @Order(0)
+        @DisplayName("SETUP — seed data for cache tests")
+        void seedTestData() {
+                rawMaterialId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Cache Steel",
+                                                    "stockQuantity": 40.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                productId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Cache Bracket",
+                                                    "value": 15.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": 4.0000
+                                                }
+                                                """.formatted(rawMaterialId))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+        }
+
+        /**
+         * A segunda leitura do produto com a composição sai inteira do cache de segundo nível.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("GET /api/products/{id} — should serve a warm read without SQL")
+        void shouldServeProductFromCache() {
+                Statistics statistics = sessionFactory.getStatistics();
+                getProduct();
+
+                statistics.clear();
+                getProduct()
+                                .body("rawMaterials[0].rawMaterialName", equalTo("Cache Steel"));
+
+                Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+                Assertions.assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        }
+
+        /**
+         * Um ajuste de estoque atualiza a entrada em cache: a leitura seguinte já traz o novo saldo.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("POST stock-adjustments — should not serve a stale cached raw material")
+        void shouldRefreshCachedRawMaterial() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "delta": 5.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials/" + rawMaterialId + "/stock-adjustments")
+                                .then()
+                                .statusCode(200);
+
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId)
+                                .then()
+                                .statusCode(200)
+                                .body("stockQuantity", equalTo(45.0f));
+        }
+
+        /**
+         * A exclusão lógica por update em massa invalida o cache: o produto deixa de ser encontrado.
+         */
+        @Test
+        @Order(3)
+        @DisplayName("DELETE /api/products/{id} — should evict the soft-deleted product")
+        void shouldEvictSoftDeletedProduct() {
+                given()
+                                .when()
+                                .delete("/api/products/" + productId)
+                                .then()
+                                .statusCode(204);
+
+                given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(404);
+        }
+
+        /**
+         * Matéria-prima inativada pela entidade continua no cache com active = false e não deve ser retornada.
+         */
+        @Test
+        @Order(4)
+        @DisplayName("DELETE /api/raw-materials/{id} — should not return a cached inactive raw material")
+        void shouldHideCachedInactiveRawMaterial() {
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId)
+                                .then()
+                                .statusCode(200);
+
+                given()
+                                .when()
+                                .delete("/api/raw-materials/" + rawMaterialId)
+                                .then()
+                                .statusCode(204);
+
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId)
+                                .then()
+                                .statusCode(404);
+        }
+
+        /**
+         * O endpoint de métricas lista as regiões cacheadas com acertos e faltas.
+         */
+        @Test
+        @Order(5)
+        @DisplayName("GET /api/cache/stats — should report region counters")
+        void shouldReportCacheStats() {
+                given()
+                                .when()
+                                .get("/api/cache/stats")
+                                .then()
+                                .statusCode(200)
+                                .body("statisticsEnabled", equalTo(true))
+                                .body("regions.region", hasItems("com.autoflex.entity.Product",
+                                                "com.autoflex.entity.RawMaterial",
+                                                "com.autoflex.entity.Product.rawMaterials"))
+                                .body("regions.find { it.region == 'com.autoflex.entity.RawMaterial' }.hits",
+                                                greaterThan(0));
+        }
+
+        private io.restassured.response.ValidatableResponse getProduct() {
+                return given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200);
+        }
+}
@@ -0,0 +1,132 @@
+package com.autoflex.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@DisplayName("Export Resource — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExportResourceTest {
+
+        private static Integer productId;
+
+        /**
+         * Cadastra um produto com um insumo vinculado e outro sem composição para os testes de exportação.
+         */
+        @Test
+        @Order(0)
+        @DisplayName("SETUP — seed data for export tests")
+        void seedTestData() {
+                Integer rawMaterialId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Export Resin, clear",
+                                                    "stockQuantity": 12.5000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                productId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Export Panel",
+                                                    "value": 300.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": 2.0000
+                                                }
+                                                """.formatted(rawMaterialId))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Export Empty Product",
+                                                    "value": 10.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201);
+        }
+
+        /**
+         * Exporta produtos em CSV: uma linha por vínculo, campos com vírgula entre aspas e produto sem composição
+         * com as colunas do insumo vazias.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("GET /api/export/products?format=csv — should stream products with compositions")
+        void shouldExportProductsCsv() {
+                given()
+                                .queryParam("format", "csv")
+                                .when()
+                                .get("/api/export/products")
+                                .then()
+                                .statusCode(200)
+                                .contentType(startsWith("text/csv"))
+                                .header("Content-Disposition", containsString("products.csv"))
+                                .body(startsWith("productId,productName,productValue,rawMaterialId,rawMaterialName,quantity\r\n"))
+                                .body(containsString(",Export Panel,300.00,"))
+                                .body(containsString(",\"Export Resin, clear\",2.0000\r\n"))
+                                .body(containsString(",Export Empty Product,10.00,,,\r\n"));
+        }
+
+        /**
+         * Exporta matérias-primas em NDJSON (formato padrão), um objeto por linha.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("GET /api/export/raw-materials — should stream NDJSON by default")
+        void shouldExportRawMaterialsNdjson() {
+                given()
+                                .when()
+                                .get("/api/export/raw-materials")
+                                .then()
+                                .statusCode(200)
+                                .contentType(startsWith("application/x-ndjson"))
+                                .body(containsString("\"name\":\"Export Resin, clear\",\"stockQuantity\":12.5"))
+                                .body(endsWith("}\n"));
+        }
+
+        /**
+         * Rejeita formatos de exportação desconhecidos com 400.
+         */
+        @Test
+        @Order(3)
+        @DisplayName("GET /api/export/products?format=xlsx — should return 400")
+        void shouldRejectUnknownFormat() {
+                given()
+                                .queryParam("format", "xlsx")
+                                .when()
+                                .get("/api/export/products")
+                                .then()
+                                .statusCode(400);
+        }
+}
@@ -0,0 +1,173 @@
+package com.autoflex.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@DisplayName("Import Resource — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ImportResourceTest {
+
+        /**
+         * Importa matérias-primas via CSV e verifica o relatório com as linhas rejeitadas.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("POST /api/import/raw-materials — should import CSV and report invalid rows")
+        void shouldImportRawMaterialsCsv() {
+                given()
+                                .contentType("text/csv")
+                                .body("""
+                                                name,stockQuantity
+                                                Import Steel,100
+                                                "Import Resin, clear",25.5
+                                                Import Broken,-3
+                                                """)
+                                .when()
+                                .post("/api/import/raw-materials")
+                                .then()
+                                .statusCode(200)
+                                .body("processed", equalTo(3))
+                                .body("created", equalTo(2))
+                                .body("failed", equalTo(1))
+                                .body("errors[0].line", equalTo(4))
+                                .body("errors[0].message", equalTo("stockQuantity cannot be negative"));
+
+                given()
+                                .queryParam("size", 100)
+                                .when()
+                                .get("/api/raw-materials")
+                                .then()
+                                .statusCode(200)
+                                .body("items.name", hasItems("Import Steel", "Import Resin, clear"));
+        }
+
+        /**
+         * Reimporta uma matéria-prima existente e verifica que o estoque é atualizado, sem duplicar o registro.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("POST /api/import/raw-materials — should update existing raw materials by name")
+        void shouldUpdateExistingRawMaterials() {
+                given()
+                                .contentType("application/x-ndjson")
+                                .body("""
+                                                {"name": "Import Steel", "stockQuantity": 80}
+                                                """)
+                                .when()
+                                .post("/api/import/raw-materials")
+                                .then()
+                                .statusCode(200)
+                                .body("created", equalTo(0))
+                                .body("updated", equalTo(1));
+        }
+
+        /**
+         * Importa composições por nome em NDJSON, rejeitando produto inexistente e linha malformada.
+         */
+        @Test
+        @Order(3)
+        @DisplayName("POST /api/import/compositions — should import NDJSON compositions")
+        void shouldImportCompositions() {
+                Integer productId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Import Table",
+                                                    "value": 150.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                given()
+                                .contentType("application/x-ndjson")
+                                .body("""
+                                                {"productName": "Import Table", "rawMaterialName": "Import Steel", "quantity": 4}
+                                                {"productName": "Import Ghost", "rawMaterialName": "Import Steel", "quantity": 1}
+                                                {"productName": "Import Table",
+                                                """)
+                                .when()
+                                .post("/api/import/compositions")
+                                .then()
+                                .statusCode(200)
+                                .body("processed", equalTo(3))
+                                .body("created", equalTo(1))
+                                .body("failed", equalTo(2))
+                                .body("errors.line", contains(2, 3))
+                                .body("errors[0].message", equalTo("Product 'Import Ghost' not found"));
+
+                given()
+                                .when()
+                                .get("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(200)
+                                .body("size()", equalTo(1))
+                                .body("[0].quantity", equalTo(4.0f));
+        }
+
+        /**
+         * Valida que o CSV sem colunas obrigatórias é rejeitado antes de qualquer gravação.
+         */
+        @Test
+        @Order(4)
+        @DisplayName("POST /api/import/raw-materials — should reject CSV without required columns")
+        void shouldRejectMissingColumns() {
+                given()
+                                .contentType("text/csv")
+                                .body("name\nImport Orphan\n")
+                                .when()
+                                .post("/api/import/raw-materials")
+                                .then()
+                                .statusCode(400)
+                                .body("message", equalTo("Missing required column(s): stockQuantity"));
+        }
+
+        /**
+         * Valida que formatos diferentes de CSV e NDJSON são recusados.
+         */
+        @Test
+        @Order(5)
+        @DisplayName("POST /api/import/raw-materials — should reject unsupported media types")
+        void shouldRejectUnsupportedMediaType() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("[]")
+                                .when()
+                                .post("/api/import/raw-materials")
+                                .then()
+                                .statusCode(415);
+        }
+
+        /**
+         * Importa milhares de linhas (vários blocos) e verifica que todas são gravadas.
+         */
+        @Test
+        @Order(6)
+        @DisplayName("POST /api/import/raw-materials — should import many chunks")
+        void shouldImportManyChunks() {
+                int rows = 5_000;
+                StringBuilder csv = new StringBuilder("name,stockQuantity\n");
+                for (int i = 0; i < rows; i++) {
+                        csv.append("Import Bulk ").append(i).append(',').append(i % 100).append('\n');
+                }
+
+                given()
+                                .contentType("text/csv")
+                                .body(csv.toString())
+                                .when()
+                                .post("/api/import/raw-materials")
+                                .then()
+                                .statusCode(200)
+                                .body("processed", equalTo(rows))
+                                .body("created", equalTo(rows))
+                                .body("failed", equalTo(0));
+        }
+}
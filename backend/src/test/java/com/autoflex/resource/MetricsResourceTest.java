@@ -0,0 +1,125 @@
+package com.autoflex.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@DisplayName("Metrics — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MetricsResourceTest {
+
+        /**
+         * Cadastra um produto com composição e calcula a sugestão, passando pelos pontos instrumentados; a sugestão
+         * recalculada lê o catálogo em uma única consulta.
+         */
+        @Test
+        @Order(0)
+        @DisplayName("SETUP — exercise the instrumented endpoints")
+        void exerciseInstrumentedEndpoints() {
+                Integer rawMaterialId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Metrics Steel",
+                                                    "stockQuantity": 30.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                Integer productId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Metrics Bracket",
+                                                    "value": 12.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": 3.0000
+                                                }
+                                                """.formatted(rawMaterialId))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .header(ServerTiming.HEADER, containsString("db;dur="))
+                                .header(ServerTiming.HEADER, ServerTiming.atMostStatements(1));
+        }
+
+        /**
+         * O timer da sugestão é publicado como histograma, com estratégia e faixa de tamanho do catálogo.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("GET /q/metrics — should expose the suggestion histogram")
+        void shouldExposeSuggestionHistogram() {
+                given()
+                                .when()
+                                .get("/q/metrics")
+                                .then()
+                                .statusCode(200)
+                                .body(containsString("autoflex_production_suggestion_seconds_bucket{"))
+                                .body(containsString("catalog_size=\"0-100\""))
+                                .body(containsString("strategy=\"greedy\""));
+        }
+
+        /**
+         * Os métodos dos serviços de catálogo são medidos por classe e método.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("GET /q/metrics — should expose service method timers")
+        void shouldExposeServiceTimers() {
+                given()
+                                .when()
+                                .get("/q/metrics")
+                                .then()
+                                .statusCode(200)
+                                .body(containsString("autoflex_service_seconds_count{"))
+                                .body(containsString("class=\"com.autoflex.service.ProductService\""))
+                                .body(containsString("class=\"com.autoflex.service.RawMaterialService\""))
+                                .body(containsString("class=\"com.autoflex.service.ProductRawMaterialService\""));
+        }
+
+        /**
+         * Espera por conexão do pool e comandos SQL por requisição são publicados junto com as demais métricas.
+         */
+        @Test
+        @Order(3)
+        @DisplayName("GET /q/metrics — should expose pool wait time and statements per request")
+        void shouldExposePersistenceMetrics() {
+                given()
+                                .when()
+                                .get("/q/metrics")
+                                .then()
+                                .statusCode(200)
+                                .body(containsString("agroal_blocking_time"))
+                                .body(containsString("hibernate_statements_total"))
+                                .body(containsString("autoflex_hibernate_statements_per_request_statements_count{"))
+                                .body(containsString("resource=\"ProductionSuggestionResource\""));
+        }
+}
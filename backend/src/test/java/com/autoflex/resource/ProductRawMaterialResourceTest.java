@@ -117,10 +117,34 @@ class ProductRawMaterialResourceTest {
         }
 
         /**
-         * Valida a remoção (inativação) de um insumo da lista de composição do produto.
+         * Verifica que a consulta inversa reflete o vínculo gravado, já com a quantidade atualizada.
          */
         @Test
         @Order(4)
+        @DisplayName("GET /api/raw-materials/{rmId}/used-by — should list the linked product")
+        void shouldListWhereUsed() {
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId + "/used-by")
+                                .then()
+                                .statusCode(200)
+                                .body("productCount", equalTo(1))
+                                .body("products[0].productId", equalTo(productId))
+                                .body("products[0].productName", equalTo("PRM Test Product"))
+                                .body("products[0].quantity", equalTo(25.0000f));
+
+                given()
+                                .when()
+                                .get("/api/raw-materials/99999/used-by")
+                                .then()
+                                .statusCode(404);
+        }
+
+        /**
+         * Valida a remoção (inativação) de um insumo da lista de composição do produto.
+         */
+        @Test
+        @Order(5)
         @DisplayName("DELETE /api/products/{id}/raw-materials/{rmId} — should remove association")
         void shouldRemoveAssociation() {
                 given()
@@ -135,13 +159,21 @@ class ProductRawMaterialResourceTest {
                                 .then()
                                 .statusCode(200)
                                 .body("$", empty());
+
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId + "/used-by")
+                                .then()
+                                .statusCode(200)
+                                .body("productCount", equalTo(0))
+                                .body("products", empty());
         }
 
         /**
          * Garante que a API retorne erro ao tentar manipular insumos de um produto inexistente.
          */
         @Test
-        @Order(5)
+        @Order(6)
         @DisplayName("POST — should return 404 for non-existent product")
         void shouldReturn404ForNonExistentProduct() {
                 given()
@@ -225,4 +225,265 @@ class ProductResourceTest {
                                 .then()
                                 .statusCode(404);
         }
+
+        /**
+         * Verifica o modo por cursor: sem contagem por padrão, com total quando solicitado e cursor para a próxima página.
+         */
+        @Test
+        @Order(9)
+        @DisplayName("GET /api/products?after= — should return keyset page with optional total")
+        void shouldReturnKeysetPage() {
+                given()
+                                .queryParam("after", "")
+                                .queryParam("size", 1)
+                                .when()
+                                .get("/api/products")
+                                .then()
+                                .statusCode(200)
+                                .body("items", hasSize(1))
+                                .body("totalElements", nullValue())
+                                .body("nextCursor", anyOf(nullValue(), not(emptyString())));
+
+                given()
+                                .queryParam("after", "")
+                                .queryParam("size", 1)
+                                .queryParam("includeTotal", true)
+                                .when()
+                                .get("/api/products")
+                                .then()
+                                .statusCode(200)
+                                .body("totalElements", greaterThanOrEqualTo(1))
+                                .body("totalPages", greaterThanOrEqualTo(1));
+        }
+
+        /**
+         * Regressão de N+1: a listagem com composição usa no máximo duas instruções e o detalhe no máximo uma
+         * (nenhuma quando o produto e a composição já estão no cache de segundo nível).
+         */
+        @Test
+        @Order(10)
+        @DisplayName("GET /api/products — should load compositions without per-row queries")
+        void shouldLoadCompositionsWithoutPerRowQueries() {
+                Integer rmId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Fetch Plan Material",
+                                                    "stockQuantity": 10.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                Integer productId = null;
+                for (int i = 0; i < 5; i++) {
+                        productId = given()
+                                        .contentType(ContentType.JSON)
+                                        .body("""
+                                                        {
+                                                            "name": "Fetch Plan Product %d",
+                                                            "value": 10.00
+                                                        }
+                                                        """.formatted(i))
+                                        .when()
+                                        .post("/api/products")
+                                        .then()
+                                        .statusCode(201)
+                                        .extract().path("id");
+
+                        given()
+                                        .contentType(ContentType.JSON)
+                                        .body("""
+                                                        {
+                                                            "rawMaterialId": %d,
+                                                            "quantity": 1.0000
+                                                        }
+                                                        """.formatted(rmId))
+                                        .when()
+                                        .post("/api/products/" + productId + "/raw-materials")
+                                        .then()
+                                        .statusCode(201);
+                }
+
+                given()
+                                .queryParam("size", 100)
+                                .queryParam("includeTotal", false)
+                                .when()
+                                .get("/api/products")
+                                .then()
+                                .statusCode(200)
+                                .header(ServerTiming.HEADER, ServerTiming.atMostStatements(2))
+                                .body("items.findAll { it.name.startsWith('Fetch Plan Product') }.rawMaterials.flatten().rawMaterialName",
+                                                everyItem(equalTo("Fetch Plan Material")));
+
+                given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .header(ServerTiming.HEADER, ServerTiming.atMostStatements(1))
+                                .body("rawMaterials", hasSize(1));
+        }
+
+        /**
+         * Garante que a ETag do produto mude quando só a composição muda e que continue aceita no If-Match.
+         */
+        @Test
+        @Order(11)
+        @DisplayName("GET /api/products/{id} — should change ETag when the composition changes")
+        void shouldChangeEtagWhenCompositionChanges() {
+                Integer productId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "ETag Composition Product",
+                                                    "value": 10.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                Integer rmId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "ETag Composition Material",
+                                                    "stockQuantity": 10.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                String before = given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .extract().header("ETag");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": 2.0000
+                                                }
+                                                """.formatted(rmId))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+
+                String after = given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .extract().header("ETag");
+
+                Assertions.assertNotEquals(before, after);
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .header("If-Match", after)
+                                .body("""
+                                                {
+                                                    "name": "ETag Composition Product",
+                                                    "value": 12.00
+                                                }
+                                                """)
+                                .when()
+                                .put("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .header("ETag", not(equalTo(after)));
+        }
+
+        /**
+         * If-Match exige comparação forte: a ETag fraca da versão atual não autoriza a gravação.
+         */
+        @Test
+        @Order(12)
+        @DisplayName("PUT /api/products/{id} — should reject a weak ETag in If-Match")
+        void shouldRejectWeakIfMatch() {
+                Integer productId = createProduct("Weak ETag Product");
+
+                String etag = given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .extract().header("ETag");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .header("If-Match", "W/" + etag)
+                                .body("""
+                                                {
+                                                    "name": "Weak ETag Product",
+                                                    "value": 12.00
+                                                }
+                                                """)
+                                .when()
+                                .put("/api/products/" + productId)
+                                .then()
+                                .statusCode(412);
+        }
+
+        /**
+         * Em uma lista de ETags no If-Match basta que uma delas corresponda à versão atual.
+         */
+        @Test
+        @Order(13)
+        @DisplayName("PUT /api/products/{id} — should accept an If-Match list with one current ETag")
+        void shouldAcceptIfMatchList() {
+                Integer productId = createProduct("Listed ETag Product");
+
+                String etag = given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .extract().header("ETag");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .header("If-Match", "\"999999\", " + etag)
+                                .body("""
+                                                {
+                                                    "name": "Listed ETag Product",
+                                                    "value": 12.00
+                                                }
+                                                """)
+                                .when()
+                                .put("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .header("ETag", not(equalTo(etag)));
+        }
+
+        private Integer createProduct(String name) {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "%s",
+                                                    "value": 10.00
+                                                }
+                                                """.formatted(name))
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+        }
 }
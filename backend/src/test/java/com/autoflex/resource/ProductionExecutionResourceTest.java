@@ -0,0 +1,235 @@
+package com.autoflex.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@DisplayName("ProductionExecution Resource — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProductionExecutionResourceTest {
+
+        private static Integer steelId;
+        private static Integer copperId;
+        private static Integer productId;
+
+        /**
+         * Cria o produto e as matérias-primas usados nos testes de execução.
+         */
+        @Test
+        @Order(0)
+        @DisplayName("SETUP — seed data for production execution tests")
+        void seedTestData() {
+                steelId = createRawMaterial("Execution Steel", "20.0000");
+                copperId = createRawMaterial("Execution Copper", "3.0000");
+                productId = createProduct("Execution Motor", "100.00");
+                linkRawMaterial(productId, steelId, "4.0000");
+                linkRawMaterial(productId, copperId, "0.5000");
+        }
+
+        /**
+         * Executa um plano e verifica que todas as matérias-primas consumidas foram baixadas.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("POST /api/production/executions — should deduct consumed stock")
+        void shouldDeductConsumedStock() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "items": [ { "productId": %d, "quantity": 2 } ]
+                                                }
+                                                """.formatted(productId))
+                                .when()
+                                .post("/api/production/executions")
+                                .then()
+                                .statusCode(200)
+                                .body("executionId", notNullValue())
+                                .body("consumedMaterials.find { it.rawMaterialId == %d }.quantity".formatted(steelId),
+                                                equalTo(8.0f));
+
+                assertStock(steelId, 12.0f);
+                assertStock(copperId, 2.0f);
+        }
+
+        /**
+         * Garante que a falta de uma única matéria-prima rejeita o plano inteiro sem alterar nenhum saldo.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("POST /api/production/executions — should reject the whole plan when any material is short")
+        void shouldRejectWholePlanWhenShort() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "items": [ { "productId": %d, "quantity": 3 } ]
+                                                }
+                                                """.formatted(productId))
+                                .when()
+                                .post("/api/production/executions")
+                                .then()
+                                .statusCode(409)
+                                .body("message", containsString(String.valueOf(steelId)));
+
+                assertStock(steelId, 12.0f);
+                assertStock(copperId, 2.0f);
+        }
+
+        /**
+         * Garante que uma versão de sugestão diferente da atual seja rejeitada sem baixar estoque.
+         * (A sugestão atual não é executada aqui porque consumiria o estoque dos demais testes.)
+         */
+        @Test
+        @Order(3)
+        @DisplayName("POST /api/production/executions — should reject a stale suggestion version")
+        void shouldRejectStaleSuggestionVersion() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "suggestionVersion": "W/\\"stale-0\\""
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/production/executions")
+                                .then()
+                                .statusCode(409)
+                                .body("message", containsString("stale"));
+
+                assertStock(steelId, 12.0f);
+        }
+
+        /**
+         * Dispara execuções concorrentes sobre o mesmo estoque: apenas as que cabem no saldo são aceitas e o
+         * estoque nunca fica negativo.
+         */
+        @Test
+        @Order(4)
+        @DisplayName("POST /api/production/executions — should never oversell under concurrency")
+        void shouldNeverOversellUnderConcurrency() throws Exception {
+                Integer boltId = createRawMaterial("Execution Bolt", "10.0000");
+                Integer frameId = createProduct("Execution Frame", "5.00");
+                linkRawMaterial(frameId, boltId, "1.0000");
+
+                String body = """
+                                {
+                                    "items": [ { "productId": %d, "quantity": 1 } ]
+                                }
+                                """.formatted(frameId);
+                Callable<Integer> execute = () -> given()
+                                .contentType(ContentType.JSON)
+                                .body(body)
+                                .when()
+                                .post("/api/production/executions")
+                                .then()
+                                .extract().statusCode();
+
+                ExecutorService executor = Executors.newFixedThreadPool(8);
+                List<Future<Integer>> results = new ArrayList<>();
+                try {
+                        for (int i = 0; i < 30; i++) {
+                                results.add(executor.submit(execute));
+                        }
+                        int accepted = 0;
+                        int rejected = 0;
+                        for (Future<Integer> result : results) {
+                                int status = result.get();
+                                if (status == 200) {
+                                        accepted++;
+                                } else if (status == 409) {
+                                        rejected++;
+                                }
+                        }
+                        Assertions.assertEquals(10, accepted);
+                        Assertions.assertEquals(20, rejected);
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                assertStock(boltId, 0.0f);
+        }
+
+        /**
+         * Valida que um plano sem itens nem versão de sugestão é rejeitado.
+         */
+        @Test
+        @Order(5)
+        @DisplayName("POST /api/production/executions — should return 400 for an empty plan")
+        void shouldRejectEmptyPlan() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("{}")
+                                .when()
+                                .post("/api/production/executions")
+                                .then()
+                                .statusCode(400);
+        }
+
+        private void assertStock(Integer rawMaterialId, float expected) {
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId)
+                                .then()
+                                .statusCode(200)
+                                .body("stockQuantity", equalTo(expected));
+        }
+
+        private Integer createRawMaterial(String name, String stockQuantity) {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "%s",
+                                                    "stockQuantity": %s
+                                                }
+                                                """.formatted(name, stockQuantity))
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+        }
+
+        private Integer createProduct(String name, String value) {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "%s",
+                                                    "value": %s
+                                                }
+                                                """.formatted(name, value))
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+        }
+
+        private void linkRawMaterial(Integer productId, Integer rawMaterialId, String quantity) {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": %s
+                                                }
+                                                """.formatted(rawMaterialId, quantity))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+        }
+}
@@ -2,6 +2,9 @@ package com.autoflex.resource;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 
 import static io.restassured.RestAssured.given;
@@ -12,6 +15,9 @@ import static org.hamcrest.Matchers.*;
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class ProductionSuggestionResourceTest {
 
+        @Inject
+        SessionFactory sessionFactory;
+
         /**
          * Popula o banco com produtos, insumos e estoque para testar o cálculo de sugestão.
          */
@@ -114,4 +120,389 @@ class ProductionSuggestionResourceTest {
                                                                 hasKey("subtotal"))))
                                 .body("totalValue", greaterThanOrEqualTo(0f));
         }
+
+        /**
+         * Verifica se a estratégia ótima é aceita e reporta o gap de otimalidade.
+         */
+        @Test
+        @Order(3)
+        @DisplayName("GET /api/production/suggestion?strategy=optimal — should report optimality gap")
+        void shouldReturnOptimalSuggestion() {
+                given()
+                                .queryParam("strategy", "optimal")
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .body("strategy", equalTo("OPTIMAL"))
+                                .body("upperBound", notNullValue())
+                                .body("optimalityGap", notNullValue());
+        }
+
+        /**
+         * Garante que estratégias desconhecidas sejam rejeitadas com erro de negócio.
+         */
+        @Test
+        @Order(4)
+        @DisplayName("GET /api/production/suggestion?strategy=unknown — should return 400")
+        void shouldRejectUnknownStrategy() {
+                given()
+                                .queryParam("strategy", "unknown")
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(400);
+        }
+
+        /**
+         * Garante que vínculos inativados sejam filtrados pela consulta e não limitem a produção.
+         */
+        @Test
+        @Order(5)
+        @DisplayName("GET /api/production/suggestion — should ignore inactive associations")
+        void shouldIgnoreInactiveAssociations() {
+                Integer emptyRmId = createRawMaterial("Suggestion Empty Stock", "0.0000");
+                Integer plasticRmId = createRawMaterial("Suggestion Plastic", "30.0000");
+                Integer productId = createProduct("Suggestion Panel", "9999.00");
+                linkRawMaterial(productId, plasticRmId, "3.0000");
+                linkRawMaterial(productId, emptyRmId, "1.0000");
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .body("items.productId", not(hasItem(productId)));
+
+                given()
+                                .when()
+                                .delete("/api/products/" + productId + "/raw-materials/" + emptyRmId)
+                                .then()
+                                .statusCode(204);
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .body("items.find { it.productId == %d }.quantityToProduce".formatted(productId),
+                                                equalTo(10));
+        }
+
+        /**
+         * Garante que o carregamento da sugestão use uma única instrução SQL, independente do tamanho do catálogo.
+         */
+        @Test
+        @Order(6)
+        @DisplayName("GET /api/production/suggestion — statement count should not grow with the catalog")
+        void shouldUseConstantStatementCount() {
+                Integer rmId = createRawMaterial("Suggestion Bulk Material", "1000.0000");
+                long before = countSuggestionStatements();
+
+                for (int i = 0; i < 5; i++) {
+                        Integer productId = createProduct("Suggestion Bulk " + i, "10.00");
+                        linkRawMaterial(productId, rmId, "1.0000");
+                }
+
+                long after = countSuggestionStatements();
+
+                Assertions.assertEquals(1, before);
+                Assertions.assertEquals(before, after);
+        }
+
+        /**
+         * Garante que, sem alterações no catálogo, a sugestão seja servida do cache e o ETag permita resposta 304.
+         */
+        @Test
+        @Order(7)
+        @DisplayName("GET /api/production/suggestion — should serve unchanged catalog from cache with ETag")
+        void shouldServeUnchangedCatalogFromCache() {
+                String etag = given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .header("ETag", notNullValue())
+                                .extract().header("ETag");
+
+                Assertions.assertEquals(0, countSuggestionStatements());
+
+                given()
+                                .header("If-None-Match", etag)
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(304);
+
+                createRawMaterial("Suggestion Cache Breaker", "1.0000");
+
+                given()
+                                .header("If-None-Match", etag)
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .header("ETag", not(equalTo(etag)));
+        }
+
+        /**
+         * Verifica a simulação de cenários: um resultado por cenário e nenhum efeito sobre a sugestão real.
+         */
+        @Test
+        @Order(8)
+        @DisplayName("POST /api/production/suggestion/scenarios — should return one suggestion per scenario")
+        void shouldEvaluateScenarios() {
+                Integer rmId = createRawMaterial("Scenario Resin", "10.0000");
+                Integer productId = createProduct("Scenario Bottle", "8888.00");
+                linkRawMaterial(productId, rmId, "1.0000");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                [
+                                                    { "stockOverrides": [] },
+                                                    { "stockOverrides": [ { "rawMaterialId": %d, "delta": 5 } ] },
+                                                    { "stockOverrides": [ { "rawMaterialId": %d, "multiplier": 0 } ] }
+                                                ]
+                                                """.formatted(rmId, rmId))
+                                .when()
+                                .post("/api/production/suggestion/scenarios")
+                                .then()
+                                .statusCode(200)
+                                .body("size()", equalTo(3))
+                                .body("[0].items.find { it.productId == %d }.quantityToProduce".formatted(productId),
+                                                equalTo(10))
+                                .body("[1].items.find { it.productId == %d }.quantityToProduce".formatted(productId),
+                                                equalTo(15))
+                                .body("[2].items.productId", not(hasItem(productId)));
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .body("items.find { it.productId == %d }.quantityToProduce".formatted(productId),
+                                                equalTo(10));
+        }
+
+        /**
+         * Garante que um lote vazio de cenários seja rejeitado pela validação.
+         */
+        @Test
+        @Order(9)
+        @DisplayName("POST /api/production/suggestion/scenarios — should return 400 for empty batch")
+        void shouldRejectEmptyScenarioBatch() {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("[]")
+                                .when()
+                                .post("/api/production/suggestion/scenarios")
+                                .then()
+                                .statusCode(400);
+        }
+
+        /**
+         * Verifica a capacidade isolada do produto, a atualização após um ajuste de estoque e que leituras sem
+         * alterações são respondidas da memória, sem consultas ao banco.
+         */
+        @Test
+        @Order(10)
+        @DisplayName("GET /api/production/capacity — should keep capacity up to date from memory")
+        void shouldServeCapacityFromMemory() {
+                Integer bronzeId = createRawMaterial("Capacity Bronze", "30.0000");
+                Integer gearId = createProduct("Capacity Gear", "80.00");
+                linkRawMaterial(gearId, bronzeId, "4.0000");
+
+                String gear = "items.find { it.productId == %d }".formatted(gearId);
+                given()
+                                .queryParam("size", 1000)
+                                .when()
+                                .get("/api/production/capacity")
+                                .then()
+                                .statusCode(200)
+                                .body(gear + ".capacity", equalTo(7))
+                                .body(gear + ".limitingRawMaterialId", equalTo(bronzeId));
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                { "delta": 10 }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials/" + bronzeId + "/stock-adjustments")
+                                .then()
+                                .statusCode(200);
+
+                given()
+                                .queryParam("sort", "name")
+                                .queryParam("size", 1000)
+                                .when()
+                                .get("/api/production/capacity")
+                                .then()
+                                .statusCode(200)
+                                .body(gear + ".capacity", equalTo(10));
+
+                Statistics statistics = sessionFactory.getStatistics();
+                statistics.clear();
+                given()
+                                .queryParam("sort", "capacity")
+                                .queryParam("direction", "asc")
+                                .when()
+                                .get("/api/production/capacity")
+                                .then()
+                                .statusCode(200)
+                                .body("items", not(empty()));
+                Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+                given()
+                                .queryParam("sort", "weight")
+                                .when()
+                                .get("/api/production/capacity")
+                                .then()
+                                .statusCode(400);
+        }
+
+        /**
+         * Verifica que as métricas de agrupamento contabilizam os cálculos de sugestão executados.
+         */
+        @Test
+        @Order(11)
+        @DisplayName("GET /api/production/suggestion/stats — should report coalescing counters")
+        void shouldReportCoalescingStats() {
+                given()
+                                .when()
+                                .get("/api/production/suggestion/stats")
+                                .then()
+                                .statusCode(200)
+                                .body("executions", greaterThan(0))
+                                .body("coalescedCalls", greaterThanOrEqualTo(0))
+                                .body("inFlight", equalTo(0));
+        }
+
+        /**
+         * Agenda a sugestão em segundo plano e acompanha o job até o resultado, que deve coincidir com o síncrono.
+         */
+        @Test
+        @Order(12)
+        @DisplayName("POST /api/production/suggestion/jobs — should compute the suggestion asynchronously")
+        void shouldComputeSuggestionJob() throws InterruptedException {
+                Float expectedTotal = given()
+                                .when()
+                                .get("/api/production/suggestion?strategy=optimal")
+                                .then()
+                                .statusCode(200)
+                                .extract().path("totalValue");
+
+                String jobId = given()
+                                .when()
+                                .post("/api/production/suggestion/jobs?strategy=optimal")
+                                .then()
+                                .statusCode(202)
+                                .header("Location", containsString("/api/production/suggestion/jobs/"))
+                                .body("status", anyOf(equalTo("QUEUED"), equalTo("RUNNING"), equalTo("SUCCEEDED")))
+                                .body("strategy", equalTo("OPTIMAL"))
+                                .extract().path("jobId");
+
+                String status = "QUEUED";
+                for (int attempt = 0; attempt < 100 && !status.equals("SUCCEEDED"); attempt++) {
+                        Thread.sleep(50);
+                        status = given()
+                                        .when()
+                                        .get("/api/production/suggestion/jobs/" + jobId)
+                                        .then()
+                                        .statusCode(200)
+                                        .extract().path("status");
+                }
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion/jobs/" + jobId)
+                                .then()
+                                .statusCode(200)
+                                .body("status", equalTo("SUCCEEDED"))
+                                .body("progress", equalTo(100))
+                                .body("suggestionVersion", notNullValue())
+                                .body("result.totalValue", equalTo(expectedTotal));
+
+                given()
+                                .when()
+                                .delete("/api/production/suggestion/jobs/" + jobId)
+                                .then()
+                                .statusCode(200)
+                                .body("status", equalTo("SUCCEEDED"));
+        }
+
+        /**
+         * Jobs desconhecidos (ou já expirados) respondem 404.
+         */
+        @Test
+        @Order(13)
+        @DisplayName("GET /api/production/suggestion/jobs/{id} — should return 404 for unknown jobs")
+        void shouldReturn404ForUnknownJob() {
+                given()
+                                .when()
+                                .get("/api/production/suggestion/jobs/unknown")
+                                .then()
+                                .statusCode(404);
+        }
+
+        private long countSuggestionStatements() {
+                Statistics statistics = sessionFactory.getStatistics();
+                statistics.clear();
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200);
+
+                return statistics.getPrepareStatementCount();
+        }
+
+        private Integer createRawMaterial(String name, String stockQuantity) {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "%s",
+                                                    "stockQuantity": %s
+                                                }
+                                                """.formatted(name, stockQuantity))
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+        }
+
+        private Integer createProduct(String name, String value) {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "%s",
+                                                    "value": %s
+                                                }
+                                                """.formatted(name, value))
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+        }
+
+        private void linkRawMaterial(Integer productId, Integer rawMaterialId, String quantity) {
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": %s
+                                                }
+                                                """.formatted(rawMaterialId, quantity))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+        }
 }
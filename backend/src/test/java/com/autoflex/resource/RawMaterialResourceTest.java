@@ -2,8 +2,18 @@ package com.autoflex.resource;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
@@ -217,4 +227,240 @@ class RawMaterialResourceTest {
                                 .then()
                                 .statusCode(404);
         }
+
+        /**
+         * Percorre a listagem por cursor até o fim, garantindo ordem por nome e ausência de repetições.
+         */
+        @Test
+        @Order(9)
+        @DisplayName("GET /api/raw-materials?after= — should walk every page with the keyset cursor")
+        void shouldWalkPagesWithCursor() {
+                for (String name : List.of("Keyset Gamma", "Keyset Alpha", "Keyset Beta")) {
+                        given()
+                                        .contentType(ContentType.JSON)
+                                        .body("""
+                                                        {
+                                                            "name": "%s",
+                                                            "stockQuantity": 1.0000
+                                                        }
+                                                        """.formatted(name))
+                                        .when()
+                                        .post("/api/raw-materials")
+                                        .then()
+                                        .statusCode(201);
+                }
+
+                List<String> names = new ArrayList<>();
+                String cursor = "";
+                do {
+                        Response page = given()
+                                        .queryParam("after", cursor)
+                                        .queryParam("size", 2)
+                                        .when()
+                                        .get("/api/raw-materials")
+                                        .then()
+                                        .statusCode(200)
+                                        .body("page", nullValue())
+                                        .body("totalElements", nullValue())
+                                        .extract().response();
+                        names.addAll(page.path("items.name"));
+                        cursor = page.path("nextCursor");
+                } while (cursor != null);
+
+                List<String> sorted = new ArrayList<>(names);
+                Collections.sort(sorted);
+                Assertions.assertEquals(sorted, names);
+                Assertions.assertEquals(new HashSet<>(names).size(), names.size());
+                Assertions.assertTrue(names.containsAll(List.of("Keyset Alpha", "Keyset Beta", "Keyset Gamma")));
+        }
+
+        /**
+         * Garante que um cursor adulterado seja rejeitado com erro de negócio.
+         */
+        @Test
+        @Order(10)
+        @DisplayName("GET /api/raw-materials?after=invalid — should return 400")
+        void shouldRejectInvalidCursor() {
+                given()
+                                .queryParam("after", "not-a-cursor")
+                                .when()
+                                .get("/api/raw-materials")
+                                .then()
+                                .statusCode(400);
+        }
+
+        /**
+         * Verifica o ciclo ETag / If-Match: a versão lida permite uma gravação, e a mesma versão é recusada depois.
+         */
+        @Test
+        @Order(11)
+        @DisplayName("PUT /api/raw-materials/{id} — should honour If-Match")
+        void shouldHonourIfMatch() {
+                Integer id = createRawMaterial("Versioned Steel", "10.0000");
+
+                String etag = given()
+                                .when()
+                                .get("/api/raw-materials/" + id)
+                                .then()
+                                .statusCode(200)
+                                .header("ETag", notNullValue())
+                                .extract().header("ETag");
+
+                String body = """
+                                {
+                                    "name": "Versioned Steel",
+                                    "stockQuantity": 15.0000
+                                }
+                                """;
+
+                String newEtag = given()
+                                .contentType(ContentType.JSON)
+                                .header("If-Match", etag)
+                                .body(body)
+                                .when()
+                                .put("/api/raw-materials/" + id)
+                                .then()
+                                .statusCode(200)
+                                .body("stockQuantity", equalTo(15.0f))
+                                .extract().header("ETag");
+                Assertions.assertNotEquals(etag, newEtag);
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .header("If-Match", etag)
+                                .body(body)
+                                .when()
+                                .put("/api/raw-materials/" + id)
+                                .then()
+                                .statusCode(412);
+        }
+
+        /**
+         * Dispara ajustes de estoque concorrentes no mesmo insumo: nenhum delta pode se perder.
+         */
+        @Test
+        @Order(12)
+        @DisplayName("POST /api/raw-materials/{id}/stock-adjustments — should not lose concurrent deltas")
+        void shouldApplyConcurrentAdjustments() throws Exception {
+                Integer id = createRawMaterial("Adjusted Copper", "100.0000");
+
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+                List<Future<Integer>> results = new ArrayList<>();
+                try {
+                        for (int i = 0; i < 12; i++) {
+                                String delta = i % 2 == 0 ? "5" : "-2";
+                                results.add(executor.submit(() -> given()
+                                                .contentType(ContentType.JSON)
+                                                .body("""
+                                                                { "delta": %s }
+                                                                """.formatted(delta))
+                                                .when()
+                                                .post("/api/raw-materials/" + id + "/stock-adjustments")
+                                                .then()
+                                                .extract().statusCode()));
+                        }
+                        for (Future<Integer> result : results) {
+                                Assertions.assertEquals(200, result.get());
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + id)
+                                .then()
+                                .statusCode(200)
+                                .body("stockQuantity", equalTo(118.0f));
+        }
+
+        /**
+         * Garante que um ajuste que deixaria o estoque negativo seja recusado.
+         */
+        @Test
+        @Order(13)
+        @DisplayName("POST /api/raw-materials/{id}/stock-adjustments — should reject negative stock")
+        void shouldRejectAdjustmentBelowZero() {
+                Integer id = createRawMaterial("Adjusted Tin", "1.0000");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                { "delta": -2 }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials/" + id + "/stock-adjustments")
+                                .then()
+                                .statusCode(400);
+        }
+
+        /**
+         * Reconstrói o saldo atual e um saldo passado a partir do livro de estoque.
+         */
+        @Test
+        @Order(14)
+        @DisplayName("GET /api/raw-materials/{id}/stock — should answer current and point-in-time balance")
+        void shouldAnswerPointInTimeBalance() {
+                Integer id = createRawMaterial("Ledger Nickel", "10.0000");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                { "delta": 5, "type": "RECEIPT", "reason": "Supplier delivery", "reference": "NF-123" }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials/" + id + "/stock-adjustments")
+                                .then()
+                                .statusCode(200);
+                String afterReceipt = Instant.now().toString();
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                { "delta": -3 }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials/" + id + "/stock-adjustments")
+                                .then()
+                                .statusCode(200);
+
+                given()
+                                .when()
+                                .get("/api/raw-materials/" + id + "/stock")
+                                .then()
+                                .statusCode(200)
+                                .body("quantity", equalTo(12.0f))
+                                .body("tailMovements", equalTo(3));
+
+                given()
+                                .queryParam("at", afterReceipt)
+                                .when()
+                                .get("/api/raw-materials/" + id + "/stock")
+                                .then()
+                                .statusCode(200)
+                                .body("quantity", equalTo(15.0f));
+
+                given()
+                                .queryParam("at", "yesterday")
+                                .when()
+                                .get("/api/raw-materials/" + id + "/stock")
+                                .then()
+                                .statusCode(400);
+        }
+
+        private Integer createRawMaterial(String name, String stockQuantity) {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "%s",
+                                                    "stockQuantity": %s
+                                                }
+                                                """.formatted(name, stockQuantity))
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+        }
 }
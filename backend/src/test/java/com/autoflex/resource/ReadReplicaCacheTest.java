@@ -0,0 +1,160 @@
+package com.autoflex.resource;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@TestProfile(ReadReplicaCacheTest.LaggingReplicaWithCache.class)
+@DisplayName("Read replica and second-level cache — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaCacheTest {
+
+        private static final String COOKIE = "autoflex-read-primary";
+        private static final Path SNAPSHOT = Path.of("target", "replica-cache-snapshot.sql").toAbsolutePath();
+
+        private static Integer rawMaterialId;
+        private static Integer productId;
+
+        @Inject
+        AgroalDataSource primary;
+
+        @Inject
+        @DataSource("replica")
+        AgroalDataSource replica;
+
+        /**
+         * Réplica atrasada como em {@link ReadReplicaRoutingTest}, mas com o cache de segundo nível ligado.
+         */
+        public static class LaggingReplicaWithCache implements QuarkusTestProfile {
+
+                @Override
+                public Map<String, String> getConfigOverrides() {
+                        return Map.of(
+                                        "quarkus.datasource.replica.jdbc.url",
+                                        "jdbc:h2:mem:replicadb;MODE=Oracle;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+                                        "autoflex.read-replica.read-your-writes-window", "PT1M");
+                }
+        }
+
+        /**
+         * Copia esquema e dados do primário para a réplica, como faria a replicação do banco.
+         */
+        private void replicate() throws SQLException {
+                String file = SNAPSHOT.toString().replace('\\', '/');
+                try (Connection connection = primary.getConnection();
+                                Statement statement = connection.createStatement()) {
+                        statement.execute("SCRIPT TO '" + file + "'");
+                }
+                try (Connection connection = replica.getConnection();
+                                Statement statement = connection.createStatement()) {
+                        statement.execute("DROP ALL OBJECTS");
+                        statement.execute("RUNSCRIPT FROM '" + file + "'");
+                }
+        }
+
+        /**
+         * Cria a matéria-prima e o produto que a consome e replica o estado para a réplica.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("SETUP — seed raw material and product on both databases")
+        void seedData() throws SQLException {
+                rawMaterialId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Cache Replica Steel",
+                                                    "stockQuantity": 20.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                productId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Cache Replica Motor",
+                                                    "value": 100.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": 4.0000
+                                                }
+                                                """.formatted(rawMaterialId))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+
+                replicate();
+        }
+
+        /**
+         * A execução baixa o estoque por UPDATE nativo, que remove a matéria-prima do cache. A leitura seguinte de
+         * outro cliente vem da réplica atrasada e não volta ao cache, então quem gravou lê o saldo novo no primário.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("GET /api/raw-materials/{id} — should not cache stale replica rows for primary readers")
+        void shouldNotCacheReplicaReads() {
+                String readPrimaryCookie = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "items": [ { "productId": %d, "quantity": 2 } ]
+                                                }
+                                                """.formatted(productId))
+                                .when()
+                                .post("/api/production/executions")
+                                .then()
+                                .statusCode(200)
+                                .cookie(COOKIE, notNullValue())
+                                .extract().cookie(COOKIE);
+
+                for (int i = 0; i < 2; i++) {
+                        given()
+                                        .when()
+                                        .get("/api/raw-materials/" + rawMaterialId)
+                                        .then()
+                                        .statusCode(200)
+                                        .body("stockQuantity", equalTo(20.0000f));
+                }
+
+                given()
+                                .cookie(COOKIE, readPrimaryCookie)
+                                .when()
+                                .get("/api/raw-materials/" + rawMaterialId)
+                                .then()
+                                .statusCode(200)
+                                .body("stockQuantity", equalTo(12.0000f));
+        }
+}
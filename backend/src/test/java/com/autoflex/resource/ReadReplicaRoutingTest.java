@@ -0,0 +1,229 @@
+package com.autoflex.resource;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@TestProfile(ReadReplicaRoutingTest.LaggingReplica.class)
+@DisplayName("Read replica routing — Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingTest {
+
+        private static final String COOKIE = "autoflex-read-primary";
+        private static final Path SNAPSHOT = Path.of("target", "replica-snapshot.sql").toAbsolutePath();
+
+        private static Integer productId;
+        private static String readPrimaryCookie;
+
+        @Inject
+        AgroalDataSource primary;
+
+        @Inject
+        @DataSource("replica")
+        AgroalDataSource replica;
+
+        /**
+         * Réplica em outra instância H2, atualizada somente quando o teste replica o primário: entre uma cópia e
+         * outra ela fica atrasada, como uma réplica real com lag. Sem cache de segundo nível, para que cada leitura
+         * vá ao banco escolhido.
+         */
+        public static class LaggingReplica implements QuarkusTestProfile {
+
+                @Override
+                public Map<String, String> getConfigOverrides() {
+                        return Map.of(
+                                        "quarkus.datasource.replica.jdbc.url",
+                                        "jdbc:h2:mem:replicadb;MODE=Oracle;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+                                        "quarkus.hibernate-orm.second-level-caching-enabled", "false",
+                                        "autoflex.read-replica.read-your-writes-window", "PT1M");
+                }
+        }
+
+        /**
+         * Copia esquema e dados do primário para a réplica, como faria a replicação do banco.
+         */
+        private void replicate() throws SQLException {
+                String file = SNAPSHOT.toString().replace('\\', '/');
+                try (Connection connection = primary.getConnection();
+                                Statement statement = connection.createStatement()) {
+                        statement.execute("SCRIPT TO '" + file + "'");
+                }
+                try (Connection connection = replica.getConnection();
+                                Statement statement = connection.createStatement()) {
+                        statement.execute("DROP ALL OBJECTS");
+                        statement.execute("RUNSCRIPT FROM '" + file + "'");
+                }
+        }
+
+        /**
+         * A escrita vai ao primário e a resposta fixa o cliente no primário pela janela configurada.
+         */
+        @Test
+        @Order(1)
+        @DisplayName("POST /api/products — should write to the primary and set the read-your-writes cookie")
+        void shouldWriteToPrimary() throws SQLException {
+                replicate();
+
+                var response = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Replica Gear",
+                                                    "value": 42.00
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/products")
+                                .then()
+                                .statusCode(201)
+                                .cookie(COOKIE, notNullValue())
+                                .extract();
+
+                productId = response.path("id");
+                readPrimaryCookie = response.cookie(COOKIE);
+        }
+
+        /**
+         * Outro cliente, sem o cookie, lê da réplica, que ainda não recebeu o produto.
+         */
+        @Test
+        @Order(2)
+        @DisplayName("GET /api/products/{id} — should read from the lagging replica without the cookie")
+        void shouldReadFromReplica() {
+                given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(404)
+                                .header("Set-Cookie", nullValue());
+        }
+
+        /**
+         * O cliente que gravou lê do primário dentro da janela e enxerga o próprio produto.
+         */
+        @Test
+        @Order(3)
+        @DisplayName("GET /api/products/{id} — should read its own write from the primary with the cookie")
+        void shouldReadOwnWriteFromPrimary() {
+                given()
+                                .cookie(COOKIE, readPrimaryCookie)
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .body("name", equalTo("Replica Gear"));
+        }
+
+        /**
+         * Um cookie montado pelo cliente, sem a assinatura do servidor, não fixa o primário, mesmo com o fim da
+         * janela em um futuro distante.
+         */
+        @Test
+        @Order(4)
+        @DisplayName("GET /api/products/{id} — should ignore a forged cookie")
+        void shouldIgnoreForgedCookie() {
+                given()
+                                .cookie(COOKIE, "99999999999999")
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(404);
+        }
+
+        /**
+         * Depois que a réplica alcança o primário, as leituras sem cookie também encontram o produto.
+         */
+        @Test
+        @Order(5)
+        @DisplayName("GET /api/products/{id} — should find the product once the replica caught up")
+        void shouldReadFromReplicaAfterReplication() throws SQLException {
+                replicate();
+
+                given()
+                                .when()
+                                .get("/api/products/" + productId)
+                                .then()
+                                .statusCode(200)
+                                .body("name", equalTo("Replica Gear"));
+        }
+
+        /**
+         * A recarga da sugestão e do índice de capacidade após uma escrita lê do primário: um cliente sem o cookie
+         * já vê a composição nova, mesmo com a réplica atrasada.
+         */
+        @Test
+        @Order(6)
+        @DisplayName("GET /api/production/* — should reload the in-memory catalog from the primary")
+        void shouldReloadCatalogFromPrimary() {
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200);
+                given()
+                                .when()
+                                .get("/api/production/capacity")
+                                .then()
+                                .statusCode(200);
+
+                Integer rawMaterialId = given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "name": "Replica Steel",
+                                                    "stockQuantity": 100.0000
+                                                }
+                                                """)
+                                .when()
+                                .post("/api/raw-materials")
+                                .then()
+                                .statusCode(201)
+                                .extract().path("id");
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body("""
+                                                {
+                                                    "rawMaterialId": %d,
+                                                    "quantity": 10.0000
+                                                }
+                                                """.formatted(rawMaterialId))
+                                .when()
+                                .post("/api/products/" + productId + "/raw-materials")
+                                .then()
+                                .statusCode(201);
+
+                given()
+                                .when()
+                                .get("/api/production/suggestion")
+                                .then()
+                                .statusCode(200)
+                                .body("items.find { it.productId == %d }.quantityToProduce".formatted(productId),
+                                                equalTo(10));
+
+                given()
+                                .queryParam("size", 1000)
+                                .when()
+                                .get("/api/production/capacity")
+                                .then()
+                                .statusCode(200)
+                                .body("items.find { it.productId == %d }.capacity".formatted(productId), equalTo(10))
+                                .body("items.find { it.productId == %d }.limitingRawMaterialId".formatted(productId),
+                                                equalTo(rawMaterialId));
+        }
+}
@@ -0,0 +1,43 @@
+package com.autoflex.resource;
+
+import org.hamcrest.FeatureMatcher;
+import org.hamcrest.Matcher;
+
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Matchers para o cabeçalho Server-Timing, usados para limitar os comandos SQL de um endpoint nos testes:
+ * {@code .header(ServerTiming.HEADER, ServerTiming.atMostStatements(2))}. A contagem é da própria requisição,
+ * sem interferência de outras requisições ou jobs em segundo plano.
+ */
+final class ServerTiming {
+
+    static final String HEADER = "Server-Timing";
+
+    private static final Pattern STATEMENTS = Pattern.compile("db-statements;desc=\"(\\d+)\"");
+
+    private ServerTiming() {
+    }
+
+    /**
+     * O endpoint executou no máximo {@code max} comandos SQL.
+     */
+    static Matcher<String> atMostStatements(int max) {
+        return statements(lessThanOrEqualTo(max));
+    }
+
+    /**
+     * A quantidade de comandos SQL informada no cabeçalho satisfaz o matcher.
+     */
+    static Matcher<String> statements(Matcher<Integer> count) {
+        return new FeatureMatcher<String, Integer>(count, "Server-Timing with SQL statements", "statements") {
+            @Override
+            protected Integer featureValueOf(String header) {
+                java.util.regex.Matcher matcher = STATEMENTS.matcher(header);
+                return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.autoflex.routing;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReplicaTenantResolver")
+class ReadReplicaTenantResolverTest {
+
+    private final ReadRouting readRouting = new ReadRouting();
+
+    @Mock
+    TransactionManager transactionManager;
+
+    /**
+     * Leituras fora de transação vão para a réplica.
+     */
+    @Test
+    @DisplayName("Should route reads outside transactions to the replica")
+    void shouldRouteReadsToReplica() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        assertEquals(ReadReplicaTenantResolver.REPLICA,
+                new ReadReplicaTenantResolver(readRouting, transactionManager, true).resolveTenantId());
+        assertFalse(readRouting.hasWrittenToPrimary());
+    }
+
+    /**
+     * Sessões abertas dentro de uma transação gravam no primário e marcam a requisição como escrita.
+     */
+    @Test
+    @DisplayName("Should route transactional sessions to the primary and mark the write")
+    void shouldRouteTransactionsToPrimary() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY,
+                new ReadReplicaTenantResolver(readRouting, transactionManager, true).resolveTenantId());
+        assertTrue(readRouting.hasWrittenToPrimary());
+    }
+
+    /**
+     * A transação aberta por uma leitura no primário ({@link ReadFromPrimary}) não conta como escrita.
+     */
+    @Test
+    @DisplayName("Should route primary reads to the primary without marking a write")
+    void shouldRoutePrimaryReadsWithoutMarkingWrite() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        readRouting.beginPrimaryRead();
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY,
+                new ReadReplicaTenantResolver(readRouting, transactionManager, true).resolveTenantId());
+        assertFalse(readRouting.hasWrittenToPrimary());
+
+        readRouting.endPrimaryRead();
+        assertFalse(readRouting.isReadingFromPrimary());
+    }
+
+    /**
+     * Um cliente que gravou há pouco lê do primário, mesmo fora de transação.
+     */
+    @Test
+    @DisplayName("Should route reads of recent writers to the primary")
+    void shouldRoutePinnedReadsToPrimary() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        readRouting.pinToPrimary();
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY,
+                new ReadReplicaTenantResolver(readRouting, transactionManager, true).resolveTenantId());
+    }
+
+    /**
+     * Com o roteamento desligado todas as sessões usam o primário.
+     */
+    @Test
+    @DisplayName("Should route everything to the primary when disabled")
+    void shouldUsePrimaryWhenDisabled() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        ReadReplicaTenantResolver resolver = new ReadReplicaTenantResolver(readRouting, transactionManager, false);
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.getDefaultTenantId());
+    }
+}
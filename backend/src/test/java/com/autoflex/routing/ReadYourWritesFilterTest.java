@@ -0,0 +1,152 @@
+package com.autoflex.routing;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadYourWritesFilter")
+class ReadYourWritesFilterTest {
+
+    private final ReadRouting readRouting = new ReadRouting();
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private ReadYourWritesFilter filter;
+
+    @Mock
+    ContainerRequestContext request;
+
+    @Mock
+    ContainerResponseContext response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ReadYourWritesFilter(readRouting, true, Duration.ofSeconds(5), Optional.of("test-secret"));
+    }
+
+    private void requestWithCookie(String value) {
+        when(request.getCookies()).thenReturn(Map.of(ReadYourWritesFilter.COOKIE,
+                new Cookie.Builder(ReadYourWritesFilter.COOKIE).value(value).build()));
+    }
+
+    /**
+     * Um cookie assinado e ainda dentro da janela fixa a requisição no primário.
+     */
+    @Test
+    @DisplayName("Should pin requests with a valid cookie to the primary")
+    void shouldPinValidCookie() {
+        requestWithCookie(filter.sign(System.currentTimeMillis() + 5_000));
+
+        filter.pinRecentWriters(request);
+
+        assertTrue(readRouting.isPinnedToPrimary());
+    }
+
+    /**
+     * Cookies vencidos ou com valor inválido não alteram o roteamento.
+     */
+    @Test
+    @DisplayName("Should ignore expired and malformed cookies")
+    void shouldIgnoreExpiredCookie() {
+        requestWithCookie(filter.sign(System.currentTimeMillis() - 1));
+        filter.pinRecentWriters(request);
+        assertFalse(readRouting.isPinnedToPrimary());
+
+        requestWithCookie("not-a-timestamp");
+        filter.pinRecentWriters(request);
+        assertFalse(readRouting.isPinnedToPrimary());
+
+        requestWithCookie("123.%%%");
+        filter.pinRecentWriters(request);
+        assertFalse(readRouting.isPinnedToPrimary());
+    }
+
+    /**
+     * O cliente não consegue forjar o cookie: valores sem assinatura, assinados com outro segredo ou com o instante
+     * alterado depois da assinatura são ignorados.
+     */
+    @Test
+    @DisplayName("Should ignore unsigned, foreign and tampered cookies")
+    void shouldIgnoreForgedCookie() {
+        long until = System.currentTimeMillis() + 5_000;
+
+        requestWithCookie(Long.toString(until));
+        filter.pinRecentWriters(request);
+        assertFalse(readRouting.isPinnedToPrimary());
+
+        ReadYourWritesFilter other = new ReadYourWritesFilter(readRouting, true, Duration.ofSeconds(5),
+                Optional.of("other-secret"));
+        requestWithCookie(other.sign(until));
+        filter.pinRecentWriters(request);
+        assertFalse(readRouting.isPinnedToPrimary());
+
+        String signature = filter.sign(until).substring(Long.toString(until).length());
+        requestWithCookie((until + 1_000) + signature);
+        filter.pinRecentWriters(request);
+        assertFalse(readRouting.isPinnedToPrimary());
+    }
+
+    /**
+     * Mesmo assinado, um fim de janela além de uma janela a partir de agora não fixa o cliente no primário.
+     */
+    @Test
+    @DisplayName("Should ignore cookies that end beyond one window from now")
+    void shouldIgnoreFarFutureCookie() {
+        requestWithCookie(filter.sign(99_999_999_999_999L));
+
+        filter.pinRecentWriters(request);
+
+        assertFalse(readRouting.isPinnedToPrimary());
+    }
+
+    /**
+     * A resposta de uma requisição que gravou no primário leva o cookie assinado com o fim da janela.
+     */
+    @Test
+    @DisplayName("Should set the cookie after a successful write")
+    void shouldSetCookieAfterWrite() {
+        when(response.getStatus()).thenReturn(201);
+        when(response.getHeaders()).thenReturn(headers);
+        readRouting.markWroteToPrimary();
+
+        long before = System.currentTimeMillis();
+        filter.markWriters(response);
+
+        NewCookie cookie = (NewCookie) headers.getFirst(HttpHeaders.SET_COOKIE);
+        assertEquals(ReadYourWritesFilter.COOKIE, cookie.getName());
+        assertTrue(filter.pinnedUntil(cookie.getValue()) >= before + 5_000);
+        assertEquals(5, cookie.getMaxAge());
+        assertTrue(cookie.isHttpOnly());
+    }
+
+    /**
+     * Leituras e escritas que falharam não renovam a janela.
+     */
+    @Test
+    @DisplayName("Should not set the cookie for reads or failed writes")
+    void shouldNotSetCookieWithoutWrite() {
+        filter.markWriters(response);
+
+        when(response.getStatus()).thenReturn(409);
+        readRouting.markWroteToPrimary();
+        filter.markWriters(response);
+
+        assertTrue(headers.isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.autoflex.routing;
+
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaCacheModeInterceptor")
+class ReplicaCacheModeInterceptorTest {
+
+    private final ReadRouting readRouting = new ReadRouting();
+
+    @Mock
+    Session session;
+
+    @Mock
+    TransactionManager transactionManager;
+
+    @Mock
+    InvocationContext invocationContext;
+
+    /**
+     * Leituras da réplica fora de transação só consultam o cache, e o modo anterior é restaurado ao final.
+     */
+    @Test
+    @DisplayName("Should keep replica reads from putting into the cache and restore the mode afterwards")
+    void shouldOnlyGetFromCacheOnReplica() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        when(invocationContext.proceed()).thenReturn("result");
+
+        ReplicaCacheModeInterceptor interceptor =
+                new ReplicaCacheModeInterceptor(session, readRouting, transactionManager, true);
+        assertEquals("result", interceptor.replicaCacheMode(invocationContext));
+
+        InOrder order = inOrder(session, invocationContext);
+        order.verify(session).setCacheMode(CacheMode.GET);
+        order.verify(invocationContext).proceed();
+        order.verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    /**
+     * Clientes fixados no primário e leituras dentro de transação continuam preenchendo o cache.
+     */
+    @Test
+    @DisplayName("Should leave the session untouched when pinned to the primary or inside a transaction")
+    void shouldNotChangeSessionOnPrimary() throws Exception {
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(invocationContext.proceed()).thenReturn("result");
+
+        ReplicaCacheModeInterceptor interceptor =
+                new ReplicaCacheModeInterceptor(session, readRouting, transactionManager, true);
+        assertEquals("result", interceptor.replicaCacheMode(invocationContext));
+
+        readRouting.pinToPrimary();
+        assertEquals("result", interceptor.replicaCacheMode(invocationContext));
+
+        verify(session, never()).setCacheMode(any());
+    }
+
+    /**
+     * Com a réplica desligada todas as leituras vão ao primário e o interceptor não faz nada.
+     */
+    @Test
+    @DisplayName("Should do nothing when the read replica is disabled")
+    void shouldDoNothingWhenDisabled() throws Exception {
+        when(invocationContext.proceed()).thenReturn("result");
+
+        ReplicaCacheModeInterceptor interceptor =
+                new ReplicaCacheModeInterceptor(session, readRouting, transactionManager, false);
+        assertEquals("result", interceptor.replicaCacheMode(invocationContext));
+
+        verifyNoInteractions(session, transactionManager);
+    }
+}
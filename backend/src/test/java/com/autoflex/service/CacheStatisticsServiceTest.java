@@ -0,0 +1,90 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.CacheStatsDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheStatisticsService")
+class CacheStatisticsServiceTest {
+
+    @Mock
+    SessionFactory sessionFactory;
+
+    @Mock
+    Statistics statistics;
+
+    @InjectMocks
+    CacheStatisticsService service;
+
+    private static CacheRegionStatistics region(long hits, long misses, long puts) {
+        CacheRegionStatistics stats = mock(CacheRegionStatistics.class);
+        when(stats.getHitCount()).thenReturn(hits);
+        when(stats.getMissCount()).thenReturn(misses);
+        when(stats.getPutCount()).thenReturn(puts);
+        when(stats.getElementCountInMemory()).thenReturn(puts);
+        return stats;
+    }
+
+    /**
+     * Verifica as regiões em ordem alfabética, a taxa de acerto e os totais do cache de consultas.
+     */
+    @Test
+    @DisplayName("Should report per-region counters and hit ratio")
+    void shouldReportRegionStats() {
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] { "RawMaterial", "Product" });
+        CacheRegionStatistics product = region(0, 0, 0);
+        CacheRegionStatistics rawMaterial = region(3, 1, 1);
+        when(statistics.getCacheRegionStatistics("Product")).thenReturn(product);
+        when(statistics.getCacheRegionStatistics("RawMaterial")).thenReturn(rawMaterial);
+        when(statistics.getQueryCacheHitCount()).thenReturn(5L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(2L);
+
+        CacheStatsDTO stats = service.stats();
+
+        assertTrue(stats.statisticsEnabled());
+        assertEquals(List.of("Product", "RawMaterial"), stats.regions().stream().map(CacheStatsDTO.RegionStats::region).toList());
+        assertEquals(0.0, stats.regions().get(0).hitRatio());
+        assertEquals(0.75, stats.regions().get(1).hitRatio());
+        assertEquals(5L, stats.queryCacheHits());
+        assertEquals(2L, stats.queryCacheMisses());
+    }
+
+    /**
+     * A região de resultados de consulta é listada junto das regiões de entidade, sem erro, e regiões ainda sem
+     * estatísticas são omitidas.
+     */
+    @Test
+    @DisplayName("Should report the query results region alongside entity regions")
+    void shouldReportQueryRegion() {
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames())
+                .thenReturn(new String[] { "default-query-results-region", "Product", "RawMaterial" });
+        CacheRegionStatistics queries = region(4, 4, 4);
+        CacheRegionStatistics product = region(1, 0, 1);
+        when(statistics.getCacheRegionStatistics("default-query-results-region")).thenReturn(queries);
+        when(statistics.getCacheRegionStatistics("Product")).thenReturn(product);
+        when(statistics.getCacheRegionStatistics("RawMaterial")).thenReturn(null);
+
+        CacheStatsDTO stats = service.stats();
+
+        assertEquals(List.of("Product", "default-query-results-region"),
+                stats.regions().stream().map(CacheStatsDTO.RegionStats::region).toList());
+        assertEquals(0.5, stats.regions().get(1).hitRatio());
+        verify(statistics, never()).getDomainDataRegionStatistics(anyString());
+    }
+}
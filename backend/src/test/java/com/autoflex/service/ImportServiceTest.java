@@ -0,0 +1,182 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ImportReportDTO;
+import com.autoflex.dto.ImportReportDTO.RowError;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.importing.ImportFormat;
+import com.autoflex.service.ImportChunkWriter.ChunkResult;
+import com.autoflex.service.ImportChunkWriter.CompositionLine;
+import com.autoflex.service.ImportChunkWriter.RawMaterialLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportService")
+class ImportServiceTest {
+
+    @Mock
+    ImportChunkWriter chunkWriter;
+
+    private ImportService service;
+
+    /**
+     * Usa blocos de 2 linhas e no máximo 3 erros detalhados para exercitar os limites com arquivos pequenos.
+     */
+    @BeforeEach
+    void setUp() {
+        service = new ImportService(chunkWriter, new ObjectMapper(), 2, 3);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("Raw materials")
+    class RawMaterials {
+
+        /**
+         * Verifica que as linhas válidas são gravadas em blocos do tamanho configurado e os totais somados.
+         */
+        @Test
+        @DisplayName("Should write valid rows in fixed-size chunks")
+        @SuppressWarnings("unchecked")
+        void shouldWriteInChunks() {
+            when(chunkWriter.writeRawMaterials(anyList()))
+                    .thenReturn(new ChunkResult(2, 0, List.of()))
+                    .thenReturn(new ChunkResult(0, 1, List.of()));
+
+            ImportReportDTO report = service.importRawMaterials(body("""
+                    name,stockQuantity
+                    Steel,10
+                    Copper,5.5
+                    "Resin, clear",1
+                    """), ImportFormat.CSV);
+
+            ArgumentCaptor<List<RawMaterialLine>> chunks = ArgumentCaptor.forClass(List.class);
+            verify(chunkWriter, times(2)).writeRawMaterials(chunks.capture());
+            assertEquals(2, chunks.getAllValues().get(0).size());
+            assertEquals(new RawMaterialLine(4, "Resin, clear", BigDecimal.ONE), chunks.getAllValues().get(1).get(0));
+
+            assertEquals(3, report.processed());
+            assertEquals(2, report.created());
+            assertEquals(1, report.updated());
+            assertEquals(0, report.failed());
+        }
+
+        /**
+         * Garante que linhas inválidas são reportadas com o número da linha sem interromper a importação.
+         */
+        @Test
+        @DisplayName("Should report invalid rows and keep importing")
+        void shouldReportInvalidRows() {
+            when(chunkWriter.writeRawMaterials(anyList())).thenReturn(new ChunkResult(1, 0, List.of()));
+
+            ImportReportDTO report = service.importRawMaterials(body("""
+                    name,stockQuantity
+                    ,10
+                    Steel,-1
+                    Copper,1.00001
+                    Resin,abc
+                    Valid,3
+                    """), ImportFormat.CSV);
+
+            assertEquals(5, report.processed());
+            assertEquals(1, report.created());
+            assertEquals(4, report.failed());
+            assertEquals(List.of(
+                    new RowError(2, "name is required"),
+                    new RowError(3, "stockQuantity cannot be negative"),
+                    new RowError(4, "stockQuantity must have at most 4 decimal places")), report.errors());
+            assertTrue(report.errorsTruncated());
+        }
+
+        /**
+         * Verifica que o arquivo é rejeitado antes de qualquer gravação quando faltam colunas obrigatórias.
+         */
+        @Test
+        @DisplayName("Should reject CSV without required columns")
+        void shouldRejectMissingColumns() {
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> service.importRawMaterials(body("name\nSteel\n"), ImportFormat.CSV));
+
+            assertEquals("Missing required column(s): stockQuantity", ex.getMessage());
+            verify(chunkWriter, never()).writeRawMaterials(anyList());
+        }
+
+        /**
+         * Garante que a falha de um bloco marca apenas as suas linhas e os blocos seguintes continuam.
+         */
+        @Test
+        @DisplayName("Should mark every row of a failed chunk and continue")
+        void shouldContinueAfterFailedChunk() {
+            when(chunkWriter.writeRawMaterials(anyList()))
+                    .thenThrow(new PersistenceException("unique constraint"))
+                    .thenReturn(new ChunkResult(1, 0, List.of()));
+
+            ImportReportDTO report = service.importRawMaterials(body("""
+                    {"name": "Steel", "stockQuantity": 10}
+                    {"name": "Copper", "stockQuantity": 5}
+                    {"name": "Resin", "stockQuantity": 1}
+                    """), ImportFormat.NDJSON);
+
+            assertEquals(3, report.processed());
+            assertEquals(1, report.created());
+            assertEquals(2, report.failed());
+            assertEquals(List.of(1L, 2L), report.errors().stream().map(RowError::line).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Compositions")
+    class Compositions {
+
+        /**
+         * Verifica que erros de resolução devolvidos pelo gravador (produto inexistente) entram no relatório.
+         */
+        @Test
+        @DisplayName("Should merge reference errors returned by the writer")
+        void shouldMergeWriterErrors() {
+            when(chunkWriter.writeCompositions(anyList()))
+                    .thenReturn(new ChunkResult(1, 0, List.of(new RowError(2, "Product 'Ghost' not found"))));
+
+            ImportReportDTO report = service.importCompositions(body("""
+                    {"productName": "Table", "rawMaterialName": "Wood", "quantity": 2.5}
+                    {"productName": "Ghost", "rawMaterialName": "Wood", "quantity": 1}
+
+                    not json
+                    """), ImportFormat.NDJSON);
+
+            verify(chunkWriter).writeCompositions(List.of(
+                    new CompositionLine(1, "Table", "Wood", new BigDecimal("2.5")),
+                    new CompositionLine(2, "Ghost", "Wood", BigDecimal.ONE)));
+            assertEquals(3, report.processed());
+            assertEquals(1, report.created());
+            assertEquals(2, report.failed());
+            assertEquals(2, report.errors().get(0).line());
+            assertEquals(4, report.errors().get(1).line());
+            assertTrue(report.errors().get(1).message().startsWith("Malformed JSON"));
+        }
+    }
+}
@@ -5,11 +5,13 @@ import com.autoflex.dto.ProductRawMaterialResponseDTO;
 import com.autoflex.entity.Product;
 import com.autoflex.entity.ProductRawMaterial;
 import com.autoflex.entity.RawMaterial;
+import com.autoflex.event.CatalogChangedEvent;
 import com.autoflex.exception.BusinessException;
 import com.autoflex.exception.ResourceNotFoundException;
 import com.autoflex.repository.ProductRawMaterialRepository;
 import com.autoflex.repository.ProductRepository;
 import com.autoflex.repository.RawMaterialRepository;
+import jakarta.enterprise.event.Event;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -40,6 +42,9 @@ class ProductRawMaterialServiceTest {
     @Mock
     RawMaterialRepository rawMaterialRepository;
 
+    @Mock
+    Event<CatalogChangedEvent> catalogChanged;
+
     @InjectMocks
     ProductRawMaterialService service;
 
@@ -141,6 +146,7 @@ class ProductRawMaterialServiceTest {
             ProductRawMaterialResponseDTO result = service.updateQuantity(1L, 1L, dto);
 
             assertEquals(new BigDecimal("25.0000"), result.quantity());
+            verify(catalogChanged).fire(CatalogChangedEvent.composition(1L));
         }
 
         /**
@@ -181,6 +187,7 @@ class ProductRawMaterialServiceTest {
             service.removeRawMaterialFromProduct(1L, 1L);
 
             assertFalse(existing.isActive());
+            verify(catalogChanged).fire(CatalogChangedEvent.composition(1L));
         }
     }
 
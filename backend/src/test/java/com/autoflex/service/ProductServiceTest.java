@@ -1,13 +1,17 @@
 package com.autoflex.service;
 
+import com.autoflex.dto.PageResponseDTO;
 import com.autoflex.dto.ProductCreateDTO;
 import com.autoflex.dto.ProductResponseDTO;
 import com.autoflex.entity.Product;
+import com.autoflex.event.CatalogChangedEvent;
 import com.autoflex.exception.BusinessException;
 import com.autoflex.exception.ResourceNotFoundException;
+import com.autoflex.repository.KeysetCursor;
 import com.autoflex.repository.ProductRawMaterialRepository;
 import com.autoflex.repository.ProductRepository;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.enterprise.event.Event;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -17,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +38,9 @@ class ProductServiceTest {
     @Mock
     ProductRawMaterialRepository productRawMaterialRepository;
 
+    @Mock
+    Event<CatalogChangedEvent> catalogChanged;
+
     @InjectMocks
     ProductService service;
 
@@ -46,7 +54,7 @@ class ProductServiceTest {
         @DisplayName("Should return product when found")
         void shouldReturnProductWhenFound() {
             Product product = new Product(1L, "Motor", new BigDecimal("500.00"));
-            when(productRepository.findByIdOptional(1L)).thenReturn(Optional.of(product));
+            when(productRepository.findByIdWithComposition(1L)).thenReturn(Optional.of(product));
 
             ProductResponseDTO result = service.findById(1L);
 
@@ -61,7 +69,7 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should throw ResourceNotFoundException when not found")
         void shouldThrowWhenNotFound() {
-            when(productRepository.findByIdOptional(999L)).thenReturn(Optional.empty());
+            when(productRepository.findByIdWithComposition(999L)).thenReturn(Optional.empty());
 
             assertThrows(ResourceNotFoundException.class, () -> service.findById(999L));
         }
@@ -171,7 +179,8 @@ class ProductServiceTest {
             service.delete(1L);
 
             verify(productRepository).softDelete(1L);
-            verify(productRawMaterialRepository).update(eq("active = false WHERE product.id = ?1"), eq(1L));
+            verify(productRawMaterialRepository).update(eq("active = false, version = version + 1 WHERE product.id = ?1"), eq(1L));
+            verify(catalogChanged).fire(CatalogChangedEvent.product(1L));
         }
 
         /**
@@ -185,4 +194,99 @@ class ProductServiceTest {
             assertThrows(ResourceNotFoundException.class, () -> service.delete(999L));
         }
     }
+
+    @Nested
+    @DisplayName("findAll")
+    class FindAll {
+
+        /**
+         * Garante que uma página incompleta dispense a consulta de contagem, deduzindo o total.
+         */
+        @Test
+        @DisplayName("Should derive total from a partial page without counting")
+        void shouldDeriveTotalFromPartialPage() {
+            when(productRepository.findIdPage(1, 10)).thenReturn(List.of(11L, 12L));
+            when(productRepository.findWithComposition(List.of(11L, 12L))).thenReturn(List.of(
+                    new Product(11L, "Eleven", new BigDecimal("10.00")),
+                    new Product(12L, "Twelve", new BigDecimal("10.00"))));
+
+            PageResponseDTO<ProductResponseDTO> result = service.findAll(1, 10, true);
+
+            assertEquals(2, result.items().size());
+            assertEquals(12L, result.totalElements());
+            assertEquals(2, result.totalPages());
+            verify(productRepository, never()).count();
+        }
+
+        /**
+         * Verifica que uma página cheia ainda consulte a contagem total.
+         */
+        @Test
+        @DisplayName("Should count when the page is full")
+        void shouldCountWhenPageIsFull() {
+            when(productRepository.findIdPage(0, 1)).thenReturn(List.of(1L));
+            when(productRepository.findWithComposition(List.of(1L))).thenReturn(List.of(
+                    new Product(1L, "One", new BigDecimal("10.00"))));
+            when(productRepository.count()).thenReturn(5L);
+
+            PageResponseDTO<ProductResponseDTO> result = service.findAll(0, 1, true);
+
+            assertEquals(5L, result.totalElements());
+            assertEquals(5, result.totalPages());
+        }
+    }
+
+    @Nested
+    @DisplayName("findAfter")
+    class FindAfter {
+
+        /**
+         * Valida que o registro extra buscado indica a próxima página e vira o cursor do último item retornado.
+         */
+        @Test
+        @DisplayName("Should return next cursor when more rows exist")
+        void shouldReturnNextCursorWhenMoreRowsExist() {
+            List<Product> rows = List.of(
+                    new Product(3L, "Alpha", new BigDecimal("10.00")),
+                    new Product(1L, "Beta", new BigDecimal("20.00")),
+                    new Product(2L, "Gamma", new BigDecimal("30.00")));
+            KeysetCursor after = new KeysetCursor("Aardvark", 9L);
+            when(productRepository.findIdPageAfter(after, 3)).thenReturn(List.of(3L, 1L, 2L));
+            when(productRepository.findWithComposition(List.of(3L, 1L))).thenReturn(rows.subList(0, 2));
+
+            PageResponseDTO<ProductResponseDTO> result = service.findAfter(after.encode(), 2, false);
+
+            assertEquals(2, result.items().size());
+            assertEquals(new KeysetCursor("Beta", 1L), KeysetCursor.decode(result.nextCursor()));
+            assertNull(result.totalElements());
+            verify(productRepository, never()).count();
+        }
+
+        /**
+         * Garante que a última página não devolva cursor e que a contagem seja feita apenas quando solicitada.
+         */
+        @Test
+        @DisplayName("Should omit cursor on last page and count only when requested")
+        void shouldOmitCursorOnLastPage() {
+            when(productRepository.findIdPageAfter(null, 11)).thenReturn(List.of(1L));
+            when(productRepository.findWithComposition(List.of(1L))).thenReturn(List.of(
+                    new Product(1L, "Only", new BigDecimal("10.00"))));
+            when(productRepository.count()).thenReturn(1L);
+
+            PageResponseDTO<ProductResponseDTO> result = service.findAfter("", 10, true);
+
+            assertNull(result.nextCursor());
+            assertEquals(1L, result.totalElements());
+            assertEquals(1, result.totalPages());
+        }
+
+        /**
+         * Garante que cursores inválidos sejam tratados como erro de negócio (400).
+         */
+        @Test
+        @DisplayName("Should throw BusinessException for malformed cursor")
+        void shouldThrowForMalformedCursor() {
+            assertThrows(BusinessException.class, () -> service.findAfter("%%%", 10, false));
+        }
+    }
 }
@@ -0,0 +1,160 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.PageResponseDTO;
+import com.autoflex.dto.ProductCapacityDTO;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.RawMaterialRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductionCapacityIndex")
+class ProductionCapacityIndexTest {
+
+    @Mock
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @Mock
+    RawMaterialRepository rawMaterialRepository;
+
+    @InjectMocks
+    ProductionCapacityIndex index;
+
+    private static CompositionLineRow line(long productId, String value, long rawMaterialId, String stock,
+                                           String quantity) {
+        return new CompositionLineRow(productId, "P" + productId, new BigDecimal(value), rawMaterialId,
+                new BigDecimal(stock), new BigDecimal(quantity));
+    }
+
+    /**
+     * Catálogo base: P1 usa aço (10) e cobre (20); P2 usa apenas aço; P3 usa apenas cobre.
+     */
+    private void givenCatalog() {
+        when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                line(1L, "50.00", 10L, "100.0000", "10.0000"),
+                line(1L, "50.00", 20L, "9.0000", "3.0000"),
+                line(2L, "80.00", 10L, "100.0000", "25.0000"),
+                line(3L, "20.00", 20L, "9.0000", "0.5000")));
+    }
+
+    private static Map<Long, Long> capacities(PageResponseDTO<ProductCapacityDTO> page) {
+        return page.items().stream()
+                .collect(Collectors.toMap(ProductCapacityDTO::productId, ProductCapacityDTO::capacity));
+    }
+
+    /**
+     * Verifica a capacidade isolada de cada produto e o insumo limitante, na ordenação padrão (maior capacidade).
+     */
+    @Test
+    @DisplayName("Should compute independent capacity and limiting material")
+    void shouldComputeCapacity() {
+        givenCatalog();
+
+        PageResponseDTO<ProductCapacityDTO> page = index.page(CapacitySort.CAPACITY, true, 0, 10);
+
+        assertEquals(List.of(3L, 2L, 1L), page.items().stream().map(ProductCapacityDTO::productId).toList());
+        assertEquals(Map.of(1L, 3L, 2L, 4L, 3L, 18L), capacities(page));
+        assertEquals(20L, page.items().get(2).limitingRawMaterialId());
+        assertEquals(3L, page.totalElements());
+    }
+
+    /**
+     * Garante que uma alteração de estoque relê só aquele saldo e recalcula apenas os produtos que o usam.
+     */
+    @Test
+    @DisplayName("Should recompute only products using the changed material")
+    void shouldRecomputeOnStockChange() {
+        givenCatalog();
+        index.page(CapacitySort.CAPACITY, true, 0, 10);
+
+        when(rawMaterialRepository.findStockQuantities(Set.of(10L)))
+                .thenReturn(Map.of(10L, new BigDecimal("250.0000")));
+        index.onCatalogChanged(CatalogChangedEvent.rawMaterial(10L));
+
+        assertEquals(Map.of(1L, 3L, 2L, 10L, 3L, 18L), capacities(index.page(CapacitySort.NAME, false, 0, 10)));
+        verify(productRawMaterialRepository, times(1)).findActiveCompositionLines();
+        verify(productRawMaterialRepository, never()).findActiveCompositionLines(any());
+    }
+
+    /**
+     * Valida que a alteração de composição recarrega só o produto e que produtos sem vínculos saem do índice.
+     */
+    @Test
+    @DisplayName("Should reload a changed product and drop it when it has no lines")
+    void shouldReloadChangedProduct() {
+        givenCatalog();
+        index.page(CapacitySort.CAPACITY, true, 0, 10);
+
+        when(productRawMaterialRepository.findActiveCompositionLines(Set.of(2L)))
+                .thenReturn(List.of(line(2L, "80.00", 10L, "100.0000", "50.0000")));
+        index.onCatalogChanged(CatalogChangedEvent.composition(2L));
+        assertEquals(2L, capacities(index.page(CapacitySort.VALUE, true, 0, 10)).get(2L));
+
+        when(productRawMaterialRepository.findActiveCompositionLines(Set.of(3L))).thenReturn(List.of());
+        index.onCatalogChanged(CatalogChangedEvent.product(3L));
+        assertEquals(Set.of(1L, 2L), capacities(index.page(CapacitySort.VALUE, true, 0, 10)).keySet());
+    }
+
+    /**
+     * Uma falha nas consultas de recarga não altera o índice nem descarta o trabalho pendente: a leitura seguinte
+     * repete as consultas e publica os valores novos.
+     */
+    @Test
+    @DisplayName("Should keep pending work when a reload query fails")
+    void shouldKeepPendingWorkWhenReloadFails() {
+        when(productRawMaterialRepository.findActiveCompositionLines())
+                .thenThrow(new IllegalStateException("primary unavailable"))
+                .thenReturn(List.of(
+                        line(1L, "50.00", 10L, "100.0000", "10.0000"),
+                        line(1L, "50.00", 20L, "9.0000", "3.0000"),
+                        line(2L, "80.00", 10L, "100.0000", "25.0000"),
+                        line(3L, "20.00", 20L, "9.0000", "0.5000")));
+        assertThrows(IllegalStateException.class, () -> index.page(CapacitySort.CAPACITY, true, 0, 10));
+        assertEquals(Map.of(1L, 3L, 2L, 4L, 3L, 18L), capacities(index.page(CapacitySort.CAPACITY, true, 0, 10)));
+
+        when(rawMaterialRepository.findStockQuantities(Set.of(10L)))
+                .thenReturn(Map.of(10L, new BigDecimal("250.0000")));
+        when(productRawMaterialRepository.findActiveCompositionLines(Set.of(3L)))
+                .thenThrow(new IllegalStateException("primary unavailable"))
+                .thenReturn(List.of(line(3L, "20.00", 20L, "9.0000", "1.0000")));
+        index.onCatalogChanged(CatalogChangedEvent.rawMaterial(10L));
+        index.onCatalogChanged(CatalogChangedEvent.composition(3L));
+
+        assertThrows(IllegalStateException.class, () -> index.page(CapacitySort.CAPACITY, true, 0, 10));
+        assertEquals(Map.of(1L, 3L, 2L, 10L, 3L, 9L), capacities(index.page(CapacitySort.CAPACITY, true, 0, 10)));
+        verify(rawMaterialRepository, times(2)).findStockQuantities(Set.of(10L));
+    }
+
+    /**
+     * Verifica a paginação em memória e a rejeição de parâmetros inválidos.
+     */
+    @Test
+    @DisplayName("Should page the sorted view and reject invalid paging")
+    void shouldPage() {
+        givenCatalog();
+
+        PageResponseDTO<ProductCapacityDTO> second = index.page(CapacitySort.VALUE, true, 1, 2);
+
+        assertEquals(List.of(3L), second.items().stream().map(ProductCapacityDTO::productId).toList());
+        assertEquals(2, second.totalPages());
+        assertThrows(BusinessException.class, () -> index.page(CapacitySort.VALUE, true, 0, 0));
+        assertThrows(BusinessException.class, () -> CapacitySort.fromString("weight"));
+    }
+}
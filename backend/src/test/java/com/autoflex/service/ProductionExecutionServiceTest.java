@@ -0,0 +1,183 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ProductionExecutionDTO;
+import com.autoflex.dto.ProductionExecutionDTO.PlannedItem;
+import com.autoflex.dto.ProductionExecutionResponseDTO;
+import com.autoflex.dto.ProductionExecutionResponseDTO.ConsumedMaterial;
+import com.autoflex.dto.ProductionSuggestionResponseDTO;
+import com.autoflex.dto.ProductionSuggestionResponseDTO.ProductionItem;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.exception.ConflictException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.service.ProductionSuggestionService.VersionedSuggestion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductionExecutionService")
+class ProductionExecutionServiceTest {
+
+    @Mock
+    ProductionSuggestionService productionSuggestionService;
+
+    @Mock
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @Mock
+    RawMaterialRepository rawMaterialRepository;
+
+    @Mock
+    RawMaterialService rawMaterialService;
+
+    @InjectMocks
+    ProductionExecutionService service;
+
+    private static CompositionLineRow line(long productId, long rawMaterialId, String quantity) {
+        return new CompositionLineRow(productId, "P" + productId, BigDecimal.TEN, rawMaterialId,
+                BigDecimal.ZERO, new BigDecimal(quantity));
+    }
+
+    @Nested
+    @DisplayName("Explicit items")
+    class ExplicitItems {
+
+        /**
+         * Verifica que o consumo é somado por matéria-prima (inclusive itens repetidos) e baixado de uma vez.
+         */
+        @Test
+        @DisplayName("Should aggregate consumption per raw material and deduct it at once")
+        void shouldAggregateConsumption() {
+            when(productRawMaterialRepository.findActiveCompositionLines(Set.of(1L, 2L))).thenReturn(List.of(
+                    line(1L, 10L, "2.5000"),
+                    line(1L, 20L, "1.0000"),
+                    line(2L, 10L, "0.5000")));
+
+            ProductionExecutionResponseDTO result = service.execute(new ProductionExecutionDTO(List.of(
+                    new PlannedItem(1L, 2L),
+                    new PlannedItem(2L, 4L),
+                    new PlannedItem(1L, 1L)), null, null));
+
+            SortedMap<Long, BigDecimal> expected = new TreeMap<>(Map.of(
+                    10L, new BigDecimal("9.5000"),
+                    20L, new BigDecimal("3.0000")));
+            verify(rawMaterialService).consumeStock(eq(expected), eq(result.executionId()));
+            assertEquals(List.of(
+                    new ConsumedMaterial(10L, new BigDecimal("9.5000")),
+                    new ConsumedMaterial(20L, new BigDecimal("3.0000"))), result.consumedMaterials());
+            assertEquals(3L, result.items().get(0).quantity());
+            assertNotNull(result.executionId());
+        }
+
+        /**
+         * Garante que produtos inexistentes ou sem composição ativa invalidam o plano antes de qualquer baixa.
+         */
+        @Test
+        @DisplayName("Should reject products without active composition")
+        void shouldRejectProductsWithoutComposition() {
+            when(productRawMaterialRepository.findActiveCompositionLines(Set.of(1L, 99L)))
+                    .thenReturn(List.of(line(1L, 10L, "1.0000")));
+
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> service.execute(new ProductionExecutionDTO(List.of(
+                            new PlannedItem(1L, 1L), new PlannedItem(99L, 1L)), null, null)));
+
+            assertTrue(ex.getMessage().contains("[99]"));
+            verify(rawMaterialService, never()).consumeStock(any(), any());
+        }
+
+        /**
+         * Verifica que a falta de estoque é reportada com as matérias-primas e saldos que impediram a execução.
+         */
+        @Test
+        @DisplayName("Should describe the short materials when stock is insufficient")
+        void shouldDescribeShortage() {
+            when(productRawMaterialRepository.findActiveCompositionLines(Set.of(1L)))
+                    .thenReturn(List.of(line(1L, 10L, "3.0000"), line(1L, 20L, "1.0000")));
+            doThrow(new ConflictException("Insufficient stock to execute the production plan"))
+                    .when(rawMaterialService).consumeStock(any(), any());
+            when(rawMaterialRepository.findStockQuantities(Set.of(10L, 20L))).thenReturn(Map.of(
+                    10L, new BigDecimal("5.0000"),
+                    20L, new BigDecimal("9.0000")));
+
+            ConflictException ex = assertThrows(ConflictException.class,
+                    () -> service.execute(new ProductionExecutionDTO(List.of(new PlannedItem(1L, 2L)), null, null)));
+
+            assertEquals("Insufficient stock for raw material(s): 10 (required 6.0000, available 5.0000)",
+                    ex.getMessage());
+        }
+
+        /**
+         * Garante que itens e versão da sugestão não podem ser informados juntos (nem ambos ausentes).
+         */
+        @Test
+        @DisplayName("Should require either items or suggestion version")
+        void shouldRequireExactlyOneSource() {
+            assertThrows(BusinessException.class,
+                    () -> service.execute(new ProductionExecutionDTO(null, null, null)));
+            assertThrows(BusinessException.class,
+                    () -> service.execute(new ProductionExecutionDTO(
+                            List.of(new PlannedItem(1L, 1L)), "v1", null)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Suggestion version")
+    class SuggestionVersion {
+
+        /**
+         * Verifica que a sugestão em cache é executada quando a versão informada ainda é a atual.
+         */
+        @Test
+        @DisplayName("Should execute the cached suggestion when the version matches")
+        void shouldExecuteCurrentSuggestion() {
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.GREEDY))
+                    .thenReturn(new VersionedSuggestion("boot-3", new ProductionSuggestionResponseDTO(
+                            List.of(new ProductionItem(1L, "P1", BigDecimal.TEN, 4, new BigDecimal("40"))),
+                            new BigDecimal("40"))));
+            when(productRawMaterialRepository.findActiveCompositionLines(Set.of(1L)))
+                    .thenReturn(List.of(line(1L, 10L, "2.0000")));
+
+            service.execute(new ProductionExecutionDTO(null, "W/\"boot-3\"", null));
+
+            verify(rawMaterialService).consumeStock(eq(new TreeMap<>(Map.of(10L, new BigDecimal("8.0000")))), any());
+        }
+
+        /**
+         * Garante que uma versão desatualizada seja rejeitada com 409 sem baixar estoque.
+         */
+        @Test
+        @DisplayName("Should reject a stale suggestion version")
+        void shouldRejectStaleVersion() {
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.OPTIMAL))
+                    .thenReturn(new VersionedSuggestion("boot-4", new ProductionSuggestionResponseDTO(
+                            List.of(), BigDecimal.ZERO)));
+
+            assertThrows(ConflictException.class,
+                    () -> service.execute(new ProductionExecutionDTO(null, "boot-3", "optimal")));
+            verify(rawMaterialService, never()).consumeStock(any(), any());
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.autoflex.service;
 
+import com.autoflex.dto.ProductionScenarioDTO;
+import com.autoflex.dto.ProductionScenarioDTO.StockOverride;
+import com.autoflex.dto.ProductionScenarioDTO.ValueOverride;
 import com.autoflex.dto.ProductionSuggestionResponseDTO;
 import com.autoflex.dto.ProductionSuggestionResponseDTO.ProductionItem;
-import com.autoflex.entity.Product;
-import com.autoflex.entity.ProductRawMaterial;
+import com.autoflex.engine.OptimalProductionPlanner;
+import com.autoflex.engine.ProductionSnapshot;
+import com.autoflex.engine.ProductionStrategy;
 import com.autoflex.entity.RawMaterial;
-import com.autoflex.repository.ProductRepository;
-import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,13 +23,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.OptionalInt;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,10 +42,17 @@ import static org.mockito.Mockito.when;
 class ProductionSuggestionServiceTest {
 
     @Mock
-    ProductRepository productRepository;
+    ProductRawMaterialRepository productRawMaterialRepository;
 
-    @Mock
-    RawMaterialRepository rawMaterialRepository;
+    @Spy
+    OptimalProductionPlanner optimalProductionPlanner =
+            new OptimalProductionPlanner(10_000, Duration.ofSeconds(5), 4_000_000L);
+
+    @Spy
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    ScenarioExecutor scenarioExecutor = new ScenarioExecutor(OptionalInt.of(2), 100, Duration.ofSeconds(5));
 
     @InjectMocks
     ProductionSuggestionService service;
@@ -50,6 +71,15 @@ class ProductionSuggestionServiceTest {
         plastic = new RawMaterial(3L, "Plastic Resin", new BigDecimal("200.0000"));
     }
 
+    /**
+     * Monta uma linha da projeção de composição (produto + insumo + quantidade) como retornada pelo repositório.
+     */
+    private static CompositionLineRow line(long productId, String productName, String value,
+                                           RawMaterial rawMaterial, String quantity) {
+        return new CompositionLineRow(productId, productName, new BigDecimal(value),
+                rawMaterial.getId(), rawMaterial.getStockQuantity(), new BigDecimal(quantity));
+    }
+
 
     @Nested
     @DisplayName("Edge cases")
@@ -60,8 +90,7 @@ class ProductionSuggestionServiceTest {
         @Test
         @DisplayName("Should return empty list when no products exist")
         void shouldReturnEmptyWhenNoProducts() {
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(Collections.emptyList());
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel, copper));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(Collections.emptyList());
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -70,15 +99,13 @@ class ProductionSuggestionServiceTest {
         }
 
         /**
-         * Verifica se o algoritmo ignora produtos que não possuem fórmula (composição) definida.
+         * Verifica se o algoritmo ignora produtos cuja composição não tem quantidade positiva.
          */
         @Test
         @DisplayName("Should skip products without composition")
         void shouldSkipProductsWithoutComposition() {
-            Product productNoComposition = new Product(1L, "Empty Product", new BigDecimal("500.00"));
-
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(productNoComposition));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Empty Product", "500.00", steel, "0.0000")));
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -92,15 +119,10 @@ class ProductionSuggestionServiceTest {
         @Test
         @DisplayName("Should produce 0 units when stock is insufficient")
         void shouldProduceZeroWhenInsufficientStock() {
-            Product product = new Product(1L, "Big Product", new BigDecimal("1000.00"));
             RawMaterial lowStock = new RawMaterial(1L, "Low Stock Material", new BigDecimal("1.0000"));
 
-            ProductRawMaterial prm = new ProductRawMaterial(1L, product, lowStock, new BigDecimal("10.0000"));
-            prm.setActive(true);
-            product.getRawMaterials().add(prm);
-
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(product));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(lowStock));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Big Product", "1000.00", lowStock, "10.0000")));
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -119,19 +141,12 @@ class ProductionSuggestionServiceTest {
         @Test
         @DisplayName("Should calculate correct quantity for single product")
         void shouldCalculateCorrectQuantityForSingleProduct() {
-            Product motor = new Product(1L, "Motor", new BigDecimal("500.00"));
-
             // Motor needs: 10 steel, 5 copper
-            ProductRawMaterial prmSteel = new ProductRawMaterial(1L, motor, steel, new BigDecimal("10.0000"));
-            prmSteel.setActive(true);
-            ProductRawMaterial prmCopper = new ProductRawMaterial(2L, motor, copper, new BigDecimal("5.0000"));
-            prmCopper.setActive(true);
-            motor.getRawMaterials().addAll(List.of(prmSteel, prmCopper));
-
             // Stock: 100 steel, 50 copper → bottleneck = steel (100/10=10), copper
             // (50/5=10) → 10 units
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(motor));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel, copper));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Motor", "500.00", steel, "10.0000"),
+                    line(1L, "Motor", "500.00", copper, "5.0000")));
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -150,23 +165,12 @@ class ProductionSuggestionServiceTest {
         @Test
         @DisplayName("Should prioritize higher value products first")
         void shouldPrioritizeHigherValueProducts() {
-            // Expensive product ($1000) needs 50 steel each
-            Product expensive = new Product(1L, "Expensive", new BigDecimal("1000.00"));
-            ProductRawMaterial prmExpensiveSteel = new ProductRawMaterial(1L, expensive, steel,
-                    new BigDecimal("50.0000"));
-            prmExpensiveSteel.setActive(true);
-            expensive.getRawMaterials().add(prmExpensiveSteel);
-
-            // Cheap product ($100) needs 10 steel each
-            Product cheap = new Product(2L, "Cheap", new BigDecimal("100.00"));
-            ProductRawMaterial prmCheapSteel = new ProductRawMaterial(2L, cheap, steel, new BigDecimal("10.0000"));
-            prmCheapSteel.setActive(true);
-            cheap.getRawMaterials().add(prmCheapSteel);
-
+            // Expensive product ($1000) needs 50 steel each; Cheap product ($100) needs 10 steel each
             // Stock: 100 steel. Expensive first → 100/50 = 2 units, consumes 100 steel.
             // Cheap → 0.
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(expensive, cheap));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Expensive", "1000.00", steel, "50.0000"),
+                    line(2L, "Cheap", "100.00", steel, "10.0000")));
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -182,22 +186,12 @@ class ProductionSuggestionServiceTest {
         @Test
         @DisplayName("Should deduct shared raw materials sequentially")
         void shouldDeductSharedMaterialsSequentially() {
-            // Product A ($500): needs 30 steel
-            Product productA = new Product(1L, "Product A", new BigDecimal("500.00"));
-            ProductRawMaterial prmA = new ProductRawMaterial(1L, productA, steel, new BigDecimal("30.0000"));
-            prmA.setActive(true);
-            productA.getRawMaterials().add(prmA);
-
-            // Product B ($200): needs 20 steel
-            Product productB = new Product(2L, "Product B", new BigDecimal("200.00"));
-            ProductRawMaterial prmB = new ProductRawMaterial(2L, productB, steel, new BigDecimal("20.0000"));
-            prmB.setActive(true);
-            productB.getRawMaterials().add(prmB);
-
+            // Product A ($500): needs 30 steel; Product B ($200): needs 20 steel
             // Stock: 100 steel. A first (higher value) → 100/30 = 3 units → consumes 90. B
             // → 10/20 = 0.
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(productA, productB));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Product A", "500.00", steel, "30.0000"),
+                    line(2L, "Product B", "200.00", steel, "20.0000")));
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -214,22 +208,12 @@ class ProductionSuggestionServiceTest {
         @Test
         @DisplayName("Should produce multiple products when stock allows")
         void shouldProduceMultipleProductsWhenStockAllows() {
-            // Product A ($500): needs 10 steel
-            Product productA = new Product(1L, "Product A", new BigDecimal("500.00"));
-            ProductRawMaterial prmA = new ProductRawMaterial(1L, productA, steel, new BigDecimal("10.0000"));
-            prmA.setActive(true);
-            productA.getRawMaterials().add(prmA);
-
-            // Product B ($200): needs 5 copper
-            Product productB = new Product(2L, "Product B", new BigDecimal("200.00"));
-            ProductRawMaterial prmB = new ProductRawMaterial(2L, productB, copper, new BigDecimal("5.0000"));
-            prmB.setActive(true);
-            productB.getRawMaterials().add(prmB);
-
+            // Product A ($500): needs 10 steel; Product B ($200): needs 5 copper
             // Stock: 100 steel, 50 copper. No shared materials → both produced
             // independently.
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(productA, productB));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel, copper));
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Product A", "500.00", steel, "10.0000"),
+                    line(2L, "Product B", "200.00", copper, "5.0000")));
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
@@ -240,64 +224,222 @@ class ProductionSuggestionServiceTest {
         }
     }
 
-    /**
-     * Garante que matérias-primas marcadas como inativas sejam ignoradas no cálculo de produção.
-     */
     @Nested
-    @DisplayName("Inactive items handling")
-    class InactiveItems {
+    @DisplayName("Snapshot loading")
+    class SnapshotLoading {
 
+        /**
+         * Garante que linhas consecutivas do mesmo produto sejam agrupadas e que o estoque compartilhado seja único.
+         */
         @Test
-        @DisplayName("Should ignore inactive raw materials in composition")
-        void shouldIgnoreInactiveRawMaterials() {
-            Product product = new Product(1L, "Product", new BigDecimal("500.00"));
+        @DisplayName("Should group composition lines by product and share raw material stock")
+        void shouldGroupLinesByProduct() {
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Motor", "500.00", steel, "10.0000"),
+                    line(1L, "Motor", "500.00", plastic, "20.0000"),
+                    line(2L, "Panel", "300.00", plastic, "40.0000")));
+
+            ProductionSnapshot snapshot = service.loadSnapshot();
+
+            assertEquals(2, snapshot.productCount());
+            assertEquals(2, snapshot.materialCount());
+            assertEquals(3, snapshot.lineCount());
+            assertEquals(2, snapshot.lineEnd(0) - snapshot.lineStart(0));
+            assertEquals(snapshot.lineMaterial(1), snapshot.lineMaterial(2));
+        }
+    }
 
-            // Active material with enough stock
-            ProductRawMaterial activePrm = new ProductRawMaterial(1L, product, steel, new BigDecimal("10.0000"));
-            activePrm.setActive(true);
+    @Nested
+    @DisplayName("Optimal strategy")
+    class OptimalStrategy {
 
-            // Inactive material — should be ignored
-            RawMaterial inactiveMaterial = new RawMaterial(99L, "Inactive", BigDecimal.ZERO);
-            inactiveMaterial.setActive(false);
-            ProductRawMaterial inactivePrm = new ProductRawMaterial(2L, product, inactiveMaterial,
-                    new BigDecimal("100.0000"));
-            inactivePrm.setActive(true);
+        /**
+         * Regra de Negócio: a estratégia ótima deve superar o guloso quando o item mais caro desperdiça estoque.
+         */
+        @Test
+        @DisplayName("Should maximize total value where greedy leaves stock unused")
+        void shouldMaximizeTotalValue() {
+            // Expensive ($1000) needs 60 steel; Cheaper ($600) needs 50 steel. Stock: 100 steel.
+            // Greedy → 1 Expensive = $1000. Optimal → 2 Cheaper = $1200.
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Expensive", "1000.00", steel, "60.0000"),
+                    line(2L, "Cheaper", "600.00", steel, "50.0000")));
+
+            ProductionSuggestionResponseDTO result = service.calculateSuggestion(ProductionStrategy.OPTIMAL);
 
-            product.getRawMaterials().addAll(List.of(activePrm, inactivePrm));
+            assertEquals(ProductionStrategy.OPTIMAL, result.strategy());
+            assertEquals(1, result.items().size());
+            assertEquals("Cheaper", result.items().get(0).productName());
+            assertEquals(2, result.items().get(0).quantityToProduce());
+            assertEquals(new BigDecimal("1200.00"), result.totalValue());
+            assertEquals(new BigDecimal("1200.00"), result.upperBound());
+            assertEquals(0, result.optimalityGap().signum());
+        }
 
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(product));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel, inactiveMaterial));
+        /**
+         * Garante que a estratégia padrão continue sendo a gulosa, sem limite superior reportado.
+         */
+        @Test
+        @DisplayName("Should keep greedy as the default strategy")
+        void shouldKeepGreedyAsDefault() {
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(Collections.emptyList());
 
             ProductionSuggestionResponseDTO result = service.calculateSuggestion();
 
-            assertEquals(1, result.items().size());
-            assertEquals(10, result.items().get(0).quantityToProduce()); // Only considers steel
+            assertEquals(ProductionStrategy.GREEDY, result.strategy());
+            assertNull(result.upperBound());
+            assertNull(result.optimalityGap());
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class Caching {
+
+        /**
+         * Garante que chamadas repetidas sem alteração no catálogo reutilizem o resultado sem consultar o banco.
+         */
+        @Test
+        @DisplayName("Should reuse the cached suggestion while the catalog is unchanged")
+        void shouldReuseCachedSuggestion() {
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Motor", "500.00", steel, "10.0000")));
+
+            ProductionSuggestionService.VersionedSuggestion first = service.currentSuggestion(ProductionStrategy.GREEDY);
+            ProductionSuggestionService.VersionedSuggestion second = service.currentSuggestion(ProductionStrategy.GREEDY);
+
+            assertSame(first.suggestion(), second.suggestion());
+            assertEquals(first.version(), second.version());
+            verify(productRawMaterialRepository, times(1)).findActiveCompositionLines();
+        }
+
+        /**
+         * Valida que uma alteração gravada invalide o cache, recarregando os dados e gerando uma nova versão.
+         */
+        @Test
+        @DisplayName("Should reload and bump the version after a catalog change")
+        void shouldReloadAfterCatalogChange() {
+            when(productRawMaterialRepository.findActiveCompositionLines())
+                    .thenReturn(List.of(line(1L, "Motor", "500.00", steel, "10.0000")))
+                    .thenReturn(List.of(line(1L, "Motor", "500.00", steel, "50.0000")));
+
+            ProductionSuggestionService.VersionedSuggestion before = service.currentSuggestion(ProductionStrategy.GREEDY);
+            service.onCatalogChanged(CatalogChangedEvent.composition(1L));
+            ProductionSuggestionService.VersionedSuggestion after = service.currentSuggestion(ProductionStrategy.GREEDY);
+
+            assertNotEquals(before.version(), after.version());
+            assertEquals(10, before.suggestion().items().get(0).quantityToProduce());
+            assertEquals(2, after.suggestion().items().get(0).quantityToProduce());
+            verify(productRawMaterialRepository, times(2)).findActiveCompositionLines();
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class Metrics {
+
+        /**
+         * Cada cálculo é medido no timer da estratégia e da faixa de tamanho do catálogo; o cache não gera medições.
+         */
+        @Test
+        @DisplayName("Should time calculations by strategy and catalog size")
+        void shouldTimeCalculations() {
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Motor", "500.00", steel, "10.0000")));
+
+            service.calculateSuggestion(ProductionStrategy.GREEDY);
+            service.calculateSuggestion(ProductionStrategy.GREEDY);
+            service.calculateSuggestion(ProductionStrategy.OPTIMAL);
+
+            Timer greedy = meterRegistry.get(ProductionSuggestionService.SUGGESTION_TIMER)
+                    .tags("strategy", "greedy", "catalog.size", "0-100")
+                    .timer();
+            Timer optimal = meterRegistry.get(ProductionSuggestionService.SUGGESTION_TIMER)
+                    .tags("strategy", "optimal")
+                    .timer();
+            assertEquals(1, greedy.count());
+            assertEquals(1, optimal.count());
         }
 
         /**
-         * Garante que vínculos de composição inativados não interfiram na sugestão de produção.
+         * As faixas de tamanho mantêm a cardinalidade da tag limitada a quatro valores.
          */
         @Test
-        @DisplayName("Should ignore inactive associations")
-        void shouldIgnoreInactiveAssociations() {
-            Product product = new Product(1L, "Product", new BigDecimal("500.00"));
+        @DisplayName("Should bucket the catalog size")
+        void shouldBucketCatalogSize() {
+            assertEquals("0-100", ProductionSuggestionService.catalogSize(0));
+            assertEquals("0-100", ProductionSuggestionService.catalogSize(100));
+            assertEquals("101-1000", ProductionSuggestionService.catalogSize(101));
+            assertEquals("1001-10000", ProductionSuggestionService.catalogSize(10_000));
+            assertEquals("10000+", ProductionSuggestionService.catalogSize(10_001));
+        }
+    }
 
-            ProductRawMaterial activePrm = new ProductRawMaterial(1L, product, steel, new BigDecimal("10.0000"));
-            activePrm.setActive(true);
+    @Nested
+    @DisplayName("What-if scenarios")
+    class Scenarios {
 
-            // Inactive association — should be ignored
-            ProductRawMaterial inactivePrm = new ProductRawMaterial(2L, product, copper, new BigDecimal("1000.0000"));
-            inactivePrm.setActive(false);
+        /**
+         * Verifica ajustes de estoque por delta e multiplicador, um resultado por cenário na ordem informada.
+         */
+        @Test
+        @DisplayName("Should apply stock deltas and multipliers per scenario")
+        void shouldApplyStockOverrides() {
+            // Motor needs 10 steel + 5 copper. Stock: 100 steel, 50 copper → 10 units.
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Motor", "500.00", steel, "10.0000"),
+                    line(1L, "Motor", "500.00", copper, "5.0000")));
+
+            List<ProductionSuggestionResponseDTO> results = service.evaluateScenarios(List.of(
+                    new ProductionScenarioDTO(List.of(), null),
+                    new ProductionScenarioDTO(List.of(
+                            new StockOverride(1L, null, new BigDecimal("200"), null),
+                            new StockOverride(2L, null, null, new BigDecimal("2"))), null),
+                    new ProductionScenarioDTO(List.of(
+                            new StockOverride(2L, BigDecimal.ZERO, null, null)), null)),
+                    ProductionStrategy.GREEDY);
+
+            assertEquals(3, results.size());
+            assertEquals(10, results.get(0).items().get(0).quantityToProduce());
+            assertEquals(20, results.get(1).items().get(0).quantityToProduce()); // 300/10 e 100/5
+            assertTrue(results.get(2).items().isEmpty());
+        }
 
-            product.getRawMaterials().addAll(List.of(activePrm, inactivePrm));
+        /**
+         * Regra de Negócio: um novo valor hipotético muda a prioridade do guloso sem alterar o banco.
+         */
+        @Test
+        @DisplayName("Should reprioritize products when values are overridden")
+        void shouldReprioritizeOnValueOverride() {
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Expensive", "1000.00", steel, "50.0000"),
+                    line(2L, "Cheap", "100.00", steel, "10.0000")));
+
+            List<ProductionSuggestionResponseDTO> results = service.evaluateScenarios(List.of(
+                    new ProductionScenarioDTO(null, List.of(new ValueOverride(2L, new BigDecimal("2000.00"))))),
+                    ProductionStrategy.GREEDY);
+
+            ProductionItem item = results.get(0).items().get(0);
+            assertEquals("Cheap", item.productName());
+            assertEquals(10, item.quantityToProduce());
+            assertEquals(new BigDecimal("20000.00"), results.get(0).totalValue());
+            assertEquals(2, service.calculateSuggestion().items().get(0).quantityToProduce());
+        }
 
-            when(productRepository.findAllOrderByValueDesc()).thenReturn(List.of(product));
-            when(rawMaterialRepository.listAll()).thenReturn(List.of(steel, copper));
+        /**
+         * Garante que um ajuste de estoque ambíguo seja rejeitado como erro de negócio.
+         */
+        @Test
+        @DisplayName("Should reject stock overrides that set more than one adjustment")
+        void shouldRejectAmbiguousOverride() {
+            when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                    line(1L, "Motor", "500.00", steel, "10.0000")));
 
-            ProductionSuggestionResponseDTO result = service.calculateSuggestion();
+            List<ProductionScenarioDTO> scenarios = List.of(new ProductionScenarioDTO(List.of(
+                    new StockOverride(1L, BigDecimal.TEN, BigDecimal.ONE, null)), null));
 
-            assertEquals(1, result.items().size());
-            assertEquals(10, result.items().get(0).quantityToProduce()); // Ignores copper association
+            assertThrows(BusinessException.class,
+                    () -> service.evaluateScenarios(scenarios, ProductionStrategy.GREEDY));
         }
     }
 }
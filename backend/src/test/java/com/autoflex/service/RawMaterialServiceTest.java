@@ -2,12 +2,18 @@ package com.autoflex.service;
 
 import com.autoflex.dto.RawMaterialCreateDTO;
 import com.autoflex.dto.RawMaterialResponseDTO;
+import com.autoflex.dto.StockAdjustmentDTO;
 import com.autoflex.entity.RawMaterial;
+import com.autoflex.entity.StockMovementType;
+import com.autoflex.event.CatalogChangedEvent;
 import com.autoflex.exception.BusinessException;
+import com.autoflex.exception.ConflictException;
+import com.autoflex.exception.PreconditionFailedException;
 import com.autoflex.exception.ResourceNotFoundException;
 import com.autoflex.repository.ProductRawMaterialRepository;
 import com.autoflex.repository.RawMaterialRepository;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.enterprise.event.Event;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -17,10 +23,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +45,12 @@ class RawMaterialServiceTest {
     @Mock
     ProductRawMaterialRepository productRawMaterialRepository;
 
+    @Mock
+    StockLedger stockLedger;
+
+    @Mock
+    Event<CatalogChangedEvent> catalogChanged;
+
     @InjectMocks
     RawMaterialService service;
 
@@ -88,6 +106,8 @@ class RawMaterialServiceTest {
 
             assertEquals("Copper Wire", result.name());
             verify(rawMaterialRepository).persist(any(RawMaterial.class));
+            verify(stockLedger).record(eq(StockMovementType.RECEIPT), any(), eq(new BigDecimal("200.0000")),
+                    eq("Initial stock"), isNull());
         }
 
         /**
@@ -108,6 +128,48 @@ class RawMaterialServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("update")
+    class Update {
+
+        /**
+         * Verifica que a atualização sem If-Match grava os dados e força o flush para devolver a nova versão.
+         */
+        @Test
+        @DisplayName("Should update and flush when no version is expected")
+        void shouldUpdateWithoutExpectedVersion() {
+            RawMaterial rm = new RawMaterial(1L, "Steel", new BigDecimal("10.0000"));
+            when(rawMaterialRepository.findByIdOptional(1L)).thenReturn(Optional.of(rm));
+            PanacheQuery<RawMaterial> emptyQuery = mock(PanacheQuery.class);
+            when(rawMaterialRepository.find("name", "Steel Plate")).thenReturn(emptyQuery);
+            when(emptyQuery.firstResultOptional()).thenReturn(Optional.empty());
+
+            RawMaterialResponseDTO result = service.update(1L,
+                    new RawMaterialCreateDTO("Steel Plate", new BigDecimal("12.0000")));
+
+            assertEquals("Steel Plate", result.name());
+            verify(rawMaterialRepository).flush();
+            verify(stockLedger).record(StockMovementType.ADJUSTMENT, 1L, new BigDecimal("2.0000"), "Manual update", null);
+            verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(1L));
+        }
+
+        /**
+         * Garante que um If-Match com versão diferente da gravada rejeite a alteração (412) sem modificar nada.
+         */
+        @Test
+        @DisplayName("Should throw PreconditionFailedException when the version differs")
+        void shouldRejectStaleVersion() {
+            RawMaterial rm = new RawMaterial(1L, "Steel", new BigDecimal("10.0000"));
+            when(rawMaterialRepository.findByIdOptional(1L)).thenReturn(Optional.of(rm));
+
+            assertThrows(PreconditionFailedException.class, () -> service.update(1L,
+                    new RawMaterialCreateDTO("Steel", new BigDecimal("99.0000")), Set.of(3L)));
+
+            assertEquals(new BigDecimal("10.0000"), rm.getStockQuantity());
+            verifyNoInteractions(catalogChanged, stockLedger);
+        }
+    }
+
     @Nested
     @DisplayName("delete")
     class Delete {
@@ -125,6 +187,7 @@ class RawMaterialServiceTest {
             service.delete(1L);
 
             assertFalse(rm.isActive());
+            verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(1L));
         }
 
         /**
@@ -140,6 +203,7 @@ class RawMaterialServiceTest {
             BusinessException ex = assertThrows(BusinessException.class, () -> service.delete(1L));
             assertTrue(ex.getMessage().contains("linked to"));
             assertTrue(ex.getMessage().contains("3"));
+            verifyNoInteractions(catalogChanged);
         }
 
         /**
@@ -153,4 +217,58 @@ class RawMaterialServiceTest {
             assertThrows(ResourceNotFoundException.class, () -> service.delete(999L));
         }
     }
+
+    @Nested
+    @DisplayName("consumeStock")
+    class ConsumeStock {
+
+        /**
+         * Verifica que a baixa completa (todas as linhas atualizadas) é lançada no livro e dispara um evento de
+         * alteração do catálogo por matéria-prima.
+         */
+        @Test
+        @DisplayName("Should fire catalog change when every material was deducted")
+        void shouldFireWhenAllDeducted() {
+            SortedMap<Long, BigDecimal> consumption = new TreeMap<>(Map.of(1L, BigDecimal.ONE, 2L, BigDecimal.TEN));
+            when(rawMaterialRepository.consumeStock(eq(consumption), any())).thenReturn(2);
+
+            service.consumeStock(consumption, "exec-1");
+
+            verify(stockLedger).record(StockMovementType.CONSUMPTION,
+                    Map.of(1L, BigDecimal.ONE.negate(), 2L, BigDecimal.TEN.negate()), "Production execution", "exec-1");
+            verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(1L));
+            verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(2L));
+        }
+
+        /**
+         * Garante que a falta de estoque em qualquer matéria-prima rejeita o plano inteiro (409).
+         */
+        @Test
+        @DisplayName("Should throw ConflictException when a material is short")
+        void shouldThrowWhenShort() {
+            SortedMap<Long, BigDecimal> consumption = new TreeMap<>(Map.of(1L, BigDecimal.ONE, 2L, BigDecimal.TEN));
+            when(rawMaterialRepository.consumeStock(eq(consumption), any())).thenReturn(1);
+
+            assertThrows(ConflictException.class, () -> service.consumeStock(consumption, "exec-1"));
+            verifyNoInteractions(catalogChanged, stockLedger);
+        }
+    }
+
+    @Nested
+    @DisplayName("adjustStock")
+    class AdjustStock {
+
+        /**
+         * Garante que um recebimento com delta não positivo seja recusado antes de abrir a transação.
+         */
+        @Test
+        @DisplayName("Should reject a receipt with a negative delta")
+        void shouldRejectNegativeReceipt() {
+            StockAdjustmentDTO receipt = new StockAdjustmentDTO(new BigDecimal("-1"), StockMovementType.RECEIPT,
+                    null, null);
+
+            assertThrows(BusinessException.class, () -> service.adjustStock(1L, receipt));
+            verifyNoInteractions(rawMaterialRepository, stockLedger);
+        }
+    }
 }
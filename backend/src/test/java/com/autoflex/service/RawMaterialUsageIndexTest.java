@@ -0,0 +1,149 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.WhereUsedDTO;
+import com.autoflex.entity.RawMaterial;
+import com.autoflex.event.CatalogChangedEvent;
+import com.autoflex.exception.ResourceNotFoundException;
+import com.autoflex.repository.CompositionLineRow;
+import com.autoflex.repository.ProductRawMaterialRepository;
+import com.autoflex.repository.RawMaterialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RawMaterialUsageIndex")
+class RawMaterialUsageIndexTest {
+
+    @Mock
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @Mock
+    RawMaterialRepository rawMaterialRepository;
+
+    @InjectMocks
+    RawMaterialUsageIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(rawMaterialRepository.findByIdOptional(anyLong()))
+                .thenAnswer(call -> Optional.of(new RawMaterial(call.getArgument(0), "RM", BigDecimal.TEN)));
+    }
+
+    private static CompositionLineRow line(long productId, long rawMaterialId, String quantity) {
+        return new CompositionLineRow(productId, "P" + productId, BigDecimal.TEN, rawMaterialId, BigDecimal.TEN,
+                new BigDecimal(quantity));
+    }
+
+    /**
+     * Verifica que a primeira leitura monta o índice inteiro e as seguintes não voltam ao banco.
+     */
+    @Test
+    @DisplayName("Should build once and answer from memory afterwards")
+    void shouldBuildOnce() {
+        when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                line(2L, 10L, "1.0000"),
+                line(1L, 10L, "2.5000"),
+                line(1L, 20L, "3.0000")));
+
+        WhereUsedDTO steel = index.usedBy(10L);
+        WhereUsedDTO copper = index.usedBy(20L);
+
+        assertEquals(2, steel.productCount());
+        assertEquals(List.of(1L, 2L), steel.products().stream().map(WhereUsedDTO.UsedByProduct::productId).toList());
+        assertEquals(new BigDecimal("3.0000"), copper.products().get(0).quantity());
+        assertEquals(0, index.usedBy(30L).productCount());
+        verify(productRawMaterialRepository, times(1)).findActiveCompositionLines();
+    }
+
+    /**
+     * Garante que uma alteração de composição recarrega somente o produto afetado e remove vínculos desfeitos.
+     */
+    @Test
+    @DisplayName("Should reload only the changed product")
+    void shouldReloadChangedProduct() {
+        when(productRawMaterialRepository.findActiveCompositionLines()).thenReturn(List.of(
+                line(1L, 10L, "2.5000"),
+                line(1L, 20L, "3.0000"),
+                line(2L, 10L, "1.0000")));
+        index.usedBy(10L);
+
+        when(productRawMaterialRepository.findActiveCompositionLines(Set.of(1L)))
+                .thenReturn(List.of(line(1L, 20L, "4.0000")));
+        index.onCatalogChanged(CatalogChangedEvent.composition(1L));
+
+        assertEquals(List.of(2L), index.usedBy(10L).products().stream()
+                .map(WhereUsedDTO.UsedByProduct::productId).toList());
+        assertEquals(new BigDecimal("4.0000"), index.usedBy(20L).products().get(0).quantity());
+        verify(productRawMaterialRepository, times(1)).findActiveCompositionLines(Set.of(1L));
+        verify(productRawMaterialRepository, times(1)).findActiveCompositionLines();
+    }
+
+    /**
+     * Valida que alterações em lote (sem id) forçam a reconstrução e que estoque não invalida o índice.
+     */
+    @Test
+    @DisplayName("Should rebuild after bulk changes and ignore raw material events")
+    void shouldRebuildAfterBulkChange() {
+        when(productRawMaterialRepository.findActiveCompositionLines())
+                .thenReturn(List.of(line(1L, 10L, "1.0000")))
+                .thenReturn(List.of(line(1L, 10L, "1.0000"), line(3L, 10L, "5.0000")));
+        index.usedBy(10L);
+
+        index.onCatalogChanged(CatalogChangedEvent.rawMaterial(10L));
+        assertEquals(1, index.usedBy(10L).productCount());
+
+        index.onCatalogChanged(CatalogChangedEvent.composition(null));
+        assertEquals(2, index.usedBy(10L).productCount());
+        verify(productRawMaterialRepository, times(2)).findActiveCompositionLines();
+    }
+
+    /**
+     * Uma falha na recarga mantém o produto pendente: a leitura seguinte repete a consulta em vez de marcar o
+     * índice como atualizado.
+     */
+    @Test
+    @DisplayName("Should keep pending work when the reload query fails")
+    void shouldKeepPendingWorkWhenReloadFails() {
+        when(productRawMaterialRepository.findActiveCompositionLines())
+                .thenThrow(new IllegalStateException("primary unavailable"))
+                .thenReturn(List.of(line(1L, 10L, "1.0000")));
+
+        assertThrows(IllegalStateException.class, () -> index.usedBy(10L));
+        assertEquals(1, index.usedBy(10L).productCount());
+
+        when(productRawMaterialRepository.findActiveCompositionLines(Set.of(2L)))
+                .thenThrow(new IllegalStateException("primary unavailable"))
+                .thenReturn(List.of(line(2L, 10L, "2.0000")));
+        index.onCatalogChanged(CatalogChangedEvent.composition(2L));
+
+        assertThrows(IllegalStateException.class, () -> index.usedBy(10L));
+        assertEquals(2, index.usedBy(10L).productCount());
+        verify(productRawMaterialRepository, times(2)).findActiveCompositionLines(Set.of(2L));
+    }
+
+    /**
+     * Garante 404 para matéria-prima inexistente, sem montar o índice.
+     */
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for unknown raw material")
+    void shouldThrowWhenNotFound() {
+        when(rawMaterialRepository.findByIdOptional(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> index.usedBy(99L));
+        verifyNoInteractions(productRawMaterialRepository);
+    }
+}
@@ -0,0 +1,85 @@
+package com.autoflex.service;
+
+import com.autoflex.exception.BusinessException;
+import com.autoflex.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScenarioExecutor")
+class ScenarioExecutorTest {
+
+    private ScenarioExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Os resultados voltam na ordem das tarefas, mesmo executadas em paralelo.
+     */
+    @Test
+    @DisplayName("Should return results in task order")
+    void shouldKeepTaskOrder() {
+        executor = new ScenarioExecutor(OptionalInt.of(4), 100, Duration.ofSeconds(5));
+
+        List<Callable<Integer>> tasks = IntStream.range(0, 50)
+                .<Callable<Integer>>mapToObj(i -> () -> i * i)
+                .toList();
+
+        assertEquals(IntStream.range(0, 50).map(i -> i * i).boxed().toList(), executor.invokeAll(tasks));
+    }
+
+    /**
+     * Ao estourar o prazo total, os cenários pendentes são cancelados e a requisição recebe 503.
+     */
+    @Test
+    @DisplayName("Should cancel pending scenarios when the time budget is exceeded")
+    void shouldEnforceTimeBudget() {
+        executor = new ScenarioExecutor(OptionalInt.of(1), 100, Duration.ofMillis(100));
+        CountDownLatch never = new CountDownLatch(1);
+
+        List<Callable<Boolean>> tasks = List.of(() -> never.await(5, TimeUnit.SECONDS), () -> true);
+
+        assertThrows(ServiceBusyException.class, () -> executor.invokeAll(tasks));
+    }
+
+    /**
+     * Mais tarefas do que cabem na fila são recusadas de imediato, sem ocupar o pool.
+     */
+    @Test
+    @DisplayName("Should reject requests that do not fit in the queue")
+    void shouldRejectWhenQueueIsFull() {
+        executor = new ScenarioExecutor(OptionalInt.of(1), 2, Duration.ofSeconds(5));
+
+        List<Callable<Integer>> tasks = IntStream.range(0, 10).<Callable<Integer>>mapToObj(i -> () -> i).toList();
+
+        assertThrows(ServiceBusyException.class, () -> executor.invokeAll(tasks));
+    }
+
+    /**
+     * Erros de negócio de um cenário chegam ao chamador com o tipo original.
+     */
+    @Test
+    @DisplayName("Should propagate scenario failures unchanged")
+    void shouldPropagateFailures() {
+        executor = new ScenarioExecutor(OptionalInt.of(2), 10, Duration.ofSeconds(5));
+
+        List<Callable<Integer>> tasks = List.of(() -> 1, () -> {
+            throw new BusinessException("invalid scenario");
+        });
+
+        assertThrows(BusinessException.class, () -> executor.invokeAll(tasks));
+    }
+}
@@ -0,0 +1,114 @@
+package com.autoflex.service;
+
+import com.autoflex.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Segura o cálculo até todas as chamadas chegarem para garantir que elas compartilhem a mesma execução.
+     */
+    @Test
+    @DisplayName("Should share one computation among concurrent callers")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        List<Future<Integer>> results = submitAll("greedy", () -> {
+            computations.incrementAndGet();
+            await(release);
+            return 42;
+        });
+        waitForFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(42, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(new SingleFlight.Stats(1, CALLERS - 1, 0), flights.stats());
+    }
+
+    /**
+     * Garante que a exceção do cálculo chegue a todos os que aguardavam e que a chave seja liberada em seguida.
+     */
+    @Test
+    @DisplayName("Should propagate failures to every waiting caller")
+    void shouldPropagateFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = submitAll("optimal", () -> {
+            await(release);
+            throw new BusinessException("boom");
+        });
+        waitForFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(BusinessException.class, e.getCause());
+        }
+        assertEquals(7, flights.run("optimal", () -> 7));
+        assertEquals(2, flights.stats().executions());
+    }
+
+    /**
+     * Verifica que chaves diferentes não se bloqueiam e que chamadas sequenciais executam de novo.
+     */
+    @Test
+    @DisplayName("Should run different keys and sequential calls independently")
+    void shouldNotCoalesceSequentialCalls() {
+        assertEquals(1, flights.run("a", () -> 1));
+        assertEquals(2, flights.run("a", () -> 2));
+        assertEquals(3, flights.run("b", () -> 3));
+        assertEquals(new SingleFlight.Stats(3, 0, 0), flights.stats());
+    }
+
+    private List<Future<Integer>> submitAll(String key, Supplier<Integer> computation) {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flights.run(key, computation)));
+        }
+        return results;
+    }
+
+    private void waitForFollowers(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.stats().coalesced() < followers && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.StockBalanceDTO;
+import com.autoflex.entity.StockMovement;
+import com.autoflex.entity.StockMovementType;
+import com.autoflex.entity.StockSnapshot;
+import com.autoflex.repository.RawMaterialRepository;
+import com.autoflex.repository.StockMovementRepository;
+import com.autoflex.repository.StockSnapshotRepository;
+import com.autoflex.repository.StockTailRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLedger")
+class StockLedgerTest {
+
+    @Mock
+    StockMovementRepository stockMovementRepository;
+
+    @Mock
+    StockSnapshotRepository stockSnapshotRepository;
+
+    @Mock
+    RawMaterialRepository rawMaterialRepository;
+
+    private StockLedger ledger;
+
+    /**
+     * Fotografa a cada 3 lançamentos para exercitar o intervalo com poucas chamadas.
+     */
+    @BeforeEach
+    void setUp() {
+        ledger = new StockLedger(stockMovementRepository, stockSnapshotRepository, rawMaterialRepository, 3);
+    }
+
+    @Nested
+    @DisplayName("record")
+    class Record {
+
+        /**
+         * Verifica que cada quantidade não nula vira um lançamento com o mesmo horário, tipo e referência.
+         */
+        @Test
+        @DisplayName("Should persist one movement per non-zero quantity")
+        void shouldPersistMovements() {
+            Map<Long, BigDecimal> quantities = new TreeMap<>(Map.of(
+                    1L, new BigDecimal("-2.5000"),
+                    2L, BigDecimal.ZERO,
+                    3L, new BigDecimal("-1.0000")));
+
+            ledger.record(StockMovementType.CONSUMPTION, quantities, "Production execution", "exec-1");
+
+            ArgumentCaptor<StockMovement> captor = ArgumentCaptor.forClass(StockMovement.class);
+            verify(stockMovementRepository, times(2)).persist(captor.capture());
+            List<StockMovement> movements = captor.getAllValues();
+            assertEquals(List.of(1L, 3L), movements.stream().map(StockMovement::getRawMaterialId).toList());
+            assertEquals(new BigDecimal("-2.5000"), movements.get(0).getQuantity());
+            assertEquals("exec-1", movements.get(1).getReference());
+            assertEquals(movements.get(0).getOccurredAt(), movements.get(1).getOccurredAt());
+            verifyNoInteractions(stockSnapshotRepository, rawMaterialRepository);
+        }
+
+        /**
+         * Garante que, ao atingir o intervalo, o saldo gravado é fotografado no horário do último lançamento.
+         */
+        @Test
+        @DisplayName("Should snapshot the balance every interval movements")
+        void shouldSnapshotEveryInterval() {
+            when(rawMaterialRepository.findStockQuantities(List.of(1L)))
+                    .thenReturn(Map.of(1L, new BigDecimal("42.0000")));
+
+            for (int i = 0; i < 4; i++) {
+                ledger.record(StockMovementType.RECEIPT, 1L, BigDecimal.ONE, null, null);
+            }
+
+            ArgumentCaptor<StockMovement> movements = ArgumentCaptor.forClass(StockMovement.class);
+            verify(stockMovementRepository, times(4)).persist(movements.capture());
+            ArgumentCaptor<StockSnapshot> snapshot = ArgumentCaptor.forClass(StockSnapshot.class);
+            verify(stockSnapshotRepository).persist(snapshot.capture());
+            assertEquals(new BigDecimal("42.0000"), snapshot.getValue().getBalance());
+            assertEquals(movements.getAllValues().get(2).getOccurredAt(), snapshot.getValue().getTakenAt());
+        }
+    }
+
+    @Nested
+    @DisplayName("balanceAt")
+    class BalanceAt {
+
+        /**
+         * Verifica que o saldo é a fotografia mais recente somada apenas aos lançamentos posteriores a ela.
+         */
+        @Test
+        @DisplayName("Should add the tail after the latest snapshot")
+        void shouldAddTailToSnapshot() {
+            Instant takenAt = Instant.parse("2026-01-10T10:00:00Z");
+            Instant at = Instant.parse("2026-01-10T12:00:00Z");
+            when(stockSnapshotRepository.findLatest(7L, at))
+                    .thenReturn(Optional.of(new StockSnapshot(7L, new BigDecimal("100.0000"), takenAt)));
+            when(stockMovementRepository.sumBetween(7L, takenAt, at))
+                    .thenReturn(new StockTailRow(new BigDecimal("-12.5000"), 3));
+
+            StockBalanceDTO balance = ledger.balanceAt(7L, at);
+
+            assertEquals(new BigDecimal("87.5000"), balance.quantity());
+            assertEquals(takenAt, balance.snapshotAt());
+            assertEquals(3, balance.tailMovements());
+        }
+
+        /**
+         * Sem fotografia anterior, o saldo parte de zero e soma todos os lançamentos até o instante.
+         */
+        @Test
+        @DisplayName("Should start from zero without a snapshot")
+        void shouldStartFromZero() {
+            Instant at = Instant.parse("2026-01-10T12:00:00Z");
+            when(stockSnapshotRepository.findLatest(7L, at)).thenReturn(Optional.empty());
+            when(stockMovementRepository.sumBetween(7L, null, at)).thenReturn(new StockTailRow(null, 0));
+
+            StockBalanceDTO balance = ledger.balanceAt(7L, at);
+
+            assertEquals(BigDecimal.ZERO, balance.quantity());
+            assertNull(balance.snapshotAt());
+            verify(stockMovementRepository, never()).persist(any(StockMovement.class));
+        }
+    }
+}
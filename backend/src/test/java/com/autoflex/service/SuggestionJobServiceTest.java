@@ -0,0 +1,221 @@
+package com.autoflex.service;
+
+import com.autoflex.dto.ProductionSuggestionResponseDTO;
+import com.autoflex.dto.SuggestionJobDTO;
+import com.autoflex.dto.SuggestionJobDTO.Status;
+import com.autoflex.engine.ProductionStrategy;
+import com.autoflex.exception.BusinessException;
+import com.autoflex.exception.ResourceNotFoundException;
+import com.autoflex.exception.ServiceBusyException;
+import com.autoflex.service.ProductionSuggestionService.VersionedSuggestion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuggestionJobService")
+class SuggestionJobServiceTest {
+
+    private static final VersionedSuggestion SUGGESTION = new VersionedSuggestion("boot-1",
+            new ProductionSuggestionResponseDTO(List.of(), BigDecimal.ZERO));
+
+    @Mock
+    ProductionSuggestionService productionSuggestionService;
+
+    private SuggestionJobService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private SuggestionJobService newService(int queueSize, Duration ttl, int maxRetained) {
+        service = new SuggestionJobService(productionSuggestionService, 1, queueSize, ttl, maxRetained);
+        return service;
+    }
+
+    private SuggestionJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        SuggestionJobDTO job = service.find(jobId);
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = service.find(jobId);
+        }
+        return job;
+    }
+
+    private void awaitRunning(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.find(jobId).status() == Status.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Segura o carregamento do catálogo até o latch ser liberado, ocupando a única thread do pool.
+     */
+    private CountDownLatch blockCatalogLoad() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(productionSuggestionService.currentSnapshot()).thenAnswer(call -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        return release;
+    }
+
+    @Nested
+    @DisplayName("submit")
+    class Submit {
+
+        /**
+         * Verifica que o job começa na fila e termina com o resultado e a versão da sugestão calculada.
+         */
+        @Test
+        @DisplayName("Should compute the suggestion in the background")
+        void shouldComputeInBackground() throws Exception {
+            newService(4, Duration.ofMinutes(10), 10);
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.OPTIMAL)).thenReturn(SUGGESTION);
+
+            SuggestionJobDTO submitted = service.submit(ProductionStrategy.OPTIMAL);
+            SuggestionJobDTO finished = awaitFinished(submitted.jobId());
+
+            assertEquals(Status.SUCCEEDED, finished.status());
+            assertEquals(100, finished.progress());
+            assertEquals("boot-1", finished.suggestionVersion());
+            assertSame(SUGGESTION.suggestion(), finished.result());
+            assertNotNull(finished.startedAt());
+        }
+
+        /**
+         * Garante que a falha do cálculo fica registrada no job, sem resultado.
+         */
+        @Test
+        @DisplayName("Should record failures on the job")
+        void shouldRecordFailure() throws Exception {
+            newService(4, Duration.ofMinutes(10), 10);
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.GREEDY))
+                    .thenThrow(new BusinessException("boom"));
+
+            SuggestionJobDTO finished = awaitFinished(service.submit(ProductionStrategy.GREEDY).jobId());
+
+            assertEquals(Status.FAILED, finished.status());
+            assertEquals("boom", finished.error());
+            assertNull(finished.result());
+        }
+
+        /**
+         * Com a thread ocupada e a fila cheia, novos jobs são recusados em vez de acumular sem limite.
+         */
+        @Test
+        @DisplayName("Should reject jobs when the queue is full")
+        void shouldRejectWhenQueueIsFull() throws Exception {
+            newService(1, Duration.ofMinutes(10), 10);
+            CountDownLatch release = blockCatalogLoad();
+
+            awaitRunning(service.submit(ProductionStrategy.GREEDY).jobId());
+            service.submit(ProductionStrategy.GREEDY);
+
+            assertThrows(ServiceBusyException.class, () -> service.submit(ProductionStrategy.GREEDY));
+            release.countDown();
+        }
+    }
+
+    @Nested
+    @DisplayName("cancel")
+    class Cancel {
+
+        /**
+         * Um job cancelado na fila nunca chega a calcular a sugestão.
+         */
+        @Test
+        @DisplayName("Should cancel a queued job before it runs")
+        void shouldCancelQueuedJob() throws Exception {
+            newService(4, Duration.ofMinutes(10), 10);
+            CountDownLatch release = blockCatalogLoad();
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.GREEDY)).thenReturn(SUGGESTION);
+            String running = service.submit(ProductionStrategy.GREEDY).jobId();
+            String queued = service.submit(ProductionStrategy.OPTIMAL).jobId();
+
+            assertEquals(Status.CANCELLED, service.cancel(queued).status());
+            release.countDown();
+
+            assertEquals(Status.SUCCEEDED, awaitFinished(running).status());
+            assertEquals(Status.CANCELLED, service.find(queued).status());
+            verify(productionSuggestionService, never()).currentSuggestion(ProductionStrategy.OPTIMAL);
+        }
+
+        /**
+         * Cancelar durante o carregamento descarta o resultado e não chega à etapa de cálculo.
+         */
+        @Test
+        @DisplayName("Should stop a running job at the next checkpoint")
+        void shouldCancelRunningJob() throws Exception {
+            newService(4, Duration.ofMinutes(10), 10);
+            CountDownLatch release = blockCatalogLoad();
+            String jobId = service.submit(ProductionStrategy.GREEDY).jobId();
+            awaitRunning(jobId);
+
+            assertEquals(Status.CANCELLED, service.cancel(jobId).status());
+            release.countDown();
+
+            verify(productionSuggestionService, timeout(1000)).currentSnapshot();
+            assertEquals(Status.CANCELLED, service.find(jobId).status());
+            verify(productionSuggestionService, never()).currentSuggestion(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("retention")
+    class Retention {
+
+        /**
+         * Jobs concluídos além do limite são descartados, começando pelos mais antigos.
+         */
+        @Test
+        @DisplayName("Should evict the oldest finished jobs beyond the limit")
+        void shouldEvictOldestFinishedJobs() throws Exception {
+            newService(4, Duration.ofMinutes(10), 1);
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.GREEDY)).thenReturn(SUGGESTION);
+
+            String first = service.submit(ProductionStrategy.GREEDY).jobId();
+            awaitFinished(first);
+            String second = service.submit(ProductionStrategy.GREEDY).jobId();
+            awaitFinished(second);
+
+            assertThrows(ResourceNotFoundException.class, () -> service.find(first));
+            assertEquals(Status.SUCCEEDED, service.find(second).status());
+        }
+
+        /**
+         * Resultados expiram após o TTL e ids desconhecidos respondem 404.
+         */
+        @Test
+        @DisplayName("Should expire finished jobs after the TTL")
+        void shouldExpireAfterTtl() throws Exception {
+            newService(4, Duration.ofMillis(200), 10);
+            when(productionSuggestionService.currentSuggestion(ProductionStrategy.GREEDY)).thenReturn(SUGGESTION);
+
+            String jobId = service.submit(ProductionStrategy.GREEDY).jobId();
+            awaitFinished(jobId);
+            Thread.sleep(300);
+
+            assertThrows(ResourceNotFoundException.class, () -> service.find(jobId));
+            assertThrows(ResourceNotFoundException.class, () -> service.cancel("unknown"));
+        }
+    }
+}
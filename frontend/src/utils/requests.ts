@@ -3,7 +3,7 @@ import type { AxiosRequestConfig } from "axios";
 import { BASE_URL } from "./system";
 
 export function requestBackend(config: AxiosRequestConfig) {
-  return axios({ ...config, baseURL: BASE_URL });
+  return axios({ ...config, baseURL: BASE_URL, withCredentials: true });
 }
 
 // Response interceptor